@@ -0,0 +1,62 @@
+package org.example.threadpool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** Исполнители, которые сравнивают бенчмарки, и имитация задачи заданной длительности. */
+final class BenchmarkExecutors {
+
+    // Значения @Param("executor") во всех бенчмарках
+
+    /** {@link SimpleThreadPool} с настройками по умолчанию — так, как его создают пользователи. */
+    static final String SIMPLE = "simple";
+    /** {@link SimpleThreadPool} без замера длительности задач: показывает цену этого замера. */
+    static final String SIMPLE_NO_TIMING = "simpleNoTiming";
+    /** {@link SimpleThreadPool} с ожиданием {@link WaitStrategy#SPIN_PARK}. */
+    static final String SIMPLE_SPIN = "simpleSpin";
+    static final String THREAD_POOL_EXECUTOR = "threadPoolExecutor";
+    static final String FORK_JOIN_POOL = "forkJoinPool";
+    static final String VIRTUAL = "virtual";
+
+    private BenchmarkExecutors() {}
+
+    /**
+     * @param kind    одно из имён выше
+     * @param threads число рабочих потоков; виртуальный исполнитель его не использует
+     */
+    static ExecutorService create(String kind, int threads) {
+        return switch (kind) {
+            case SIMPLE -> new SimpleThreadPool(PoolOptions.defaults().withThreads(threads));
+            case SIMPLE_NO_TIMING -> new SimpleThreadPool(PoolOptions.defaults().withThreads(threads)
+                    .withTaskTiming(false));
+            case SIMPLE_SPIN -> new SimpleThreadPool(PoolOptions.defaults().withThreads(threads)
+                    .withWaitStrategy(WaitStrategy.SPIN_PARK));
+            case THREAD_POOL_EXECUTOR -> new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>());
+            case FORK_JOIN_POOL -> new ForkJoinPool(threads);
+            case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> throw new IllegalArgumentException("Unknown executor: " + kind);
+        };
+    }
+
+    static void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Executor did not terminate: " + executor);
+        }
+    }
+
+    /** Занимает процессор {@code nanos} наносекунд, как задача с вычислениями; 0 — пустая задача. */
+    static void work(long nanos) {
+        if (nanos > 0) {
+            long deadline = System.nanoTime() + nanos;
+            while (System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
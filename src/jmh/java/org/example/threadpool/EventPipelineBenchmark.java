@@ -0,0 +1,99 @@
+package org.example.threadpool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Один производитель передаёт значения одному потребителю: через {@link EventPipeline} (без выделения
+ * памяти) и через {@link SimpleThreadPool#execute} (объект задачи на значение). Операция — одна передача;
+ * потребитель отстаёт не больше чем на {@value #CAPACITY} — размер кольца и ёмкость очереди пула.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class EventPipelineBenchmark {
+
+    private static final int CAPACITY = 1 << 14;
+
+    static final class ValueEvent {
+        long value;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PipelineState {
+        @Param({"BLOCKING", "SPIN_PARK"})
+        public WaitStrategy waitStrategy;
+
+        SimpleThreadPool pool;
+        EventPipeline<ValueEvent> pipeline;
+        long consumed;
+        long value;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new SimpleThreadPool(1);
+            pipeline = new EventPipeline<>(ValueEvent::new, CAPACITY, waitStrategy);
+            pipeline.handleWith((event, sequence, endOfBatch) -> consumed += event.value);
+            pipeline.start(pool);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            pipeline.shutdown();
+            BenchmarkExecutors.shutdown(pool);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+        @Param({"BLOCKING", "SPIN_PARK"})
+        public WaitStrategy waitStrategy;
+
+        SimpleThreadPool pool;
+        long consumed;
+        long value;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(1).withTaskTiming(false)
+                    .withWaitStrategy(waitStrategy)
+                    .withQueueCapacity(CAPACITY).withRejectionPolicy(RejectionPolicy.BLOCK));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            BenchmarkExecutors.shutdown(pool);
+        }
+    }
+
+    @Benchmark
+    public void pipelinePublish(PipelineState state) {
+        EventPipeline<ValueEvent> pipeline = state.pipeline;
+        long sequence = pipeline.next();
+        pipeline.get(sequence).value = ++state.value;
+        pipeline.publish(sequence);
+    }
+
+    @Benchmark
+    public void poolExecute(PoolState state) {
+        long value = ++state.value;
+        state.pool.execute(() -> state.consumed += value);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.threadpool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Пропускная способность исполнителей: производители (потоки JMH) ставят пачки по {@code burst} задач
+ * и ждут, пока пачка выполнится. Операция — одна пачка, так что задач в секунду = результат × {@code burst}.
+ *
+ * <p>{@code burst = 1} — поштучная передача почти пустому пулу, {@code burst = 64} — всплески,
+ * которые пул разбирает из очереди. Длительность задачи — от пустой до 100 мкс вычислений.
+ * Число производителей задаёт метод: {@link #oneProducer} и {@link #fourProducers}.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutorThroughputBenchmark {
+
+    @Param({BenchmarkExecutors.SIMPLE, BenchmarkExecutors.SIMPLE_NO_TIMING,
+            BenchmarkExecutors.SIMPLE_SPIN, BenchmarkExecutors.THREAD_POOL_EXECUTOR,
+            BenchmarkExecutors.FORK_JOIN_POOL, BenchmarkExecutors.VIRTUAL})
+    public String executor;
+
+    /** Рабочие потоки пула. */
+    @Param({"1", "4"})
+    public int workers;
+
+    /** Длительность задачи, нс. */
+    @Param({"0", "1000", "100000"})
+    public long taskNanos;
+
+    /** Задач в пачке. */
+    @Param({"1", "64"})
+    public int burst;
+
+    private ExecutorService pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = BenchmarkExecutors.create(executor, workers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        BenchmarkExecutors.shutdown(pool);
+    }
+
+    /** Производитель со своей пачкой: последняя выполненная задача будит его. */
+    @State(Scope.Thread)
+    public static class Producer {
+        private final AtomicInteger remaining = new AtomicInteger();
+        private Thread owner;
+        private Runnable task;
+
+        @Setup(Level.Trial)
+        public void setUp(ExecutorThroughputBenchmark benchmark) {
+            owner = Thread.currentThread();
+            long taskNanos = benchmark.taskNanos;
+            task = () -> {
+                BenchmarkExecutors.work(taskNanos);
+                if (remaining.decrementAndGet() == 0) {
+                    LockSupport.unpark(owner);
+                }
+            };
+        }
+
+        void submitBurst(ExecutorService pool, int burst) {
+            remaining.set(burst);
+            for (int i = 0; i < burst; i++) {
+                pool.execute(task);
+            }
+            while (remaining.get() != 0) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void oneProducer(Producer producer) {
+        producer.submitBurst(pool, burst);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourProducers(Producer producer) {
+        producer.submitBurst(pool, burst);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.threadpool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Задержка передачи: один производитель ставит пустую задачу и крутится, пока она не выполнится.
+ * Режим {@link Mode#SampleTime} даёт распределение (p50, p99, p99.9) в отчёте.
+ *
+ * <p>С {@code idleMicros = 0} воркер ещё не успел заснуть после предыдущей задачи; с паузой
+ * в 50 мкс перед каждой операцией он ждёт по своей стратегии, и в задержку входит пробуждение.</p>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class HandoffLatencyBenchmark {
+
+    @Param({BenchmarkExecutors.SIMPLE, BenchmarkExecutors.SIMPLE_NO_TIMING,
+            BenchmarkExecutors.SIMPLE_SPIN, BenchmarkExecutors.THREAD_POOL_EXECUTOR,
+            BenchmarkExecutors.FORK_JOIN_POOL, BenchmarkExecutors.VIRTUAL})
+    public String executor;
+
+    /** Пауза перед передачей, мкс: воркер успевает перейти к ожиданию. */
+    @Param({"0", "50"})
+    public int idleMicros;
+
+    private ExecutorService pool;
+    private volatile boolean done;
+    private final Runnable task = () -> done = true;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = BenchmarkExecutors.create(executor, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        BenchmarkExecutors.shutdown(pool);
+    }
+
+    @Setup(Level.Invocation)
+    public void pause() {
+        if (idleMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(idleMicros));
+        }
+    }
+
+    @Benchmark
+    public void handoff() {
+        done = false;
+        pool.execute(task);
+        while (!done) {
+            Thread.onSpinWait();
+        }
+    }
+}
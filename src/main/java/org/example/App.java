@@ -1,11 +1,31 @@
 package org.example;
 
+import org.example.runner.CdsTrainer;
+import org.example.runner.RunnerOptions;
 import org.example.runner.TestRunner;
+import org.example.runner.TestWatcher;
 import org.example.tests.BasicTestSuite;
 import org.example.tests.CsvBasedTestSuite;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
 public class App {
-    public static void main( String[] args ) {
+    public static void main( String[] args ) throws IOException, InterruptedException {
+        List<String> suites = List.of(BasicTestSuite.class.getName(), CsvBasedTestSuite.class.getName());
+        if (args.length > 0 && args[0].equals("--cds-train")) {
+            // Тренировочный прогон: динамический CDS-архив для быстрого старта раннера
+            Path output = Path.of(args.length > 1 ? args[1] : "target/cds");
+            CdsTrainer.forCurrentClasspath(output, suites).train();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--watch")) {
+            // Режим наблюдения: перезапуск изменённых тестов без перезапуска JVM
+            Path classes = Path.of(args.length > 1 ? args[1] : "target/classes");
+            new TestWatcher(classes, suites, RunnerOptions.fromSystemProperties()).run();
+            return;
+        }
         TestRunner.runTests(BasicTestSuite.class);
         TestRunner.runTests(CsvBasedTestSuite.class);
     }
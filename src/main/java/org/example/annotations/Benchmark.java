@@ -0,0 +1,48 @@
+package org.example.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает {@link Test}-метод как проверку производительности.
+ *
+ * <p>Раннер выполняет тело теста {@link #warmups()} раз без замера, затем {@link #iterations()} раз,
+ * замеряя длительность каждого вызова ({@code @BeforeTest}/{@code @AfterTest} выполняются один раз
+ * вокруг всей серии). Если задан файл базовой линии ({@code RunnerOptions.withBaseline}), серия
+ * сравнивается с сохранённой критерием Манна–Уитни, и статистически значимое замедление больше
+ * порога проваливает прогон.</p>
+ *
+ * <p>В параллельных режимах раннера серия идёт в одиночку: перед ней раннер дожидается завершения уже
+ * запущенных тестов и не запускает новые, пока серия не закончится. Поэтому замеры сравнимы между
+ * последовательным и параллельным прогонами.</p>
+ *
+ * <p>Пример:</p>
+ * <pre>{@code
+ * @Test
+ * @Benchmark(warmups = 5, iterations = 20)
+ * public void parseLargeCsv() { ... }
+ * }</pre>
+ *
+ * <p>Базовая линия хранит серию под ключом {@code Класс#метод}, поэтому {@code @Benchmark}-метод
+ * нельзя параметризовать {@link CsvSource} и перегружать другим {@code @Benchmark}-методом.</p>
+ *
+ * <p>Обрабатывается {@link org.example.handlers.BenchmarkHandler}.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Benchmark {
+
+    /**
+     * Число прогревочных вызовов, не попадающих в замер.
+     * @return неотрицательное число вызовов
+     */
+    int warmups() default 3;
+
+    /**
+     * Число замеряемых вызовов.
+     * @return положительное число вызовов
+     */
+    int iterations() default 15;
+}
@@ -0,0 +1,55 @@
+package org.example.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Объявляет общий ресурс, к которому обращается тест (файл, статическое состояние, порт и т.п.).
+ *
+ * <p>В параллельных режимах раннера тесты, захватившие один и тот же ресурс в режиме
+ * {@link Mode#READ_WRITE}, не выполняются одновременно ни друг с другом, ни с читателями;
+ * тесты с {@link Mode#READ} могут выполняться вместе. Всё остальное по-прежнему идёт параллельно.
+ * Блокировки захватываются в едином глобальном порядке (по имени ресурса), поэтому взаимная
+ * блокировка тестов невозможна.</p>
+ *
+ * <p>Аннотация на классе действует на все его {@link Test}-методы. Допускается несколько
+ * аннотаций на одном элементе.</p>
+ *
+ * <p>Пример:</p>
+ * <pre>{@code
+ * @Test
+ * @ResourceLock("config.properties")
+ * @ResourceLock(value = "System.out", mode = ResourceLock.Mode.READ)
+ * public void rewritesConfig() { ... }
+ * }</pre>
+ *
+ * <p>Обрабатывается {@link org.example.handlers.ResourceLockHandler}.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Repeatable(ResourceLocks.class)
+public @interface ResourceLock {
+
+    /** Режим доступа к ресурсу. */
+    enum Mode {
+        /** Разделяемый доступ: совместим с другими читателями. */
+        READ,
+        /** Исключительный доступ. */
+        READ_WRITE
+    }
+
+    /**
+     * Имя ресурса. Тесты синхронизируются по совпадению имён.
+     * @return непустое имя ресурса
+     */
+    String value();
+
+    /**
+     * Режим доступа.
+     * @return режим; по умолчанию {@link Mode#READ_WRITE}
+     */
+    Mode mode() default Mode.READ_WRITE;
+}
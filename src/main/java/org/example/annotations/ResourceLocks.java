@@ -0,0 +1,18 @@
+package org.example.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Контейнер для повторяющейся аннотации {@link ResourceLock}.
+ * Явно указывать не требуется — компилятор создаёт его сам.
+ *
+ * <p>Обрабатывается {@link org.example.handlers.ResourceLocksHandler}.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ResourceLocks {
+    ResourceLock[] value();
+}
@@ -15,10 +15,21 @@ import java.lang.annotation.Target;
  *
  * <p>По умолчанию приоритет равен {@code 5}. Более высокий приоритет означает более раннее выполнение.</p>
  *
+ * <p>Порядок можно задать явно через {@link #dependsOn()}: тест запускается только после успешного
+ * завершения перечисленных методов, а тесты без взаимных зависимостей в параллельных режимах раннера
+ * выполняются одновременно.</p>
+ *
+ * <p>Метод может вернуть {@link java.util.concurrent.CompletionStage} или {@link java.util.concurrent.Future} —
+ * тогда тест считается асинхронным: раннер не блокирует поток на ожидании, а {@code @AfterTest}
+ * выполняется после завершения future. Таймаут задаётся {@link #timeoutMillis()} или настройками раннера.</p>
+ *
  * <p>Пример:</p>
  * <pre>{@code
  * @Test(priority = 9)
  * public void importantTest() { ... }
+ *
+ * @Test(timeoutMillis = 500)
+ * public CompletableFuture<Void> asyncTest() { ... }
  * }</pre>
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -33,4 +44,18 @@ public @interface Test {
      * @return целое значение приоритета
      */
     int priority() default 5;
+
+    /**
+     * Таймаут асинхронного теста в миллисекундах.
+     * @return таймаут; {@code 0} — использовать таймаут раннера по умолчанию
+     */
+    long timeoutMillis() default 0;
+
+    /**
+     * Имена тестовых методов этого класса, которые должны успешно завершиться до запуска данного.
+     * Если хотя бы одна зависимость упала, тест пропускается. Циклы запрещены.
+     * Приоритет учитывается только среди тестов, зависимости которых уже выполнены.
+     * @return имена методов-зависимостей
+     */
+    String[] dependsOn() default {};
 }
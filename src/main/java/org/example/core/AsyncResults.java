@@ -0,0 +1,125 @@
+package org.example.core;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Утилиты для работы с результатами асинхронных тестовых методов.
+ *
+ * <p>Тестовый метод считается асинхронным, если возвращает {@link CompletionStage} или {@link Future}.
+ * {@code CompletionStage} подписывается на завершение напрямую. Для «голого» {@code Future}
+ * колбэков нет, поэтому его готовность опрашивается через {@link CompletableFuture#delayedExecutor}
+ * с нарастающим интервалом — ни один поток при этом не блокируется на {@code get()}.</p>
+ */
+public final class AsyncResults {
+
+    /** Начальный интервал опроса {@link Future}, мс. */
+    private static final long MIN_POLL_MILLIS = 1;
+    /** Максимальный интервал опроса {@link Future}, мс. */
+    private static final long MAX_POLL_MILLIS = 50;
+
+    private AsyncResults() {}
+
+    /**
+     * @param result значение, возвращённое тестовым методом
+     * @return true, если результат — {@link CompletionStage} или {@link Future}
+     */
+    public static boolean isAsync(Object result) {
+        return result instanceof CompletionStage<?> || result instanceof Future<?>;
+    }
+
+    /**
+     * Приводит результат тестового метода к {@link CompletableFuture}, не блокируя поток.
+     *
+     * <p>Возвращается всегда новый экземпляр, поэтому раннер может завершить его по таймауту,
+     * не затрагивая future самого теста.</p>
+     *
+     * @param result значение, возвращённое тестовым методом
+     * @return future, завершающийся вместе с результатом; для синхронных значений — уже завершённый
+     */
+    public static CompletableFuture<Object> toFuture(Object result) {
+        CompletableFuture<Object> bridge = new CompletableFuture<>();
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, failure) -> {
+                if (failure != null) {
+                    bridge.completeExceptionally(unwrap(failure));
+                } else {
+                    bridge.complete(value);
+                }
+            });
+        } else if (result instanceof Future<?> future) {
+            poll(future, bridge, MIN_POLL_MILLIS);
+        } else {
+            bridge.complete(result);
+        }
+        return bridge;
+    }
+
+    /**
+     * Блокирующе дожидается асинхронного результата. Используется только при прямом вызове
+     * {@link PlanStep#execute(Object)}; раннер идёт через {@link #toFuture(Object)}.
+     *
+     * @param result        значение, возвращённое тестовым методом
+     * @param timeoutMillis таймаут ожидания, мс (0 — без таймаута)
+     * @throws Exception исключение, которым завершился асинхронный тест, или {@link java.util.concurrent.TimeoutException}
+     */
+    public static void await(Object result, long timeoutMillis) throws Exception {
+        if (!isAsync(result)) {
+            return;
+        }
+        CompletableFuture<Object> future = toFuture(result);
+        try {
+            if (timeoutMillis > 0) {
+                future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) throw ex;
+            if (cause instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    /**
+     * Снимает обёртки {@link CompletionException} / {@link ExecutionException},
+     * которыми {@code CompletableFuture} оборачивает исходную ошибку.
+     */
+    public static Throwable unwrap(Throwable failure) {
+        Throwable current = failure;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private static void poll(Future<?> future, CompletableFuture<Object> bridge, long delayMillis) {
+        if (bridge.isDone()) {
+            return;
+        }
+        if (future.isDone()) {
+            try {
+                bridge.complete(future.get());
+            } catch (ExecutionException e) {
+                bridge.completeExceptionally(unwrap(e));
+            } catch (CancellationException e) {
+                bridge.completeExceptionally(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                bridge.completeExceptionally(e);
+            }
+            return;
+        }
+        long next = Math.min(delayMillis * 2, MAX_POLL_MILLIS);
+        Executor delayed = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS);
+        delayed.execute(() -> poll(future, bridge, next));
+    }
+}
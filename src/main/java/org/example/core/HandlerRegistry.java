@@ -19,28 +19,49 @@ import java.util.*;
  * <p>Если обработчик также реализует интерфейс {@link PlanStepContributor}, он может быть
  * использован планировщиком для формирования шагов выполнения тестов.
  *
+ * <p>Сканирование пакета выполняется один раз на JVM: найденные классы обработчиков кешируются,
+ * а каждый новый регистр лишь создаёт их экземпляры. Это важно для режима наблюдения,
+ * где план строится заново после каждой перекомпиляции.
+ *
  * @see AnnotationHandler
  * @see PlanStepContributor
  */
 
 public class HandlerRegistry {
 
+    private static volatile List<Class<? extends AnnotationHandler>> handlerTypes;
+
     private final Map<Class<? extends Annotation>, AnnotationHandler> handlers = new HashMap<>();
 
     public HandlerRegistry() {
-        Reflections reflections = new Reflections(HandlerMarker.class.getPackageName());
-        Set<Class<? extends AnnotationHandler>> impls = reflections.getSubTypesOf(AnnotationHandler.class);
+        for (Class<? extends AnnotationHandler> clazz : handlerTypes()) {
+            try {
+                AnnotationHandler handler = clazz.getDeclaredConstructor().newInstance();
+                handlers.put(handler.annotationType(), handler);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to instantiate handler: " + clazz, e);
+            }
+        }
+    }
 
-        for (Class<? extends AnnotationHandler> clazz : impls) {
-            if (!clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers())) {
-                try {
-                    AnnotationHandler handler = clazz.getDeclaredConstructor().newInstance();
-                    handlers.put(handler.annotationType(), handler);
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to instantiate handler: " + clazz, e);
+    /**
+     * @return конкретные классы обработчиков; пакет сканируется при первом вызове
+     */
+    private static List<Class<? extends AnnotationHandler>> handlerTypes() {
+        List<Class<? extends AnnotationHandler>> types = handlerTypes;
+        if (types == null) {
+            synchronized (HandlerRegistry.class) {
+                types = handlerTypes;
+                if (types == null) {
+                    Reflections reflections = new Reflections(HandlerMarker.class.getPackageName());
+                    types = reflections.getSubTypesOf(AnnotationHandler.class).stream()
+                            .filter(clazz -> !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers()))
+                            .toList();
+                    handlerTypes = types;
                 }
             }
         }
+        return types;
     }
 
     public AnnotationHandler get(Class<? extends Annotation> annotationClass) {
@@ -0,0 +1,81 @@
+package org.example.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Шаг плана, вызывающий конкретный тестовый метод с заранее подготовленными аргументами.
+ *
+ * <p>В отличие от шага-лямбды, знает свой {@link Method}, поэтому раннер может использовать
+ * его имя в отчётах и сообщениях об ошибках.</p>
+ *
+ * <p>Если метод возвращает {@link CompletionStage} или {@link java.util.concurrent.Future},
+ * шаг считается асинхронным: {@link #executeAsync(Object)} возвращает стадию, которая завершится
+ * вместе с тестом, а таймаут ожидания берётся из {@link #timeoutMillis()} или настроек раннера.</p>
+ */
+public class MethodStep implements PlanStep {
+
+    private final Method method;
+    private final Object[] args;
+    private final long timeoutMillis;
+
+    /**
+     * @param method        вызываемый метод
+     * @param args          аргументы вызова
+     * @param timeoutMillis таймаут асинхронного результата, мс (0 — таймаут раннера по умолчанию)
+     */
+    public MethodStep(Method method, Object[] args, long timeoutMillis) {
+        this.method = method;
+        this.args = args;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public Method method() {
+        return method;
+    }
+
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @return имя шага в виде {@code Класс.метод}
+     */
+    public String name() {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    /**
+     * Вызывает метод и возвращает его результат как есть.
+     *
+     * @throws InvocationTargetException если метод выбросил исключение
+     */
+    public Object invoke(Object instance) throws Exception {
+        method.setAccessible(true);
+        return method.invoke(instance, args);
+    }
+
+    /**
+     * Вызывает метод и, если он асинхронный, блокирующе дожидается результата.
+     */
+    @Override
+    public void execute(Object instance) throws Exception {
+        AsyncResults.await(invoke(instance), timeoutMillis);
+    }
+
+    @Override
+    public CompletionStage<?> executeAsync(Object instance) {
+        try {
+            return AsyncResults.toFuture(invoke(instance));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+}
@@ -1,5 +1,8 @@
 package org.example.core;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Функциональный интерфейс, представляющий один шаг выполнения теста.
  *
@@ -11,6 +14,23 @@ package org.example.core;
 @FunctionalInterface
 public interface PlanStep {
     void execute(Object instance) throws Exception;
-}
-
 
+    /**
+     * Запускает шаг без блокировки вызывающего потока.
+     *
+     * <p>По умолчанию шаг выполняется синхронно, а результат возвращается уже завершённым
+     * {@link CompletionStage}. Шаги, вызывающие асинхронные тесты, переопределяют метод
+     * и возвращают стадию, которая завершится вместе с тестом.</p>
+     *
+     * @param instance экземпляр тестового класса
+     * @return стадия, завершающаяся по окончании шага (исключительно — при ошибке)
+     */
+    default CompletionStage<?> executeAsync(Object instance) {
+        try {
+            execute(instance);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
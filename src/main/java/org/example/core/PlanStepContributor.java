@@ -25,4 +25,13 @@ public interface PlanStepContributor extends AnnotationHandler {
      * @return список шагов, которые должны быть добавлены в ExecutionPlan
      */
     List<PlanStep> buildSteps(TestContext context, Class<?> testClass);
+
+    /**
+     * Фаза плана, в которую попадают шаги этого обработчика.
+     *
+     * @return фаза выполнения; по умолчанию {@link StepPhase#TEST}
+     */
+    default StepPhase phase() {
+        return StepPhase.TEST;
+    }
 }
@@ -0,0 +1,20 @@
+package org.example.core;
+
+/**
+ * Фаза плана выполнения, к которой относятся шаги {@link PlanStepContributor}-а.
+ *
+ * <p>{@link org.example.runner.ExecutionPlanner} раскладывает шаги по фазам, а
+ * {@link org.example.runner.ExecutionPlan} исполняет их так:</p>
+ * <ol>
+ *     <li>{@link #BEFORE_SUITE} — один раз перед всеми тестами</li>
+ *     <li>для каждого шага {@link #TEST}: {@link #BEFORE_EACH}, сам тест, {@link #AFTER_EACH}</li>
+ *     <li>{@link #AFTER_SUITE} — один раз после всех тестов</li>
+ * </ol>
+ */
+public enum StepPhase {
+    BEFORE_SUITE,
+    BEFORE_EACH,
+    TEST,
+    AFTER_EACH,
+    AFTER_SUITE
+}
@@ -4,6 +4,7 @@ import org.example.annotations.AfterSuite;
 import org.example.core.TestContext;
 import org.example.core.PlanStep;
 import org.example.core.PlanStepContributor;
+import org.example.core.StepPhase;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -62,4 +63,8 @@ public class AfterSuiteHandler implements PlanStepContributor {
         return List.of(step);
     }
 
+    @Override
+    public StepPhase phase() {
+        return StepPhase.AFTER_SUITE;
+    }
 }
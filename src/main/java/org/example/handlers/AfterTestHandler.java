@@ -4,6 +4,7 @@ import org.example.annotations.AfterTest;
 import org.example.core.TestContext;
 import org.example.core.PlanStep;
 import org.example.core.PlanStepContributor;
+import org.example.core.StepPhase;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -60,4 +61,8 @@ public class AfterTestHandler implements PlanStepContributor {
         return steps;
     }
 
+    @Override
+    public StepPhase phase() {
+        return StepPhase.AFTER_EACH;
+    }
 }
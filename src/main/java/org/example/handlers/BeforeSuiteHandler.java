@@ -4,6 +4,7 @@ import org.example.annotations.BeforeSuite;
 import org.example.core.TestContext;
 import org.example.core.PlanStep;
 import org.example.core.PlanStepContributor;
+import org.example.core.StepPhase;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -64,4 +65,9 @@ public class BeforeSuiteHandler implements PlanStepContributor {
         }
         return steps;
     }
+
+    @Override
+    public StepPhase phase() {
+        return StepPhase.BEFORE_SUITE;
+    }
 }
@@ -0,0 +1,56 @@
+package org.example.handlers;
+
+import org.example.annotations.Benchmark;
+import org.example.annotations.CsvSource;
+import org.example.annotations.Test;
+import org.example.core.AnnotationHandler;
+import org.example.core.TestContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Обработчик аннотации {@link Benchmark}.
+ *
+ * <p>Только проверяет объявление: серию вызовов и замеры выполняет раннер.</p>
+ */
+public class BenchmarkHandler implements AnnotationHandler {
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return Benchmark.class;
+    }
+
+    /**
+     * Проверяет, что метод является тестом и параметры серии допустимы. Замеры в базовой линии
+     * хранятся под ключом {@code Класс#метод}, поэтому он должен однозначно определять серию:
+     * параметризованный ({@code @CsvSource}) и перегруженный {@code @Benchmark} запрещены.
+     *
+     * @throws IllegalStateException    если метод не помечен {@code @Test}, помечен {@code @CsvSource}
+     *                                  или перегружает другой {@code @Benchmark}-метод
+     * @throws IllegalArgumentException если число итераций не положительное или прогрев отрицательный
+     */
+    @Override
+    public void handle(Method method, TestContext context) {
+        if (!method.isAnnotationPresent(Test.class)) {
+            throw new IllegalStateException("@Benchmark method must also be annotated with @Test: " + method.getName());
+        }
+        if (method.isAnnotationPresent(CsvSource.class)) {
+            throw new IllegalStateException("@Benchmark method must not be parameterized with @CsvSource: "
+                    + method.getName());
+        }
+        for (Method other : method.getDeclaringClass().getDeclaredMethods()) {
+            if (!other.equals(method) && !other.isBridge() && other.getName().equals(method.getName())
+                    && other.isAnnotationPresent(Benchmark.class)) {
+                throw new IllegalStateException("@Benchmark method must not be overloaded: " + method.getName());
+            }
+        }
+        Benchmark benchmark = method.getAnnotation(Benchmark.class);
+        if (benchmark.iterations() <= 0) {
+            throw new IllegalArgumentException("@Benchmark iterations must be > 0: " + method.getName());
+        }
+        if (benchmark.warmups() < 0) {
+            throw new IllegalArgumentException("@Benchmark warmups must be >= 0: " + method.getName());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.handlers;
+
+import org.example.annotations.ResourceLock;
+import org.example.core.AnnotationHandler;
+import org.example.core.TestContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Обработчик аннотации {@link ResourceLock}.
+ *
+ * <p>Только проверяет объявление: шагов не создаёт. Сами блокировки захватывает раннер
+ * перед запуском теста, читая аннотации метода и его класса.</p>
+ */
+public class ResourceLockHandler implements AnnotationHandler {
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return ResourceLock.class;
+    }
+
+    /**
+     * Проверяет, что имя ресурса задано.
+     *
+     * @throws IllegalArgumentException если имя ресурса пустое
+     */
+    @Override
+    public void handle(Method method, TestContext context) {
+        validate(method.getAnnotation(ResourceLock.class), method);
+    }
+
+    static void validate(ResourceLock lock, Method method) {
+        if (lock.value().isBlank()) {
+            throw new IllegalArgumentException("@ResourceLock value must not be blank: " + method.getName());
+        }
+    }
+}
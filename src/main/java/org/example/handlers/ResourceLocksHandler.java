@@ -0,0 +1,28 @@
+package org.example.handlers;
+
+import org.example.annotations.ResourceLock;
+import org.example.annotations.ResourceLocks;
+import org.example.core.AnnotationHandler;
+import org.example.core.TestContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Обработчик контейнера {@link ResourceLocks}, который появляется на методе,
+ * помеченном несколькими {@link ResourceLock}. Проверяет каждую из них.
+ */
+public class ResourceLocksHandler implements AnnotationHandler {
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return ResourceLocks.class;
+    }
+
+    @Override
+    public void handle(Method method, TestContext context) {
+        for (ResourceLock lock : method.getAnnotation(ResourceLocks.class).value()) {
+            ResourceLockHandler.validate(lock, method);
+        }
+    }
+}
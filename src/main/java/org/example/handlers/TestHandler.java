@@ -16,6 +16,8 @@ import java.util.*;
  *     <li>Формирование шагов {@link PlanStep} для выполнения</li>
  *     <li>Получение аргументов с использованием {@link ArgumentProvider}</li>
  * </ul>
+ * <p>Шаги создаются как {@link MethodStep}, поэтому методы, возвращающие
+ * {@code CompletionStage}/{@code Future}, исполняются раннером асинхронно.</p>
  */
 public class TestHandler implements PlanStepContributor {
 
@@ -29,10 +31,12 @@ public class TestHandler implements PlanStepContributor {
      * Проверяет допустимость приоритета и сохраняет метод в контекст.
      *
      * @throws IllegalArgumentException если приоритет выходит за пределы {@link Test#MIN_PRIORITY} и {@link Test#MAX_PRIORITY}
+     *                                  или таймаут отрицательный
      */
     @Override
     public void handle(Method method, TestContext context) {
-        int priority = method.getAnnotation(Test.class).priority();
+        Test annotation = method.getAnnotation(Test.class);
+        int priority = annotation.priority();
 
         if (priority < Test.MIN_PRIORITY || priority > Test.MAX_PRIORITY) {
             throw new IllegalArgumentException(
@@ -40,6 +44,9 @@ public class TestHandler implements PlanStepContributor {
                             " and " + Test.MAX_PRIORITY + ": " + method.getName()
             );
         }
+        if (annotation.timeoutMillis() < 0) {
+            throw new IllegalArgumentException("@Test timeoutMillis must be >= 0: " + method.getName());
+        }
 
         context.addAnnotatedMethod(Test.class, method);
     }
@@ -63,10 +70,8 @@ public class TestHandler implements PlanStepContributor {
 
         for (Method method : testMethods) {
             Object[] args = resolveArguments(method, context, providers);
-            steps.add(testInstance -> {
-                method.setAccessible(true);
-                method.invoke(testInstance, args);
-            });
+            long timeoutMillis = method.getAnnotation(Test.class).timeoutMillis();
+            steps.add(new MethodStep(method, args, timeoutMillis));
         }
 
         return steps;
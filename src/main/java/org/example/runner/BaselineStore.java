@@ -0,0 +1,93 @@
+package org.example.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Локальный файл базовой линии производительности.
+ *
+ * <p>Формат — текст, по строке на тест: {@code пакет.Класс#метод=t1,t2,...}, где {@code t} —
+ * длительности замеряемых вызовов в наносекундах. Строки с {@code #} в начале — комментарии.
+ * Файл удобно хранить в репозитории рядом с тестами.</p>
+ */
+final class BaselineStore {
+
+    private final Path file;
+    private final Map<String, long[]> samples = new TreeMap<>();
+
+    private BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Читает базовую линию; отсутствующий файл означает пустую линию.
+     */
+    static BaselineStore load(Path file) {
+        BaselineStore store = new BaselineStore(file);
+        if (!Files.exists(file)) {
+            return store;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalStateException("Malformed baseline line in " + file + ": " + line);
+                }
+                long[] values = Arrays.stream(line.substring(separator + 1).split(","))
+                        .map(String::trim)
+                        .mapToLong(Long::parseLong)
+                        .toArray();
+                store.samples.put(line.substring(0, separator).trim(), values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read baseline: " + file, e);
+        }
+        return store;
+    }
+
+    /** @return сохранённые замеры теста или {@code null} */
+    long[] get(String key) {
+        return samples.get(key);
+    }
+
+    void put(String key, long[] values) {
+        samples.put(key, values.clone());
+    }
+
+    /** Записывает базовую линию, упорядочив тесты по ключу. */
+    void save() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("# Benchmark baseline: class#method=durations in nanoseconds\n");
+                for (Map.Entry<String, long[]> entry : samples.entrySet()) {
+                    StringBuilder line = new StringBuilder(entry.getKey()).append('=');
+                    long[] values = entry.getValue();
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) {
+                            line.append(',');
+                        }
+                        line.append(values[i]);
+                    }
+                    out.write(line.append('\n').toString());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write baseline: " + file, e);
+        }
+    }
+}
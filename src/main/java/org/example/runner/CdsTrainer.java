@@ -0,0 +1,198 @@
+package org.example.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Тренировочный прогон для AppCDS: ускорение старта раннера за счёт архива загруженных классов.
+ *
+ * <p>Короткий прогон тестов во многом состоит из старта JVM, загрузки классов {@code HandlerRegistry},
+ * обработчиков и Reflections. Тренер запускает указанные тестовые классы в дочерних JVM:</p>
+ * <ol>
+ *     <li>без архива — время старта «до»;</li>
+ *     <li>тренировочный прогон с {@code -XX:ArchiveClassesAtExit} и {@code -XX:DumpLoadedClassList} —
+ *     динамический архив и список классов;</li>
+ *     <li>с {@code -XX:SharedArchiveFile} — время «после».</li>
+ * </ol>
+ *
+ * <p>CDS архивирует только классы из jar-файлов, поэтому каталоги classpath упаковываются в jar
+ * в выходном каталоге; последующие запуски должны использовать этот же classpath
+ * (см. {@link Result#launchCommand()}). Вывод дочерних JVM пишется в {@code <каталог>/<этап>.log}.</p>
+ */
+public class CdsTrainer {
+
+    /**
+     * Итог тренировки.
+     *
+     * @param classList  список загруженных классов
+     * @param archive    динамический CDS-архив
+     * @param classpath  classpath, с которым архив валиден
+     * @param before     медианное время прогона без архива
+     * @param after      медианное время прогона с архивом
+     */
+    public record Result(Path classList, Path archive, String classpath, Duration before, Duration after) {
+
+        /** @return аргументы JVM для запуска с архивом (без главного класса) */
+        public List<String> launchCommand() {
+            return List.of("-XX:SharedArchiveFile=" + archive, "-cp", classpath);
+        }
+    }
+
+    private final Path outputDirectory;
+    private final List<String> classpath;
+    private final List<String> testClasses;
+    private final int launches;
+
+    /**
+     * @param outputDirectory каталог для архива, списка классов, jar-файлов и логов
+     * @param classpath       classpath дочерних JVM
+     * @param testClasses     полные имена тестовых классов тренировочного прогона
+     * @param launches        число замеров «до» и «после» (берётся медиана, >0)
+     */
+    public CdsTrainer(Path outputDirectory, List<String> classpath, List<String> testClasses, int launches) {
+        if (launches <= 0) {
+            throw new IllegalArgumentException("launches must be > 0");
+        }
+        this.outputDirectory = outputDirectory.toAbsolutePath();
+        this.classpath = List.copyOf(classpath);
+        this.testClasses = List.copyOf(testClasses);
+        this.launches = launches;
+    }
+
+    /**
+     * Тренер для classpath текущей JVM.
+     */
+    public static CdsTrainer forCurrentClasspath(Path outputDirectory, List<String> testClasses) {
+        return new CdsTrainer(outputDirectory,
+                Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator)), testClasses, 3);
+    }
+
+    /**
+     * Выполняет замер «до», тренировочный прогон и замер «после», печатает сравнение.
+     *
+     * @throws IllegalStateException если дочерняя JVM завершилась с ошибкой
+     */
+    public Result train() throws IOException, InterruptedException {
+        Files.createDirectories(outputDirectory);
+        String jarClasspath = packClasspath();
+        Path archive = outputDirectory.resolve("runner.jsa");
+        Path classList = outputDirectory.resolve("runner.classlist");
+        Files.deleteIfExists(archive);
+
+        Duration before = median("before", jarClasspath, List.of("-Xshare:auto"));
+        launch("training", jarClasspath, List.of(
+                "-XX:ArchiveClassesAtExit=" + archive, "-XX:DumpLoadedClassList=" + classList));
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("Training run did not produce a CDS archive, see "
+                    + outputDirectory.resolve("training.log"));
+        }
+        Duration after = median("after", jarClasspath, List.of("-XX:SharedArchiveFile=" + archive));
+
+        Result result = new Result(classList, archive, jarClasspath, before, after);
+        System.out.printf("CDS archive %s: run time %d ms -> %d ms (%+.1f%%)%n", archive, before.toMillis(),
+                after.toMillis(), (after.toNanos() / (double) before.toNanos() - 1) * 100);
+        System.out.println("Launch with: java " + String.join(" ", result.launchCommand()) + " <main class>");
+        return result;
+    }
+
+    /**
+     * Точка входа дочерней JVM: запускает переданные тестовые классы.
+     * Упавшие тесты не прерывают тренировку — нужны загруженные классы, а не результат.
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+        for (String className : args) {
+            try {
+                TestRunner.runTests(Class.forName(className));
+            } catch (RuntimeException e) {
+                System.err.println("Training run: " + className + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private Duration median(String phase, String jarClasspath, List<String> jvmOptions)
+            throws IOException, InterruptedException {
+        long[] nanos = new long[launches];
+        for (int i = 0; i < launches; i++) {
+            nanos[i] = launch(phase, jarClasspath, jvmOptions);
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[launches / 2]);
+    }
+
+    /**
+     * @return длительность дочерней JVM от запуска до выхода, нс
+     */
+    private long launch(String phase, String jarClasspath, List<String> jvmOptions)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(jarClasspath);
+        command.add(CdsTrainer.class.getName());
+        command.addAll(testClasses);
+
+        Path log = outputDirectory.resolve(phase + ".log");
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        int exit = process.waitFor();
+        long elapsed = System.nanoTime() - started;
+        if (exit != 0) {
+            throw new IllegalStateException("Child JVM (" + phase + ") exited with code " + exit + ", see " + log);
+        }
+        return elapsed;
+    }
+
+    /**
+     * Упаковывает каталоги classpath в jar: CDS не архивирует классы из каталогов.
+     *
+     * @return classpath из jar-файлов
+     */
+    private String packClasspath() throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < classpath.size(); i++) {
+            Path entry = Path.of(classpath.get(i)).toAbsolutePath();
+            if (Files.isDirectory(entry)) {
+                Path jar = outputDirectory.resolve("classpath-" + i + ".jar");
+                packDirectory(entry, jar);
+                entries.add(jar.toString());
+            } else if (Files.exists(entry)) {
+                entries.add(entry.toString());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void packDirectory(Path directory, Path jar) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.filter(path -> !path.equals(directory)).sorted().toList();
+        }
+        try (OutputStream file = Files.newOutputStream(jar); JarOutputStream out = new JarOutputStream(file)) {
+            for (Path path : paths) {
+                String name = directory.relativize(path).toString().replace(File.separatorChar, '/');
+                // Записи каталогов нужны Reflections: пакет ищется через ClassLoader.getResources
+                if (Files.isDirectory(path)) {
+                    out.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(path, out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.runner;
+
+/**
+ * Способ исполнения тестовых единиц плана.
+ *
+ * @see RunnerOptions#withMode(ExecutionMode)
+ */
+public enum ExecutionMode {
+
+    /** Тесты выполняются по очереди в вызывающем потоке (поведение по умолчанию). */
+    SEQUENTIAL,
+
+    /** Тесты выполняются параллельно на фиксированном пуле платформенных потоков. */
+    PLATFORM_THREADS,
+
+    /** Каждый тест выполняется в собственном виртуальном потоке. */
+    VIRTUAL_THREADS
+}
@@ -1,40 +1,328 @@
 package org.example.runner;
 
+import org.example.core.AsyncResults;
+import org.example.core.MethodStep;
 import org.example.core.PlanStep;
+import org.example.core.StepPhase;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Представляет план выполнения тестов.
  * <p>
  * План включает все шаги, которые необходимо выполнить в рамках тестирования:
  * хуки (@BeforeSuite, @BeforeTest, @AfterTest, @AfterSuite), сами тесты, параметризованные вызовы и т.д.
+ * <p>
+ * Шаги разложены по фазам {@link StepPhase}. Каждый шаг фазы {@link StepPhase#TEST} исполняется как
+ * отдельная единица: шаги {@code BEFORE_EACH}, сам тест, шаги {@code AFTER_EACH}.
+ * <p>
+ * Синхронные тесты выполняются по очереди в вызывающем потоке. Асинхронный тест (вернувший
+ * {@code CompletionStage}/{@code Future}) не блокирует поток: раннер сразу переходит к следующему,
+ * а {@code AFTER_EACH} цепляется к завершению future и выполняется на небольшом пуле carrier-потоков.
+ * Таймаут асинхронного теста отсчитывает таймер раннера, а не заблокированный поток.
+ * <p>
+ * Режим исполнения единиц выбирается через {@link RunnerOptions#withMode(ExecutionMode)}.
+ * Тесты, объявившие общий ресурс через {@link org.example.annotations.ResourceLock}, не пересекаются
+ * по времени с конфликтующими тестами, остальные выполняются параллельно.
+ * <p>
+ * Тело {@link org.example.annotations.Benchmark}-теста повторяется с замером каждой итерации;
+ * при заданной базовой линии ({@link RunnerOptions#withBaseline}) значимое замедление проваливает прогон.
+ * В параллельных режимах {@code @Benchmark}-тест замеряется в одиночку: он ждёт завершения уже
+ * запущенных тестов, а новые не стартуют до конца его серии.
  */
 public class ExecutionPlan {
-    private final List<PlanStep> steps;
+    /** Ресурсы {@code @ResourceLock} общие для всех планов: файлы и статическое состояние глобальны. */
+    private static final ResourceLockManager RESOURCE_LOCKS = new ResourceLockManager();
+
+    private final Map<StepPhase, List<PlanStep>> phases = new EnumMap<>(StepPhase.class);
+    private final TestGraph graph;
 
     /**
      * Создаёт новый план выполнения на основе переданных шагов.
+     * Все шаги считаются тестами ({@link StepPhase#TEST}) и выполняются в заданном порядке.
      *
      * @param steps список шагов (PlanStep), сформированных обработчиками аннотаций
      */
     public ExecutionPlan(List<PlanStep> steps) {
-        this.steps = steps;
+        this(Map.of(StepPhase.TEST, steps));
     }
 
     /**
-     * Выполняет все шаги из плана последовательно.
+     * Создаёт план из шагов, разложенных по фазам.
+     *
+     * @param steps шаги по фазам; отсутствующая фаза считается пустой
+     * @throws IllegalStateException если {@code @Test(dependsOn)} ссылается на неизвестный тест или образует цикл
+     */
+    public ExecutionPlan(Map<StepPhase, List<PlanStep>> steps) {
+        for (StepPhase phase : StepPhase.values()) {
+            phases.put(phase, List.copyOf(steps.getOrDefault(phase, List.of())));
+        }
+        this.graph = new TestGraph(phases.get(StepPhase.TEST));
+    }
+
+    /**
+     * @param phase фаза плана
+     * @return неизменяемый список шагов этой фазы
+     */
+    public List<PlanStep> getSteps(StepPhase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Выполняет план с настройками по умолчанию.
      *
      * @param testInstance экземпляр тестового класса, передаваемый в методы (если требуется)
      * @throws RuntimeException если один из шагов завершился с ошибкой
      */
     public void execute(Object testInstance) {
+        execute(testInstance, RunnerOptions.defaults());
+    }
+
+    /**
+     * Выполняет план: {@code BEFORE_SUITE}, все тестовые единицы, {@code AFTER_SUITE}.
+     * <p>
+     * Тестовые единицы запускаются по графу зависимостей {@link TestGraph}: единица становится
+     * готовой, как только все её {@code dependsOn} прошли успешно; среди готовых первой идёт единица
+     * с большим приоритетом. Зависимые от упавшего теста пропускаются, независимые продолжают выполняться.
+     * <p>
+     * В режиме {@link ExecutionMode#SEQUENTIAL} готовые единицы запускаются по очереди в вызывающем потоке.
+     * В параллельных режимах каждая готовая единица сразу отправляется на пул платформенных потоков или
+     * в собственный виртуальный поток; число одновременно выполняемых единиц ограничено семафором
+     * ({@link RunnerOptions#parallelism()}), разрешение освобождается после завершения единицы,
+     * в том числе асинхронной.
+     *
+     * @param testInstance экземпляр тестового класса, передаваемый в методы (если требуется)
+     * @param options      настройки исполнения
+     * @throws RuntimeException если один из шагов завершился с ошибкой; остальные ошибки
+     *                          добавляются к причине как suppressed
+     */
+    public void execute(Object testInstance, RunnerOptions options) {
+        runSequentially(phases.get(StepPhase.BEFORE_SUITE), testInstance);
+
+        ExecutorService carriers = Executors.newFixedThreadPool(
+                options.asyncCarrierThreads(), new NamedThreadFactory("async-carrier-", true));
+        ExecutorService workers = newUnitExecutor(options);
+        PinningMonitor pinning = options.mode() == ExecutionMode.VIRTUAL_THREADS && options.pinningDiagnostics()
+                ? PinningMonitor.start(options.pinningThreshold())
+                : null;
+        ResourceProfiler profiler = options.profiling() ? new ResourceProfiler() : null;
+        SlowTestSampler sampler = options.slowTestThreshold() == null ? null
+                : new SlowTestSampler(options.slowTestThreshold(), options.samplingInterval(), options.reportDirectory());
+        RegressionGate benchmarks = new RegressionGate();
+        Units units = new Units(testInstance, options, carriers, profiler, sampler, benchmarks);
+        Semaphore permits = new Semaphore(options.parallelism());
+        TestGraph.Run run = graph.newRun();
+        try {
+            TestGraph.Node node;
+            while ((node = run.next()) != null) {
+                String name = node.name;
+                CompletableFuture<Throwable> unit;
+                TestGraph.Node current = node;
+                if (workers == null) {
+                    unit = runUnit(current, units);
+                } else {
+                    permits.acquireUninterruptibly();
+                    unit = CompletableFuture
+                            .supplyAsync(() -> {
+                                if (pinning != null) {
+                                    pinning.bind(name);
+                                }
+                                return runUnit(current, units);
+                            }, workers)
+                            .thenCompose(Function.identity())
+                            .exceptionally(AsyncResults::unwrap);
+                    unit.whenComplete((result, error) -> permits.release());
+                }
+                unit.thenAccept(failure -> run.complete(current, failure));
+            }
+            run.awaitInFlight();
+        } finally {
+            if (workers != null) {
+                workers.shutdown();
+            }
+            carriers.shutdown();
+            if (sampler != null) {
+                sampler.close();
+            }
+            if (pinning != null) {
+                PinningMonitor.report(pinning.stop());
+                pinning.close();
+            }
+        }
+        if (profiler != null) {
+            profiler.report(testInstance.getClass().getSimpleName(), options.reportDirectory(), options.profileTop());
+        }
+
+        for (TestGraph.Node skipped : run.skipped()) {
+            System.out.printf("Warning: test %s skipped because its dependencies did not pass%n", skipped.name);
+        }
+        List<Throwable> failures = new ArrayList<>(run.failures());
+        failures.addAll(benchmarks.evaluate(options));
+        if (!failures.isEmpty()) {
+            Throwable failure = failures.get(0);
+            for (Throwable other : failures.subList(1, failures.size())) {
+                if (other != failure) {
+                    failure.addSuppressed(other);
+                }
+            }
+            throw new RuntimeException("Step execution failed", failure);
+        }
+
+        runSequentially(phases.get(StepPhase.AFTER_SUITE), testInstance);
+    }
+
+    /**
+     * @return исполнитель тестовых единиц для параллельного режима или {@code null} для последовательного
+     */
+    private static ExecutorService newUnitExecutor(RunnerOptions options) {
+        return switch (options.mode()) {
+            case SEQUENTIAL -> null;
+            case PLATFORM_THREADS -> Executors.newFixedThreadPool(
+                    options.parallelism(), new NamedThreadFactory("test-worker-", true));
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("test-vthread-", 0).factory());
+        };
+    }
+
+    /**
+     * Захватывает ресурсы единицы ({@code @ResourceLock}) и запускает её.
+     * Блокировки освобождаются после завершения единицы, в том числе асинхронной.
+     * Профилирование и сэмплирование медленных тестов, если включены, начинаются после захвата блокировок.
+     * У {@code @Benchmark}-теста вместо тела выполняется серия замеров ({@link RegressionGate#measure}).
+     */
+    private CompletableFuture<Throwable> runUnit(TestGraph.Node node, Units units) {
+        ResourceLockManager.Held held = RESOURCE_LOCKS.acquire(node.locks);
+        try {
+            ResourceProfiler.Probe probe = units.profiler() == null ? null : units.profiler().start();
+            SlowTestSampler.Session sampling = units.sampler() == null ? null
+                    : units.sampler().watch(node.name, node.index);
+            CompletableFuture<Throwable> unit;
+            try {
+                unit = startUnit(node.benchmark == null ? node.step : units.benchmarks().measure(node), units);
+            } finally {
+                if (sampling != null) {
+                    sampling.stop();
+                }
+            }
+            if (probe != null) {
+                probe.captureThread();
+                unit = unit.whenComplete((failure, error) -> probe.finish(node.name));
+            }
+            return unit.whenComplete((failure, error) -> held.release());
+        } catch (RuntimeException | Error e) {
+            held.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Запускает одну тестовую единицу.
+     *
+     * @return future с ошибкой единицы ({@code null} — успех); для синхронного теста уже завершён
+     */
+    private CompletableFuture<Throwable> startUnit(PlanStep test, Units units) {
+        Object instance = units.instance();
+        try {
+            for (PlanStep step : phases.get(StepPhase.BEFORE_EACH)) {
+                step.execute(instance);
+            }
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(e);
+        }
+
+        CompletableFuture<Object> body = AsyncResults.toFuture(test.executeAsync(instance));
+        if (body.isDone()) {
+            return CompletableFuture.completedFuture(finishUnit(body, instance));
+        }
+
+        long timeoutMillis = timeoutMillis(test, units.options());
+        CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(() ->
+                body.completeExceptionally(new TimeoutException(
+                        "Async test did not complete within " + timeoutMillis + " ms: " + test)));
+        return body.handleAsync((result, error) -> finishUnit(body, instance), units.carriers());
+    }
+
+    /**
+     * Выполняет шаги {@code AFTER_EACH} после завершения тела теста.
+     *
+     * @return ошибка теста (ошибки хуков добавляются как suppressed) или ошибка хука, либо {@code null}
+     */
+    private Throwable finishUnit(CompletableFuture<Object> body, Object instance) {
+        Throwable failure = body.handle((result, error) -> error == null ? null : AsyncResults.unwrap(error)).join();
+        for (PlanStep step : phases.get(StepPhase.AFTER_EACH)) {
+            try {
+                step.execute(instance);
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * @return имя тестовой единицы для отчётов: {@code Класс.метод} или порядковый номер шага
+     */
+    static String unitName(PlanStep test, int index) {
+        return test instanceof MethodStep methodStep ? methodStep.name() : "step#" + index;
+    }
+
+    private static long timeoutMillis(PlanStep test, RunnerOptions options) {
+        if (test instanceof MethodStep methodStep && methodStep.timeoutMillis() > 0) {
+            return methodStep.timeoutMillis();
+        }
+        return options.asyncTimeout().toMillis();
+    }
+
+    private static void runSequentially(List<PlanStep> steps, Object instance) {
         for (PlanStep step : steps) {
             try {
-                step.execute(testInstance);
+                step.execute(instance);
             } catch (Exception e) {
                 throw new RuntimeException("Step execution failed", e);
             }
         }
     }
+
+    /**
+     * Общее для всех единиц одного исполнения плана: экземпляр теста, настройки и инструменты.
+     * Профайлер и сэмплер равны {@code null}, если выключены.
+     */
+    private record Units(Object instance, RunnerOptions options, Executor carriers,
+                         ResourceProfiler profiler, SlowTestSampler sampler, RegressionGate benchmarks) {}
+
+    /** Фабрика именованных потоков раннера. Daemon-потоки не удерживают JVM. */
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final boolean daemon;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        NamedThreadFactory(String prefix, boolean daemon) {
+            this.prefix = prefix;
+            this.daemon = daemon;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + counter.getAndIncrement());
+            thread.setDaemon(daemon);
+            return thread;
+        }
+    }
 }
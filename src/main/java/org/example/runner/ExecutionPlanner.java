@@ -13,6 +13,7 @@ import java.util.*;
  *     <li>Автоматический вызов всех {@link AnnotationHandler} на методах тестового класса</li>
  *     <li>Сбор {@link PlanStep} шагов от {@link PlanStepContributor}-ов</li>
  *     <li>Передачу {@link ArgumentProvider}-ов в {@link TestContext}</li>
+ *     <li>Раскладку шагов по фазам {@link StepPhase}</li>
  * </ol>
  */
 public class ExecutionPlanner {
@@ -48,11 +49,12 @@ public class ExecutionPlanner {
             }
         }
 
-        // 3. Сбор всех шагов выполнения от PlanStepContributor-ов (Before/After/Test и др.)
-        List<PlanStep> steps = new ArrayList<>();
+        // 3. Сбор всех шагов выполнения от PlanStepContributor-ов (Before/After/Test и др.) по фазам
+        Map<StepPhase, List<PlanStep>> steps = new EnumMap<>(StepPhase.class);
         for (AnnotationHandler handler : registry.getHandlers().values()) {
             if (handler instanceof PlanStepContributor contributor) {
-                steps.addAll(contributor.buildSteps(context, testClass));
+                steps.computeIfAbsent(contributor.phase(), phase -> new ArrayList<>())
+                        .addAll(contributor.buildSteps(context, testClass));
             }
         }
 
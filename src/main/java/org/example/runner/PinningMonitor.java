@@ -0,0 +1,103 @@
+package org.example.runner;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Диагностика пиннинга виртуальных потоков в режиме {@link ExecutionMode#VIRTUAL_THREADS}.
+ *
+ * <p>Подписывается на JFR-событие {@code jdk.VirtualThreadPinned}, которое JVM публикует, когда
+ * виртуальный поток блокируется, не отпуская carrier (типичный случай — ожидание внутри
+ * {@code synchronized}). Каждое событие сопоставляется с тестом, выполнявшимся в этом потоке.</p>
+ */
+final class PinningMonitor implements AutoCloseable {
+
+    /**
+     * Один случай пиннинга.
+     *
+     * @param unit     тест, в котором он произошёл
+     * @param duration сколько carrier был занят заблокированным виртуальным потоком
+     * @param location первый кадр стека вне JDK
+     */
+    record PinnedEvent(String unit, Duration duration, String location) {}
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream;
+    private final Map<Long, String> units = new ConcurrentHashMap<>();
+    private final List<PinnedEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+    private PinningMonitor(Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+
+    /**
+     * Запускает мониторинг.
+     *
+     * @param threshold минимальная длительность пиннинга, попадающая в отчёт
+     */
+    static PinningMonitor start(Duration threshold) {
+        return new PinningMonitor(threshold);
+    }
+
+    /** Связывает текущий (виртуальный) поток с выполняемым в нём тестом. */
+    void bind(String unit) {
+        units.put(Thread.currentThread().threadId(), unit);
+    }
+
+    /**
+     * Останавливает запись, дожидаясь доставки накопленных событий.
+     *
+     * @return зафиксированные случаи пиннинга
+     */
+    List<PinnedEvent> stop() {
+        stream.stop();
+        synchronized (events) {
+            return List.copyOf(events);
+        }
+    }
+
+    /** Печатает отчёт о пиннинге в формате предупреждений раннера. */
+    static void report(List<PinnedEvent> events) {
+        for (PinnedEvent event : events) {
+            System.out.printf("Warning: virtual thread pinned its carrier for %d ms in %s at %s%n",
+                    event.duration().toMillis(), event.unit(), event.location());
+        }
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        String unit = thread == null ? null : units.get(thread.getJavaThreadId());
+        events.add(new PinnedEvent(unit == null ? "<unknown>" : unit, event.getDuration(), location(event)));
+    }
+
+    private static String location(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "<no stack trace>";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "<jdk internal>";
+    }
+}
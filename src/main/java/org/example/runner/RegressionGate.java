@@ -0,0 +1,165 @@
+package org.example.runner;
+
+import org.example.annotations.Benchmark;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Замер {@link Benchmark}-тестов и проверка их на регрессию относительно базовой линии.
+ *
+ * <p>Серия текущих замеров сравнивается с сохранённой односторонним критерием Манна–Уитни
+ * (нормальное приближение с поправкой на связки и непрерывность). Регрессией считается случай,
+ * когда медиана выросла больше чем на {@link RunnerOptions#maxSlowdown()} и замедление
+ * статистически значимо ({@code p < 0.05}). Одного из двух условий недостаточно: шум короткой
+ * серии не проваливает прогон, а значимое, но мизерное замедление — тоже.</p>
+ *
+ * <p>Новые тесты записываются в базовую линию сразу; существующие записи перезаписываются
+ * только при {@link RunnerOptions#updateBaseline()}, чтобы медленный дрейф не сдвигал эталон.</p>
+ */
+final class RegressionGate {
+
+    /** Уровень значимости критерия. */
+    static final double ALPHA = 0.05;
+
+    private final Map<String, long[]> results = new TreeMap<>();
+
+    /**
+     * Оборачивает тело {@link Benchmark}-теста: прогрев, затем замер каждой итерации.
+     * Вторая серия под тем же ключом {@code Класс#метод} не перезаписывает первую, а проваливает единицу.
+     */
+    PlanStep measure(TestGraph.Node node) {
+        Benchmark benchmark = node.benchmark;
+        String key = key(node.step);
+        return instance -> {
+            for (int i = 0; i < benchmark.warmups(); i++) {
+                node.step.execute(instance);
+            }
+            long[] durations = new long[benchmark.iterations()];
+            for (int i = 0; i < durations.length; i++) {
+                long started = System.nanoTime();
+                node.step.execute(instance);
+                durations[i] = System.nanoTime() - started;
+            }
+            synchronized (results) {
+                if (results.putIfAbsent(key, durations) != null) {
+                    throw new IllegalStateException("Duplicate @Benchmark unit: " + key);
+                }
+            }
+        };
+    }
+
+    /**
+     * Печатает сводку замеров и, если задан файл базовой линии, сравнивает с ним.
+     *
+     * @return ошибки для тестов с регрессией
+     */
+    List<Throwable> evaluate(RunnerOptions options) {
+        Map<String, long[]> measured;
+        synchronized (results) {
+            measured = new TreeMap<>(results);
+        }
+        for (Map.Entry<String, long[]> entry : measured.entrySet()) {
+            long[] sorted = sorted(entry.getValue());
+            System.out.printf("Benchmark %s: median %.3f ms, p90 %.3f ms (%d iterations)%n", entry.getKey(),
+                    median(sorted) / 1e6, sorted[(int) Math.ceil(sorted.length * 0.9) - 1] / 1e6, sorted.length);
+        }
+        if (options.baselineFile() == null || measured.isEmpty()) {
+            return List.of();
+        }
+
+        BaselineStore baseline = BaselineStore.load(options.baselineFile());
+        List<Throwable> regressions = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : measured.entrySet()) {
+            long[] previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                baseline.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            double before = median(sorted(previous));
+            double after = median(sorted(entry.getValue()));
+            double slowdown = after / before - 1;
+            double p = pValueSlower(previous, entry.getValue());
+            if (slowdown > options.maxSlowdown() && p < ALPHA) {
+                regressions.add(new IllegalStateException(String.format(
+                        "Performance regression in %s: median %.3f ms vs baseline %.3f ms (%+.1f%%, p=%.4f)",
+                        entry.getKey(), after / 1e6, before / 1e6, slowdown * 100, p)));
+            } else if (options.updateBaseline()) {
+                baseline.put(entry.getKey(), entry.getValue());
+            }
+        }
+        baseline.save();
+        return regressions;
+    }
+
+    /**
+     * Односторонний критерий Манна–Уитни: вероятность получить такую или большую сумму рангов
+     * текущей серии, если распределения совпадают.
+     *
+     * @param baseline замеры базовой линии
+     * @param current  текущие замеры
+     * @return p-value гипотезы «текущая серия медленнее»
+     */
+    static double pValueSlower(long[] baseline, long[] current) {
+        int n1 = baseline.length;
+        int n2 = current.length;
+        int n = n1 + n2;
+        long[][] all = new long[n][];
+        for (int i = 0; i < n1; i++) all[i] = new long[]{baseline[i], 0};
+        for (int i = 0; i < n2; i++) all[n1 + i] = new long[]{current[i], 1};
+        Arrays.sort(all, (a, b) -> Long.compare(a[0], b[0]));
+
+        double currentRankSum = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && all[j][0] == all[i][0]) j++;
+            double rank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) {
+                if (all[k][1] == 1) currentRankSum += rank;
+            }
+            long ties = j - i;
+            tieTerm += ties * ties * ties - ties;
+            i = j;
+        }
+
+        double u = currentRankSum - n2 * (n2 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    private static String key(PlanStep step) {
+        MethodStep method = (MethodStep) step;
+        return method.method().getDeclaringClass().getName() + "#" + method.method().getName();
+    }
+
+    private static long[] sorted(long[] values) {
+        long[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static double median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+
+    /** Функция распределения стандартного нормального закона (Abramowitz–Stegun 7.1.26). */
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.runner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Одноразовый загрузчик классов для режима наблюдения.
+ *
+ * <p>Классы из каталога скомпилированных классов загружаются заново (child-first), поэтому после
+ * перекомпиляции видна их новая версия. Классы фреймворка — аннотации, ядро, обработчики, раннер —
+ * и всё, чего нет в каталоге, делегируются родителю: они остаются прогретыми, а аннотации
+ * перезагруженных тестов совпадают с теми, что знают обработчики.</p>
+ */
+final class ReloadingClassLoader extends ClassLoader {
+
+    /** Пакеты, которые всегда загружает родитель. */
+    static final List<String> SHARED_PACKAGES = List.of(
+            "java.", "javax.", "jdk.", "sun.",
+            "org.example.annotations.", "org.example.core.", "org.example.handlers.", "org.example.runner.");
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final Path classesDirectory;
+
+    /**
+     * @param classesDirectory корень скомпилированных классов
+     * @param parent           загрузчик фреймворка
+     */
+    ReloadingClassLoader(Path classesDirectory, ClassLoader parent) {
+        super("watch-reload", parent);
+        this.classesDirectory = classesDirectory;
+    }
+
+    /** @return {@code true}, если класс всегда берётся у родителя */
+    static boolean isShared(String className) {
+        for (String prefix : SHARED_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                Path file = classesDirectory.resolve(name.replace('.', '/') + ".class");
+                if (isShared(name) || !Files.isRegularFile(file)) {
+                    return super.loadClass(name, resolve);
+                }
+                try {
+                    byte[] bytes = Files.readAllBytes(file);
+                    loaded = defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException("Failed to read class file: " + file, e);
+                }
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+}
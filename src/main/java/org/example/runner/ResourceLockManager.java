@@ -0,0 +1,111 @@
+package org.example.runner;
+
+import org.example.annotations.ResourceLock;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Блокировки общих ресурсов, объявленных через {@link ResourceLock}.
+ *
+ * <p>Для каждого имени ресурса заводится {@link StampedLock}. Тест захватывает все свои
+ * ресурсы в порядке возрастания имён — единый глобальный порядок исключает взаимную блокировку.
+ * {@code StampedLock} не привязан к потоку-владельцу, поэтому асинхронный тест может освободить
+ * блокировки из потока, завершившего его future.</p>
+ */
+final class ResourceLockManager {
+
+    /** Захваченные тестом блокировки; освобождаются в обратном порядке. */
+    static final class Held {
+        private final StampedLock[] locks;
+        private final long[] stamps;
+        private final boolean[] write;
+
+        private Held(int size) {
+            locks = new StampedLock[size];
+            stamps = new long[size];
+            write = new boolean[size];
+        }
+
+        void release() {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                if (write[i]) {
+                    locks[i].unlockWrite(stamps[i]);
+                } else {
+                    locks[i].unlockRead(stamps[i]);
+                }
+            }
+        }
+    }
+
+    private static final Held NONE = new Held(0);
+
+    /**
+     * Неявный ресурс всех тестовых единиц: обычная единица держит его на чтение, {@code @Benchmark}-единица —
+     * на запись и потому замеряется в одиночку. Пустое имя недоступно для {@link ResourceLock}.
+     */
+    static final String ALL_UNITS = "";
+
+    private final Map<String, StampedLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Собирает ресурсы теста: аннотации метода и его класса. Если ресурс объявлен несколько раз,
+     * берётся более сильный режим. Аннотации метода проверяет {@code ResourceLockHandler},
+     * аннотации класса — этот метод: обработчики видят только методы.
+     *
+     * @return ресурсы в порядке захвата
+     * @throws IllegalArgumentException если у класса объявлен ресурс с пустым именем
+     */
+    static SortedMap<String, ResourceLock.Mode> requirements(PlanStep step) {
+        if (!(step instanceof MethodStep methodStep)) {
+            return Collections.emptySortedMap();
+        }
+        Method method = methodStep.method();
+        SortedMap<String, ResourceLock.Mode> required = new TreeMap<>();
+        for (ResourceLock lock : method.getDeclaringClass().getAnnotationsByType(ResourceLock.class)) {
+            if (lock.value().isBlank()) {
+                throw new IllegalArgumentException("@ResourceLock value must not be blank: " + method.getName());
+            }
+            required.merge(lock.value(), lock.mode(), ResourceLockManager::stronger);
+        }
+        for (ResourceLock lock : method.getAnnotationsByType(ResourceLock.class)) {
+            required.merge(lock.value(), lock.mode(), ResourceLockManager::stronger);
+        }
+        return required;
+    }
+
+    /**
+     * Захватывает блокировки, ожидая их освобождения другими тестами.
+     *
+     * @param required ресурсы в порядке захвата (см. {@link #requirements(PlanStep)})
+     */
+    Held acquire(SortedMap<String, ResourceLock.Mode> required) {
+        if (required.isEmpty()) {
+            return NONE;
+        }
+        Held held = new Held(required.size());
+        int i = 0;
+        for (Map.Entry<String, ResourceLock.Mode> entry : required.entrySet()) {
+            StampedLock lock = locks.computeIfAbsent(entry.getKey(), name -> new StampedLock());
+            boolean write = entry.getValue() == ResourceLock.Mode.READ_WRITE;
+            held.locks[i] = lock;
+            held.write[i] = write;
+            held.stamps[i] = write ? lock.writeLock() : lock.readLock();
+            i++;
+        }
+        return held;
+    }
+
+    private static ResourceLock.Mode stronger(ResourceLock.Mode a, ResourceLock.Mode b) {
+        return a == ResourceLock.Mode.READ_WRITE || b == ResourceLock.Mode.READ_WRITE
+                ? ResourceLock.Mode.READ_WRITE
+                : ResourceLock.Mode.READ;
+    }
+}
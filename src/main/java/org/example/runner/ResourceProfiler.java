@@ -0,0 +1,140 @@
+package org.example.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Профилирование тестовых единиц: процессорное время, выделенная память и сборки мусора.
+ *
+ * <p>Процессорное время и выделенные байты снимаются через {@code com.sun.management.ThreadMXBean}
+ * для потока, выполнившего синхронную часть единицы ({@code @BeforeTest}, тело теста,
+ * {@code @AfterTest} синхронного теста). Для асинхронного теста работа в чужих потоках не учитывается.
+ * Для виртуальных потоков JVM эти счётчики не предоставляет — в отчёте они пустые.</p>
+ *
+ * <p>Число и длительность сборок мусора — разница счётчиков всех {@link GarbageCollectorMXBean}
+ * за время единицы. GC глобален, поэтому при параллельном исполнении одна сборка засчитывается
+ * всем единицам, выполнявшимся в этот момент.</p>
+ */
+final class ResourceProfiler {
+
+    /**
+     * Результаты одной единицы. Отрицательное значение — метрика недоступна.
+     */
+    record Sample(String unit, long wallNanos, long cpuNanos, long allocatedBytes, long gcCount, long gcMillis) {}
+
+    /** Снимок счётчиков в начале единицы. */
+    final class Probe {
+        private final long startNanos = System.nanoTime();
+        private final long startCpu = THREADS.getCurrentThreadCpuTime();
+        private final long startAllocated = THREADS.getCurrentThreadAllocatedBytes();
+        private final long startGcCount = gcCount();
+        private final long startGcMillis = gcMillis();
+        private long cpuNanos = -1;
+        private long allocatedBytes = -1;
+
+        private Probe() {}
+
+        /** Фиксирует потоковые счётчики; вызывается в том же потоке, что и {@link #start()}. */
+        void captureThread() {
+            long cpu = THREADS.getCurrentThreadCpuTime();
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            cpuNanos = startCpu < 0 || cpu < 0 ? -1 : cpu - startCpu;
+            allocatedBytes = startAllocated < 0 || allocated < 0 ? -1 : allocated - startAllocated;
+        }
+
+        /** Завершает замер; может вызываться из любого потока. */
+        void finish(String unit) {
+            samples.add(new Sample(unit, System.nanoTime() - startNanos, cpuNanos, allocatedBytes,
+                    gcCount() - startGcCount, gcMillis() - startGcMillis));
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final ConcurrentLinkedQueue<Sample> samples = new ConcurrentLinkedQueue<>();
+
+    /** Начинает замер единицы в текущем потоке. */
+    Probe start() {
+        return new Probe();
+    }
+
+    /** @return все замеры в порядке завершения */
+    List<Sample> samples() {
+        return List.copyOf(samples);
+    }
+
+    /**
+     * Печатает таблицу самых тяжёлых тестов (по процессорному времени, затем по длительности)
+     * и записывает все замеры в CSV.
+     *
+     * @param suite     имя набора (используется в заголовке и имени файла)
+     * @param directory каталог отчётов
+     * @param top       число строк таблицы
+     * @return путь к CSV-файлу
+     */
+    Path report(String suite, Path directory, int top) {
+        List<Sample> sorted = new ArrayList<>(samples);
+        sorted.sort(Comparator.comparingLong(Sample::cpuNanos).thenComparingLong(Sample::wallNanos).reversed());
+
+        System.out.printf("Top %d tests by CPU time in %s:%n", Math.min(top, sorted.size()), suite);
+        System.out.printf("  %-50s %10s %10s %14s %6s %8s%n", "test", "wall ms", "cpu ms", "alloc bytes", "gc", "gc ms");
+        for (Sample sample : sorted.subList(0, Math.min(top, sorted.size()))) {
+            System.out.printf("  %-50s %10.1f %10s %14s %6d %8d%n", sample.unit(), sample.wallNanos() / 1e6,
+                    sample.cpuNanos() < 0 ? "n/a" : String.format("%.1f", sample.cpuNanos() / 1e6),
+                    sample.allocatedBytes() < 0 ? "n/a" : Long.toString(sample.allocatedBytes()),
+                    sample.gcCount(), sample.gcMillis());
+        }
+
+        Path csv = directory.resolve(suite + "-profile.csv");
+        try {
+            Files.createDirectories(directory);
+            try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+                out.write("test,wall_ns,cpu_ns,allocated_bytes,gc_count,gc_ms\n");
+                for (Sample sample : sorted) {
+                    out.write(String.format("%s,%d,%d,%d,%d,%d%n", sample.unit(), sample.wallNanos(),
+                            sample.cpuNanos(), sample.allocatedBytes(), sample.gcCount(), sample.gcMillis()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write profile report: " + csv, e);
+        }
+        return csv;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (bean.isThreadCpuTimeSupported() && !bean.isThreadCpuTimeEnabled()) {
+            bean.setThreadCpuTimeEnabled(true);
+        }
+        if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
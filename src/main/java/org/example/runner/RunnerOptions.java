@@ -0,0 +1,342 @@
+package org.example.runner;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Настройки исполнения плана тестов.
+ *
+ * <p>Объект неизменяемый: методы {@code withXxx} возвращают изменённую копию.
+ * {@link #defaults()} соответствует поведению раннера без дополнительной настройки.</p>
+ *
+ * <pre>{@code
+ * RunnerOptions options = RunnerOptions.defaults()
+ *         .withMode(ExecutionMode.VIRTUAL_THREADS)
+ *         .withParallelism(200);
+ * TestRunner.runTests(MyTests.class, options);
+ * }</pre>
+ *
+ * <p>Те же настройки можно передать системными свойствами, см. {@link #fromSystemProperties()}.</p>
+ */
+public final class RunnerOptions {
+
+    private static final RunnerOptions DEFAULTS = new RunnerOptions();
+
+    private Duration asyncTimeout = Duration.ofSeconds(30);
+    private int asyncCarrierThreads = 2;
+    private ExecutionMode mode = ExecutionMode.SEQUENTIAL;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean pinningDiagnostics = true;
+    private Duration pinningThreshold = Duration.ofMillis(20);
+    private boolean profiling = false;
+    private int profileTop = 10;
+    private Path reportDirectory = Path.of("target", "runner-reports");
+    private Duration slowTestThreshold = null;
+    private Duration samplingInterval = Duration.ofMillis(5);
+    private Path baselineFile = null;
+    private double maxSlowdown = 0.10;
+    private boolean updateBaseline = false;
+
+    private RunnerOptions() {}
+
+    /** Настройки по умолчанию. */
+    public static RunnerOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Настройки из системных свойств; неуказанные свойства берутся из {@link #defaults()}.
+     * <ul>
+     *     <li>{@code runner.mode} — {@link ExecutionMode}</li>
+     *     <li>{@code runner.parallelism} — предел одновременно выполняемых тестов</li>
+     *     <li>{@code runner.asyncTimeoutMillis} — таймаут асинхронных тестов</li>
+     *     <li>{@code runner.profile} — {@code true} включает профилирование тестов</li>
+     *     <li>{@code runner.reportDir} — каталог отчётов раннера</li>
+     *     <li>{@code runner.slowTestMillis} — порог сэмплирования медленных тестов</li>
+     *     <li>{@code runner.sampleIntervalMillis} — период сэмплирования (по умолчанию 5 мс)</li>
+     *     <li>{@code runner.baseline} — файл базовой линии {@code @Benchmark}-тестов</li>
+     *     <li>{@code runner.maxSlowdown} — допустимое замедление медианы (по умолчанию 0.10)</li>
+     *     <li>{@code runner.updateBaseline} — {@code true} перезаписывает базовую линию</li>
+     * </ul>
+     */
+    public static RunnerOptions fromSystemProperties() {
+        RunnerOptions options = DEFAULTS;
+        String mode = System.getProperty("runner.mode");
+        if (mode != null) {
+            options = options.withMode(ExecutionMode.valueOf(mode.trim().toUpperCase()));
+        }
+        String parallelism = System.getProperty("runner.parallelism");
+        if (parallelism != null) {
+            options = options.withParallelism(Integer.parseInt(parallelism.trim()));
+        }
+        String asyncTimeout = System.getProperty("runner.asyncTimeoutMillis");
+        if (asyncTimeout != null) {
+            options = options.withAsyncTimeout(Duration.ofMillis(Long.parseLong(asyncTimeout.trim())));
+        }
+        if (Boolean.getBoolean("runner.profile")) {
+            options = options.withProfiling(true);
+        }
+        String reportDir = System.getProperty("runner.reportDir");
+        if (reportDir != null) {
+            options = options.withReportDirectory(Path.of(reportDir.trim()));
+        }
+        String slowTest = System.getProperty("runner.slowTestMillis");
+        if (slowTest != null) {
+            long interval = Long.parseLong(System.getProperty("runner.sampleIntervalMillis", "5").trim());
+            options = options.withSlowTestSampling(
+                    Duration.ofMillis(Long.parseLong(slowTest.trim())), Duration.ofMillis(interval));
+        }
+        String baseline = System.getProperty("runner.baseline");
+        if (baseline != null) {
+            double slowdown = Double.parseDouble(System.getProperty("runner.maxSlowdown", "0.10").trim());
+            options = options.withBaseline(Path.of(baseline.trim()), slowdown)
+                    .withBaselineUpdate(Boolean.getBoolean("runner.updateBaseline"));
+        }
+        return options;
+    }
+
+    /**
+     * Таймаут асинхронного теста, если в {@code @Test} не задан собственный.
+     *
+     * @param timeout положительная длительность
+     */
+    public RunnerOptions withAsyncTimeout(Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("asyncTimeout must be > 0");
+        }
+        RunnerOptions copy = copy();
+        copy.asyncTimeout = timeout;
+        return copy;
+    }
+
+    /**
+     * Число потоков, на которых выполняются {@code @AfterTest} асинхронных тестов
+     * после завершения их future.
+     *
+     * @param threads число потоков (>0)
+     */
+    public RunnerOptions withAsyncCarrierThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("asyncCarrierThreads must be > 0");
+        }
+        RunnerOptions copy = copy();
+        copy.asyncCarrierThreads = threads;
+        return copy;
+    }
+
+    /**
+     * Способ исполнения тестов. В параллельных режимах тесты одного класса разделяют
+     * общий экземпляр, поэтому его состояние должно быть потокобезопасным.
+     *
+     * @param mode режим исполнения
+     */
+    public RunnerOptions withMode(ExecutionMode mode) {
+        if (mode == null) throw new NullPointerException("mode");
+        RunnerOptions copy = copy();
+        copy.mode = mode;
+        return copy;
+    }
+
+    /**
+     * Предел одновременно выполняемых тестов в параллельных режимах (семафор).
+     * Для {@link ExecutionMode#PLATFORM_THREADS} это также размер пула потоков.
+     *
+     * @param parallelism предел (>0)
+     */
+    public RunnerOptions withParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        RunnerOptions copy = copy();
+        copy.parallelism = parallelism;
+        return copy;
+    }
+
+    /**
+     * Включает отчёт о пиннинге carrier-потоков в режиме {@link ExecutionMode#VIRTUAL_THREADS}:
+     * о каждом случае, когда виртуальный поток заблокировался дольше {@code threshold}, удерживая
+     * carrier (например, внутри {@code synchronized}).
+     *
+     * @param enabled   включить диагностику
+     * @param threshold минимальная длительность пиннинга, попадающая в отчёт
+     */
+    public RunnerOptions withPinningDiagnostics(boolean enabled, Duration threshold) {
+        if (threshold == null || threshold.isNegative()) {
+            throw new IllegalArgumentException("pinningThreshold must be >= 0");
+        }
+        RunnerOptions copy = copy();
+        copy.pinningDiagnostics = enabled;
+        copy.pinningThreshold = threshold;
+        return copy;
+    }
+
+    /**
+     * Включает профилирование тестов: процессорное время и выделенная память потока, число и длительность
+     * сборок мусора. После класса печатается таблица самых тяжёлых тестов, все замеры пишутся
+     * в {@code <reportDirectory>/<класс>-profile.csv}. По умолчанию выключено.
+     *
+     * @param enabled включить профилирование
+     */
+    public RunnerOptions withProfiling(boolean enabled) {
+        RunnerOptions copy = copy();
+        copy.profiling = enabled;
+        return copy;
+    }
+
+    /**
+     * Число строк в таблице самых тяжёлых тестов.
+     *
+     * @param top число строк (>0)
+     */
+    public RunnerOptions withProfileTop(int top) {
+        if (top <= 0) {
+            throw new IllegalArgumentException("profileTop must be > 0");
+        }
+        RunnerOptions copy = copy();
+        copy.profileTop = top;
+        return copy;
+    }
+
+    /**
+     * Каталог, в который раннер пишет отчёты.
+     *
+     * @param directory каталог; создаётся при необходимости
+     */
+    public RunnerOptions withReportDirectory(Path directory) {
+        if (directory == null) throw new NullPointerException("directory");
+        RunnerOptions copy = copy();
+        copy.reportDirectory = directory;
+        return copy;
+    }
+
+    /**
+     * Включает сэмплирование медленных тестов: если тест выполняется дольше {@code threshold},
+     * стек его потока снимается каждые {@code interval}, а сэмплы пишутся в
+     * {@code <reportDirectory>/<Класс.метод>-<номер>.collapsed} (формат collapsed stacks для flame graph),
+     * где номер — позиция теста в плане: он различает одноимённые тесты.
+     *
+     * @param threshold длительность, после которой начинается сэмплирование; {@code null} — выключить
+     * @param interval  период снятия стека (>0)
+     */
+    public RunnerOptions withSlowTestSampling(Duration threshold, Duration interval) {
+        if (threshold != null && threshold.isNegative()) {
+            throw new IllegalArgumentException("slowTestThreshold must be >= 0");
+        }
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("samplingInterval must be > 0");
+        }
+        RunnerOptions copy = copy();
+        copy.slowTestThreshold = threshold;
+        copy.samplingInterval = interval;
+        return copy;
+    }
+
+    /**
+     * Включает проверку {@code @Benchmark}-тестов на регрессию: замеры сравниваются с базовой линией
+     * из {@code file}, и прогон падает, если медиана выросла больше чем на {@code maxSlowdown}
+     * и замедление статистически значимо. Тесты, которых нет в файле, дописываются в него.
+     * Замеры не зависят от режима исполнения ({@link #withMode}): {@code @Benchmark}-тест и в параллельных
+     * режимах выполняется в одиночку, поэтому базовая линия, снятая в одном режиме, годится для другого.
+     *
+     * @param file        файл базовой линии; {@code null} — выключить проверку
+     * @param maxSlowdown допустимое относительное замедление медианы (>=0), например {@code 0.1}
+     */
+    public RunnerOptions withBaseline(Path file, double maxSlowdown) {
+        if (maxSlowdown < 0 || Double.isNaN(maxSlowdown)) {
+            throw new IllegalArgumentException("maxSlowdown must be >= 0");
+        }
+        RunnerOptions copy = copy();
+        copy.baselineFile = file;
+        copy.maxSlowdown = maxSlowdown;
+        return copy;
+    }
+
+    /**
+     * Перезаписывать ли существующие записи базовой линии текущими замерами (если регрессии нет).
+     * По умолчанию выключено: эталон обновляется только осознанно.
+     *
+     * @param update перезаписывать базовую линию
+     */
+    public RunnerOptions withBaselineUpdate(boolean update) {
+        RunnerOptions copy = copy();
+        copy.updateBaseline = update;
+        return copy;
+    }
+
+    public Duration asyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public int asyncCarrierThreads() {
+        return asyncCarrierThreads;
+    }
+
+    public ExecutionMode mode() {
+        return mode;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public boolean pinningDiagnostics() {
+        return pinningDiagnostics;
+    }
+
+    public Duration pinningThreshold() {
+        return pinningThreshold;
+    }
+
+    public boolean profiling() {
+        return profiling;
+    }
+
+    public int profileTop() {
+        return profileTop;
+    }
+
+    public Path reportDirectory() {
+        return reportDirectory;
+    }
+
+    /** @return порог сэмплирования медленных тестов или {@code null}, если сэмплирование выключено */
+    public Duration slowTestThreshold() {
+        return slowTestThreshold;
+    }
+
+    public Duration samplingInterval() {
+        return samplingInterval;
+    }
+
+    /** @return файл базовой линии или {@code null}, если проверка на регрессию выключена */
+    public Path baselineFile() {
+        return baselineFile;
+    }
+
+    public double maxSlowdown() {
+        return maxSlowdown;
+    }
+
+    public boolean updateBaseline() {
+        return updateBaseline;
+    }
+
+    private RunnerOptions copy() {
+        RunnerOptions copy = new RunnerOptions();
+        copy.asyncTimeout = asyncTimeout;
+        copy.asyncCarrierThreads = asyncCarrierThreads;
+        copy.mode = mode;
+        copy.parallelism = parallelism;
+        copy.pinningDiagnostics = pinningDiagnostics;
+        copy.pinningThreshold = pinningThreshold;
+        copy.profiling = profiling;
+        copy.profileTop = profileTop;
+        copy.reportDirectory = reportDirectory;
+        copy.slowTestThreshold = slowTestThreshold;
+        copy.samplingInterval = samplingInterval;
+        copy.baselineFile = baselineFile;
+        copy.maxSlowdown = maxSlowdown;
+        copy.updateBaseline = updateBaseline;
+        return copy;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сэмплирующий профайлер медленных тестов.
+ *
+ * <p>Для каждой тестовой единицы планируется проверка через {@code threshold}. Если к этому моменту
+ * единица ещё выполняется, стек её потока снимается через {@link Thread#getStackTrace()} каждые
+ * {@code interval}, пока она не завершится. Сэмплы сохраняются в формате collapsed stacks
+ * ({@code кадр;кадр;...;кадр число}, от корня к вершине) — его понимают flamegraph.pl,
+ * speedscope и async-profiler converter.</p>
+ *
+ * <p>Сэмплируется поток, выполняющий синхронную часть единицы; у асинхронного теста сэмплирование
+ * заканчивается, когда тест вернул future.</p>
+ */
+final class SlowTestSampler implements AutoCloseable {
+
+    /** Наблюдение за одной единицей. */
+    final class Session {
+        private final String unit;
+        private final int index;
+        private final Thread thread;
+        private final Map<String, Long> stacks = new LinkedHashMap<>();
+        private final ScheduledFuture<?> trigger;
+        private ScheduledFuture<?> sampling;
+        private boolean stopped;
+
+        private Session(String unit, int index, Thread thread) {
+            this.unit = unit;
+            this.index = index;
+            this.thread = thread;
+            this.trigger = timer.schedule(this::startSampling, threshold.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void startSampling() {
+            if (!stopped) {
+                sampling = timer.scheduleAtFixedRate(this::sample, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void sample() {
+            StackTraceElement[] frames = thread.getStackTrace();
+            if (frames.length == 0) {
+                return;
+            }
+            StringBuilder stack = new StringBuilder();
+            for (int i = frames.length - 1; i >= 0; i--) {
+                stack.append(frames[i].getClassName()).append('.').append(frames[i].getMethodName());
+                if (i > 0) {
+                    stack.append(';');
+                }
+            }
+            synchronized (this) {
+                if (!stopped) {
+                    stacks.merge(stack.toString(), 1L, Long::sum);
+                }
+            }
+        }
+
+        /**
+         * Останавливает сэмплирование и, если единица оказалась медленной, записывает
+         * {@code <directory>/<тест>-<номер>.collapsed}. Номер единицы в плане различает одноимённые
+         * единицы — перегруженные методы и повторы одного метода с разными аргументами.
+         *
+         * @return путь к файлу или {@code null}, если сэмплов нет
+         */
+        Path stop() {
+            Map<String, Long> collected;
+            synchronized (this) {
+                stopped = true;
+                trigger.cancel(false);
+                if (sampling != null) {
+                    sampling.cancel(false);
+                }
+                collected = new LinkedHashMap<>(stacks);
+            }
+            if (collected.isEmpty()) {
+                return null;
+            }
+            Path file = directory.resolve(unit.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + index + ".collapsed");
+            try {
+                Files.createDirectories(directory);
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, Long> entry : collected.entrySet()) {
+                        out.write(entry.getKey() + " " + entry.getValue() + "\n");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write collapsed stacks: " + file, e);
+            }
+            long samples = collected.values().stream().mapToLong(Long::longValue).sum();
+            System.out.printf("Slow test %s: %d stack samples written to %s%n", unit, samples, file);
+            return file;
+        }
+    }
+
+    private final Duration threshold;
+    private final Duration interval;
+    private final Path directory;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "slow-test-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param threshold длительность, после которой тест считается медленным
+     * @param interval  период снятия стека
+     * @param directory каталог для collapsed-файлов
+     */
+    SlowTestSampler(Duration threshold, Duration interval, Path directory) {
+        this.threshold = threshold;
+        this.interval = interval;
+        this.directory = directory;
+    }
+
+    /**
+     * Начинает наблюдение за единицей, выполняемой в текущем потоке.
+     *
+     * @param unit  имя единицы для отчёта
+     * @param index номер единицы в плане
+     */
+    Session watch(String unit, int index) {
+        return new Session(unit, index, Thread.currentThread());
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
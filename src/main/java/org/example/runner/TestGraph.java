@@ -0,0 +1,227 @@
+package org.example.runner;
+
+import org.example.annotations.Benchmark;
+import org.example.annotations.ResourceLock;
+import org.example.annotations.Test;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Граф зависимостей между тестовыми единицами плана.
+ *
+ * <p>Узел — шаг фазы {@code TEST}. Рёбра задаются {@link Test#dependsOn()} по именам методов;
+ * шаги без {@link MethodStep} зависимостей не имеют. При построении граф проверяется на
+ * неизвестные имена и циклы.</p>
+ *
+ * <p>Исполнение идёт через {@link Run}: готовыми считаются узлы, все зависимости которых прошли
+ * успешно; среди готовых первым выдаётся узел с большим приоритетом, при равенстве — более ранний
+ * в плане. Зависимые от упавшего теста узлы никогда не становятся готовыми и считаются пропущенными.</p>
+ */
+final class TestGraph {
+
+    /**
+     * Узел графа: тестовая единица, её связи и ресурсы ({@link ResourceLock}).
+     * {@code benchmark} не {@code null}, если тело теста нужно замерять ({@link Benchmark}).
+     * Кроме объявленных ресурсов единица держит {@link ResourceLockManager#ALL_UNITS}: на запись, если это
+     * {@code @Benchmark}, чтобы параллельные тесты не искажали замер.
+     */
+    static final class Node {
+        final int index;
+        final PlanStep step;
+        final String name;
+        final int priority;
+        final SortedMap<String, ResourceLock.Mode> locks;
+        final Benchmark benchmark;
+        final List<Node> dependencies = new ArrayList<>();
+        final List<Node> dependents = new ArrayList<>();
+
+        Node(int index, PlanStep step) {
+            this.index = index;
+            this.step = step;
+            this.name = ExecutionPlan.unitName(step, index);
+            Test test = annotation(step);
+            this.priority = test == null ? 5 : test.priority();
+            this.benchmark = step instanceof MethodStep methodStep
+                    ? methodStep.method().getAnnotation(Benchmark.class)
+                    : null;
+            this.locks = new TreeMap<>(ResourceLockManager.requirements(step));
+            locks.put(ResourceLockManager.ALL_UNITS,
+                    benchmark == null ? ResourceLock.Mode.READ : ResourceLock.Mode.READ_WRITE);
+        }
+    }
+
+    private static final Comparator<Node> READY_ORDER = Comparator
+            .comparingInt((Node node) -> -node.priority)
+            .thenComparingInt(node -> node.index);
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    /**
+     * @param tests шаги фазы {@code TEST} в порядке плана
+     * @throws IllegalStateException если зависимость ссылается на неизвестный тест или образует цикл
+     */
+    TestGraph(List<PlanStep> tests) {
+        Map<String, List<Node>> byMethodName = new HashMap<>();
+        for (int i = 0; i < tests.size(); i++) {
+            Node node = new Node(i, tests.get(i));
+            nodes.add(node);
+            if (node.step instanceof MethodStep methodStep) {
+                byMethodName.computeIfAbsent(methodStep.method().getName(), k -> new ArrayList<>()).add(node);
+            }
+        }
+        for (Node node : nodes) {
+            Test test = annotation(node.step);
+            if (test == null) {
+                continue;
+            }
+            for (String dependency : test.dependsOn()) {
+                List<Node> targets = byMethodName.get(dependency);
+                if (targets == null) {
+                    throw new IllegalStateException(
+                            "@Test dependsOn refers to unknown test '" + dependency + "': " + node.name);
+                }
+                for (Node target : targets) {
+                    node.dependencies.add(target);
+                    target.dependents.add(node);
+                }
+            }
+        }
+        checkAcyclic();
+    }
+
+    List<Node> nodes() {
+        return nodes;
+    }
+
+    /** Начинает новое исполнение графа. */
+    Run newRun() {
+        return new Run();
+    }
+
+    /**
+     * Состояние одного исполнения: очередь готовых узлов, число незавершённых зависимостей,
+     * результаты. Потокобезопасно: узлы завершаются из любых потоков.
+     */
+    final class Run {
+        private final PriorityQueue<Node> ready = new PriorityQueue<>(READY_ORDER);
+        private final int[] pendingDependencies = new int[nodes.size()];
+        private final Map<Node, Throwable> failures = new LinkedHashMap<>();
+        private int inFlight;
+
+        private Run() {
+            for (Node node : nodes) {
+                pendingDependencies[node.index] = node.dependencies.size();
+                if (node.dependencies.isEmpty()) {
+                    ready.add(node);
+                }
+            }
+        }
+
+        /**
+         * Возвращает следующий готовый узел, ожидая завершения выполняющихся, если готовых нет.
+         *
+         * @return узел или {@code null}, если запускать больше нечего
+         */
+        synchronized Node next() {
+            while (ready.isEmpty() && inFlight > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            Node node = ready.poll();
+            if (node != null) {
+                inFlight++;
+            }
+            return node;
+        }
+
+        /**
+         * Отмечает узел завершённым. Успех освобождает зависимые узлы, ошибка их блокирует.
+         *
+         * @param failure ошибка теста или {@code null}
+         */
+        synchronized void complete(Node node, Throwable failure) {
+            inFlight--;
+            if (failure != null) {
+                failures.put(node, failure);
+            } else {
+                for (Node dependent : node.dependents) {
+                    if (--pendingDependencies[dependent.index] == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+            notifyAll();
+        }
+
+        /** Дожидается завершения всех запущенных узлов. */
+        synchronized void awaitInFlight() {
+            while (inFlight > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        /** @return ошибки упавших тестов в порядке завершения */
+        synchronized List<Throwable> failures() {
+            return List.copyOf(failures.values());
+        }
+
+        /**
+         * После завершения исполнения: узлы, так и не ставшие готовыми из-за упавших
+         * (или пропущенных) зависимостей.
+         */
+        synchronized List<Node> skipped() {
+            return nodes.stream()
+                    .filter(node -> pendingDependencies[node.index] > 0)
+                    .toList();
+        }
+    }
+
+    private void checkAcyclic() {
+        int[] pending = new int[nodes.size()];
+        List<Node> queue = new ArrayList<>();
+        for (Node node : nodes) {
+            pending[node.index] = node.dependencies.size();
+            if (pending[node.index] == 0) {
+                queue.add(node);
+            }
+        }
+        for (int i = 0; i < queue.size(); i++) {
+            for (Node dependent : queue.get(i).dependents) {
+                if (--pending[dependent.index] == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        if (queue.size() < nodes.size()) {
+            String cycle = nodes.stream()
+                    .filter(node -> pending[node.index] > 0)
+                    .map(node -> node.name)
+                    .collect(Collectors.joining(", "));
+            throw new IllegalStateException("@Test dependsOn forms a cycle between: " + cycle);
+        }
+    }
+
+    private static Test annotation(PlanStep step) {
+        return step instanceof MethodStep methodStep ? methodStep.method().getAnnotation(Test.class) : null;
+    }
+}
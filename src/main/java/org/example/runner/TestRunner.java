@@ -1,5 +1,7 @@
 package org.example.runner;
 
+import org.example.core.StepPhase;
+
 /**
  * Главный класс для запуска тестов.
  *
@@ -10,18 +12,33 @@ public class TestRunner {
 
     /**
      * Запускает тесты, определённые в указанном классе.
+     * Настройки берутся из системных свойств ({@link RunnerOptions#fromSystemProperties()}).
      *
      * @param testClass класс, содержащий аннотированные тестовые методы
      * @throws RuntimeException если создание экземпляра или выполнение тестов завершилось ошибкой
      */
     public static void runTests(Class<?> testClass) {
+        runTests(testClass, RunnerOptions.fromSystemProperties());
+    }
+
+    /**
+     * Запускает тесты, определённые в указанном классе, с заданными настройками.
+     *
+     * @param testClass класс, содержащий аннотированные тестовые методы
+     * @param options   настройки исполнения плана
+     * @throws RuntimeException если создание экземпляра или выполнение тестов завершилось ошибкой
+     */
+    public static void runTests(Class<?> testClass, RunnerOptions options) {
         try {
             // Создаём экземпляр тестового класса
             Object testInstance = testClass.getDeclaredConstructor().newInstance();
 
             // Строим план и запускаем шаги
             ExecutionPlan plan = ExecutionPlanner.plan(testClass);
-            plan.execute(testInstance);
+            long started = System.nanoTime();
+            plan.execute(testInstance, options);
+            System.out.printf("%s: %d test(s) in %d ms [mode=%s]%n", testClass.getSimpleName(),
+                    plan.getSteps(StepPhase.TEST).size(), (System.nanoTime() - started) / 1_000_000, options.mode());
 
         } catch (Exception e) {
             System.err.println("Ошибка при выполнении тестов: " + e.getMessage());
@@ -0,0 +1,171 @@
+package org.example.runner;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Режим наблюдения: перезапуск тестов при перекомпиляции без перезапуска JVM.
+ *
+ * <p>{@link WatchService} следит за каталогом скомпилированных классов. После пачки изменений
+ * (компилятор пишет много файлов подряд, поэтому ждём {@link #QUIET_PERIOD_MILLIS} тишины)
+ * определяются затронутые тестовые классы, загружаются новым {@link ReloadingClassLoader}
+ * и запускаются через {@link TestRunner}. Фреймворк и найденные обработчики остаются в родительском
+ * загрузчике, так что время отклика — это время самих тестов.</p>
+ *
+ * <p>Затронутыми считаются изменённые тестовые классы (вместе с их вложенными классами). Если изменился
+ * другой класс приложения, зависимости неизвестны — перезапускаются все наблюдаемые тесты. Изменения
+ * классов фреймворка подхватить нельзя: о них выводится предупреждение.</p>
+ *
+ * <pre>{@code
+ * new TestWatcher(Path.of("target/classes"), List.of("org.example.tests.BasicTestSuite"),
+ *         RunnerOptions.fromSystemProperties()).run();
+ * }</pre>
+ */
+public class TestWatcher {
+
+    /** Сколько ждать новых событий, прежде чем считать перекомпиляцию завершённой. */
+    static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final Path classesDirectory;
+    private final Set<String> testClasses;
+    private final RunnerOptions options;
+
+    /**
+     * @param classesDirectory корень скомпилированных классов (например, {@code target/classes})
+     * @param testClasses      полные имена наблюдаемых тестовых классов
+     * @param options          настройки исполнения
+     */
+    public TestWatcher(Path classesDirectory, Collection<String> testClasses, RunnerOptions options) {
+        this.classesDirectory = classesDirectory.toAbsolutePath();
+        this.testClasses = new LinkedHashSet<>(testClasses);
+        this.options = options;
+    }
+
+    /**
+     * Запускает все наблюдаемые тесты, затем перезапускает затронутые после каждой перекомпиляции.
+     * Возвращает управление при прерывании потока.
+     *
+     * @throws IOException если каталог нельзя поставить на наблюдение
+     */
+    public void run() throws IOException {
+        runClasses(testClasses);
+        try (WatchService watch = classesDirectory.getFileSystem().newWatchService()) {
+            registerTree(watch, classesDirectory);
+            System.out.printf("[watch] Watching %s, press Ctrl+C to stop%n", classesDirectory);
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<String> changed = new TreeSet<>();
+                WatchKey key = watch.take();
+                while (key != null) {
+                    collect(watch, key, changed);
+                    key = watch.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                rerun(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Перезапускает тесты, затронутые изменением классов.
+     *
+     * @param changedClasses имена изменённых классов
+     * @return запущенные тестовые классы
+     */
+    Set<String> rerun(Collection<String> changedClasses) {
+        Set<String> affected = affected(changedClasses);
+        if (!affected.isEmpty()) {
+            System.out.printf("[watch] Changed: %s%n", String.join(", ", changedClasses));
+            runClasses(affected);
+        }
+        return affected;
+    }
+
+    /**
+     * @return тестовые классы, которые нужно перезапустить после изменения {@code changedClasses}
+     */
+    Set<String> affected(Collection<String> changedClasses) {
+        Set<String> affected = new LinkedHashSet<>();
+        for (String changed : changedClasses) {
+            String topLevel = changed.contains("$") ? changed.substring(0, changed.indexOf('$')) : changed;
+            if (ReloadingClassLoader.isShared(topLevel)) {
+                System.out.printf("[watch] Warning: framework class %s changed, restart watch mode to pick it up%n",
+                        changed);
+            } else if (testClasses.contains(topLevel)) {
+                affected.add(topLevel);
+            } else {
+                return new LinkedHashSet<>(testClasses);
+            }
+        }
+        return affected;
+    }
+
+    private void runClasses(Collection<String> classNames) {
+        long started = System.nanoTime();
+        ClassLoader loader = new ReloadingClassLoader(classesDirectory, TestWatcher.class.getClassLoader());
+        int failed = 0;
+        for (String className : classNames) {
+            try {
+                TestRunner.runTests(Class.forName(className, true, loader), options);
+            } catch (ClassNotFoundException | LinkageError e) {
+                failed++;
+                System.err.println("[watch] Failed to load " + className + ": " + e);
+            } catch (RuntimeException e) {
+                // TestRunner уже напечатал причину
+                failed++;
+            }
+        }
+        System.out.printf("[watch] %d class(es), %d failed, in %d ms%n",
+                classNames.size(), failed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void collect(WatchService watch, WatchKey key, Set<String> changed) throws IOException {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(testClasses);
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                registerTree(watch, path);
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.filter(file -> file.toString().endsWith(".class")).forEach(file -> changed.add(className(file)));
+                }
+            } else if (path.toString().endsWith(".class")) {
+                changed.add(className(path));
+            }
+        }
+        key.reset();
+    }
+
+    private String className(Path classFile) {
+        String relative = classesDirectory.relativize(classFile).toString();
+        return relative.substring(0, relative.length() - ".class".length())
+                .replace(classFile.getFileSystem().getSeparator(), ".");
+    }
+
+    private static void registerTree(WatchService watch, Path root) throws IOException {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(root)) {
+            directories = paths.filter(Files::isDirectory).toList();
+        }
+        for (Path directory : directories) {
+            directory.register(watch, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+}
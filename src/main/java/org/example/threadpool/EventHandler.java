@@ -0,0 +1,24 @@
+package org.example.threadpool;
+
+/**
+ * Обработчик событий {@link EventPipeline}. Вызывается в одном потоке-воркере, события приходят
+ * пачками по порядку номеров: {@code endOfBatch} отмечает последнее событие пачки — удобный момент
+ * сбросить накопленное (например, записать журнал на диск одним вызовом).
+ *
+ * @param <E> тип события
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * @param event      событие в ячейке кольца; после возврата ячейку могут переиспользовать
+     * @param sequence   номер события
+     * @param endOfBatch последнее ли это событие пачки, доступной сейчас обработчику
+     * @throws Exception исключение печатается, обработка продолжается со следующего события
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+
+    /** Перед пачкой из {@code batchSize} событий. */
+    default void onBatchStart(long batchSize) {
+    }
+}
@@ -0,0 +1,461 @@
+package org.example.threadpool;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Конвейер событий в духе LMAX Disruptor — для путей, где даже объект {@link Runnable} на задачу
+ * слишком дорог. Кольцо из {@code bufferSize} изменяемых событий создаётся заранее; производитель
+ * захватывает номер ({@link #next()}), заполняет событие в ячейке ({@link #get(long)}) и публикует его
+ * ({@link #publish(long)}). В установившемся режиме ни производители, ни обработчики ничего не выделяют.
+ *
+ * <p>Обработчики ({@link EventHandler}) выстраиваются в стадии: {@link #handleWith} задаёт первую стадию,
+ * {@link Stage#then} — следующую, которая видит событие только после всех обработчиков предыдущей.
+ * Обработчики одной стадии работают параллельно, каждый — в своём воркере пула, переданного в
+ * {@link #start(Executor)}, и занимает его до остановки конвейера; пулу нужно не меньше воркеров, чем
+ * обработчиков. Обработчик забирает сразу всё, что ему доступно, и обрабатывает пачкой.</p>
+ *
+ * <p>Номера захватываются CAS-ом общего счётчика, поэтому производителей может быть много. Опубликованность
+ * ячейки отмечается номером круга в отдельном массиве: обработчик первой стадии идёт только по
+ * непрерывно опубликованным номерам. Производитель не обгоняет самый медленный обработчик последних
+ * стадий больше чем на размер кольца и при заполнении ждёт. Обработчики ждут событий по
+ * {@link WaitStrategy}; уснувшего будит тот, кто продвинул номер, на котором он ждёт.</p>
+ *
+ * @param <E> тип события
+ */
+public final class EventPipeline<E> {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /** Номер, разнесённый заполнением от соседних полей, чтобы разные потоки не делили строку кэша. */
+    private static class LeftPadding {
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private static class SequenceValue extends LeftPadding {
+        volatile long value;
+    }
+
+    private static final class Sequence extends SequenceValue {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long p9, p10, p11, p12, p13, p14, p15;
+
+        Sequence(long initial) {
+            value = initial;
+        }
+
+        long get() {
+            return value;
+        }
+
+        void setRelease(long next) {
+            VALUE.setRelease(this, next);
+        }
+
+        boolean compareAndSet(long expected, long next) {
+            return VALUE.compareAndSet(this, expected, next);
+        }
+    }
+
+    private final Object[] entries;
+    private final int bufferSize;
+    private final int mask;
+    private final int indexShift;
+    /** Номер круга, на котором ячейка опубликована; -1 — ещё ни разу. */
+    private final int[] available;
+    private final WaitStrategy waitStrategy;
+    /** Последний захваченный номер. */
+    private final Sequence cursor = new Sequence(-1);
+    /** Минимум последних стадий, запомненный производителями, чтобы не пересчитывать его на каждый захват. */
+    private final Sequence gatingCache = new Sequence(-1);
+    private final List<Processor<E>> processors = new ArrayList<>();
+    /** Обработчики, читающие прямо из кольца; их будит публикация. */
+    private volatile Processor<?>[] roots = new Processor<?>[0];
+    /** Обработчики без последующих стадий: производители не обгоняют их больше чем на кольцо. */
+    private volatile Processor<?>[] leaves = new Processor<?>[0];
+    private boolean started = false;
+    private volatile boolean running = false;
+    private volatile boolean halted = false;
+    private volatile CountDownLatch stopped;
+
+    /**
+     * @param factory      создаёт события для всех ячеек кольца заранее
+     * @param bufferSize   размер кольца, степень двойки
+     * @param waitStrategy как обработчики ждут событий
+     */
+    public EventPipeline(Supplier<? extends E> factory, int bufferSize, WaitStrategy waitStrategy) {
+        if (factory == null) throw new NullPointerException("factory");
+        if (waitStrategy == null) throw new NullPointerException("waitStrategy");
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of two");
+        }
+        this.bufferSize = bufferSize;
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.waitStrategy = waitStrategy;
+        this.entries = new Object[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = factory.get();
+        }
+        this.available = new int[bufferSize];
+        Arrays.fill(available, -1);
+    }
+
+    /** Стадия обработчиков; следующая стадия видит событие после всех обработчиков этой. */
+    public static final class Stage<E> {
+        private final EventPipeline<E> pipeline;
+        private final Processor<?>[] members;
+
+        private Stage(EventPipeline<E> pipeline, Processor<?>[] members) {
+            this.pipeline = pipeline;
+            this.members = members;
+        }
+
+        /**
+         * Добавить стадию после этой.
+         * @throws IllegalStateException если конвейер уже запущен
+         */
+        @SafeVarargs
+        public final Stage<E> then(EventHandler<? super E>... handlers) {
+            List<EventHandler<? super E>> stage = new ArrayList<>(handlers.length);
+            for (EventHandler<? super E> handler : handlers) {
+                stage.add(handler);
+            }
+            return pipeline.addStage(members, stage);
+        }
+    }
+
+    /**
+     * Добавить стадию, читающую прямо из кольца. Повторный вызов создаёт ещё одну независимую цепочку.
+     * @throws IllegalStateException если конвейер уже запущен
+     */
+    @SafeVarargs
+    public final Stage<E> handleWith(EventHandler<? super E>... handlers) {
+        // Массив-параметр не передаётся дальше: иначе @SafeVarargs перестаёт быть правдой
+        List<EventHandler<? super E>> stage = new ArrayList<>(handlers.length);
+        for (EventHandler<? super E> handler : handlers) {
+            stage.add(handler);
+        }
+        return addStage(new Processor<?>[0], stage);
+    }
+
+    private synchronized Stage<E> addStage(Processor<?>[] upstream, List<EventHandler<? super E>> handlers) {
+        if (started) throw new IllegalStateException("EventPipeline is already started");
+        if (handlers.isEmpty()) throw new IllegalArgumentException("handlers must not be empty");
+        Processor<?>[] members = new Processor<?>[handlers.size()];
+        for (int i = 0; i < members.length; i++) {
+            EventHandler<? super E> handler = handlers.get(i);
+            if (handler == null) throw new NullPointerException("handler");
+            Processor<E> processor = new Processor<>(this, handler, upstream);
+            members[i] = processor;
+            processors.add(processor);
+        }
+        if (upstream.length == 0) {
+            roots = concat(roots, members);
+        }
+        for (Processor<?> previous : upstream) {
+            previous.downstream = concat(previous.downstream, members);
+        }
+        // Предыдущая стадия больше не последняя: производителей сдерживает новая
+        List<Processor<?>> remaining = new ArrayList<>(Arrays.asList(leaves));
+        remaining.removeAll(Arrays.asList(upstream));
+        leaves = concat(remaining.toArray(new Processor<?>[0]), members);
+        return new Stage<>(this, members);
+    }
+
+    private static Processor<?>[] concat(Processor<?>[] first, Processor<?>[] second) {
+        Processor<?>[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    /**
+     * Запустить обработчики: каждый ставится в {@code executor} задачей, которая работает до остановки.
+     * Опубликованное до запуска обрабатывается сразу после него.
+     *
+     * @throws IllegalStateException если конвейер уже запущен или нет ни одного обработчика
+     */
+    public synchronized void start(Executor executor) {
+        if (executor == null) throw new NullPointerException("executor");
+        if (started) throw new IllegalStateException("EventPipeline is already started");
+        if (processors.isEmpty()) throw new IllegalStateException("EventPipeline has no handlers");
+        started = true;
+        running = true;
+        stopped = new CountDownLatch(processors.size());
+        try {
+            for (Processor<E> processor : processors) {
+                executor.execute(processor);
+            }
+        } catch (RuntimeException e) {
+            halt();
+            throw e;
+        }
+    }
+
+    /**
+     * Захватить следующий номер; ждёт, если кольцо заполнено необработанными событиями.
+     *
+     * @throws IllegalStateException если конвейер остановлен, а кольцо заполнено
+     */
+    public long next() {
+        return next(1);
+    }
+
+    /**
+     * Захватить {@code n} номеров подряд; возвращает последний из них.
+     *
+     * @param n от 1 до размера кольца
+     */
+    public long next(int n) {
+        if (n < 1 || n > bufferSize) throw new IllegalArgumentException("n must be in [1, " + bufferSize + "]");
+        while (true) {
+            long current = cursor.get();
+            long next = current + n;
+            long wrapPoint = next - bufferSize;
+            long gating = gatingCache.get();
+            if (wrapPoint > gating || gating > current) {
+                gating = minimum(leaves, current);
+                if (wrapPoint > gating) {
+                    if (halted) throw new IllegalStateException("EventPipeline is halted");
+                    // Кольцо заполнено: ждём самый медленный обработчик
+                    LockSupport.parkNanos(1);
+                    continue;
+                }
+                gatingCache.setRelease(gating);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /** Событие в ячейке номера {@code sequence}. */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /** Опубликовать заполненное событие: после этого его увидят обработчики. */
+    public void publish(long sequence) {
+        setAvailable(sequence);
+        signal(roots);
+    }
+
+    /** Опубликовать номера с {@code low} по {@code high} включительно ({@link #next(int)}). */
+    public void publish(long low, long high) {
+        for (long sequence = low; sequence <= high; sequence++) {
+            setAvailable(sequence);
+        }
+        signal(roots);
+    }
+
+    /**
+     * Захватить номер, заполнить событие и опубликовать. Без выделения памяти, если {@code translator}
+     * не захватывает переменные (статический метод или лямбда без замыкания).
+     */
+    public <A> void publishEvent(BiConsumer<? super E, ? super A> translator, A argument) {
+        long sequence = next();
+        try {
+            translator.accept(get(sequence), argument);
+        } finally {
+            // Захваченный номер публикуется в любом случае, иначе обработчики встанут на нём навсегда
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Дождаться обработки всего опубликованного и остановить обработчики; возвращается, когда они
+     * освободили воркеры пула. Производители к этому моменту должны закончить публикацию.
+     *
+     * @throws IllegalStateException если конвейер не запущен
+     */
+    public void shutdown() throws InterruptedException {
+        CountDownLatch latch = stopped;
+        if (latch == null) throw new IllegalStateException("EventPipeline is not started");
+        while (minimum(leaves, Long.MAX_VALUE) < cursor.get() && latch.getCount() > 0) {
+            LockSupport.parkNanos(100_000);
+        }
+        halt();
+        latch.await();
+    }
+
+    /** Остановить обработчики после текущей пачки, не дожидаясь необработанных событий. */
+    public void halt() {
+        running = false;
+        halted = true;
+        for (Processor<?> processor : processors) {
+            processor.wakeUp();
+        }
+    }
+
+    /** Последний захваченный номер. */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /** Размер кольца. */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    private void setAvailable(long sequence) {
+        AVAILABLE.setRelease(available, (int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    private boolean isAvailable(long sequence) {
+        return (int) AVAILABLE.getAcquire(available, (int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /** Последний номер из {@code [low, high]}, до которого все опубликованы, или {@code low - 1}. */
+    private long highestPublished(long low, long high) {
+        for (long sequence = low; sequence <= high; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return high;
+    }
+
+    private static long minimum(Processor<?>[] group, long initial) {
+        long minimum = initial;
+        for (Processor<?> processor : group) {
+            minimum = Math.min(minimum, processor.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * Будит уснувших обработчиков группы. Барьер нужен для рукопожатия с {@link Processor#waitFor}:
+     * либо обработчик увидит новый номер, либо здесь будет виден его поток.
+     */
+    private void signal(Processor<?>[] targets) {
+        if (waitStrategy.parks()) {
+            VarHandle.fullFence();
+            for (Processor<?> target : targets) {
+                target.wakeUp();
+            }
+        }
+    }
+
+    /** Цикл одного обработчика в воркере пула. */
+    private static final class Processor<E> implements Runnable {
+        private static final VarHandle WAITING;
+
+        static {
+            try {
+                WAITING = MethodHandles.lookup().findVarHandle(Processor.class, "waiting", Thread.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final EventPipeline<E> pipeline;
+        final EventHandler<? super E> handler;
+        /** Последний обработанный номер. */
+        final Sequence sequence = new Sequence(-1);
+        /** Предыдущая стадия; пусто — чтение прямо из кольца. */
+        final Processor<?>[] upstream;
+        /** Следующие стадии: их будит продвижение этого обработчика; меняется только до запуска. */
+        Processor<?>[] downstream = new Processor<?>[0];
+        /** Поток, уснувший в ожидании событий; будящий снимает его, так что сон стоит одного unpark. */
+        volatile Thread waiting;
+
+        Processor(EventPipeline<E> pipeline, EventHandler<? super E> handler, Processor<?>[] upstream) {
+            this.pipeline = pipeline;
+            this.handler = handler;
+            this.upstream = upstream;
+        }
+
+        void wakeUp() {
+            Thread thread = waiting;
+            if (thread != null && WAITING.compareAndSet(this, thread, null)) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                long next = sequence.get() + 1;
+                while (true) {
+                    // Проверка перед каждой пачкой: пока производители публикуют, waitFor до неё не доходит
+                    if (!pipeline.running || Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    long last = waitFor(next);
+                    if (last < next) {
+                        return;
+                    }
+                    try {
+                        handler.onBatchStart(last - next + 1);
+                    } catch (Throwable t) {
+                        t.printStackTrace();
+                    }
+                    for (; next <= last; next++) {
+                        try {
+                            handler.onEvent(pipeline.get(next), next, next == last);
+                        } catch (Throwable t) {
+                            t.printStackTrace();
+                        }
+                    }
+                    sequence.setRelease(last);
+                    pipeline.signal(downstream);
+                }
+            } finally {
+                pipeline.stopped.countDown();
+            }
+        }
+
+        /**
+         * Ждёт, пока станет доступен номер {@code next}.
+         *
+         * @return последний доступный номер или {@code next - 1}, если конвейер остановлен
+         *         либо поток прерван (например, {@code shutdownNow} пула)
+         */
+        private long waitFor(long next) {
+            int round = 0;
+            while (true) {
+                long last = available(next);
+                if (last >= next) {
+                    return last;
+                }
+                if (!pipeline.running || Thread.currentThread().isInterrupted()) {
+                    return next - 1;
+                }
+                if (pipeline.waitStrategy.idle(round)) {
+                    round++;
+                    continue;
+                }
+                waiting = Thread.currentThread();
+                VarHandle.fullFence();
+                if (available(next) < next && pipeline.running) {
+                    LockSupport.park(this);
+                }
+                waiting = null;
+            }
+        }
+
+        private long available(long next) {
+            if (upstream.length == 0) {
+                return pipeline.highestPublished(next, pipeline.cursor.get());
+            }
+            return minimum(upstream, Long.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.threadpool;
+
+import java.time.Duration;
+
+/**
+ * Снимок гистограммы длительностей пула (ожидание в очереди или выполнение задачи).
+ *
+ * @param count     число записей
+ * @param sumNanos  сумма длительностей, нс
+ * @param maxNanos  наибольшая длительность, нс
+ * @param buckets   счётчики логарифмических корзин
+ */
+public record HistogramSnapshot(long count, long sumNanos, long maxNanos, long[] buckets) {
+
+    /** Средняя длительность; {@link Duration#ZERO} для пустой гистограммы. */
+    public Duration mean() {
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(sumNanos / count);
+    }
+
+    public Duration max() {
+        return Duration.ofNanos(maxNanos);
+    }
+
+    /**
+     * Квантиль: верхняя граница корзины, в которую попадает {@code quantile}-я доля записей,
+     * но не больше максимума. Завышает значение не больше чем на 1/8.
+     *
+     * @param quantile доля в диапазоне {@code [0, 1]}
+     */
+    public Duration percentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be in [0, 1]");
+        }
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(LatencyHistogram.upperBound(i), maxNanos));
+            }
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%dus p50=%dus p90=%dus p99=%dus max=%dus", count,
+                mean().toNanos() / 1000, percentile(0.5).toNanos() / 1000, percentile(0.9).toNanos() / 1000,
+                percentile(0.99).toNanos() / 1000, maxNanos / 1000);
+    }
+}
@@ -0,0 +1,246 @@
+package org.example.threadpool;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Исполнитель с упорядочиванием по ключу поверх пула: задачи одного ключа (например, одного счёта)
+ * выполняются строго по очереди и в порядке постановки, задачи разных ключей — параллельно.
+ * Заменяет глобальные блокировки, которыми сериализуют работу над одной сущностью.
+ *
+ * <p>У активного ключа есть почтовый ящик — очередь его задач, которая сама ставится в пул как
+ * задача и выполняет их одну за другой. Ящик создаётся при первой задаче ключа и удаляется, как только
+ * его очередь опустела, поэтому память занимают только ключи с невыполненными задачами, а не все
+ * когда-либо встречавшиеся. За один заход ящик выполняет не больше {@code batch} задач и затем
+ * ставится в пул заново, чтобы горячий ключ не занимал воркер бесконечно.</p>
+ *
+ * <p>Создание и удаление ящика идут через {@link ConcurrentHashMap#compute}, то есть под блокировкой
+ * одной ячейки таблицы: задача, поставленная одновременно с опустением ящика, не теряется — она либо
+ * попадает в старый ящик до его удаления, либо создаёт новый.</p>
+ *
+ * <p>Если пул отклонил новый ящик, ящик под той же блокировкой удаляется из таблицы и опустошается:
+ * все успевшие попасть в него задачи отклоняются — их future отменяются, а вызовы {@link #execute},
+ * положившие их, бросают исключение отказа. Постановщик, чья задача легла в ещё не принятый пулом ящик,
+ * ждёт решения пула. Пул не должен молча выбрасывать поставленные задачи: выброшенный ящик остался бы
+ * в таблице, и задачи его ключа больше не выполнялись бы. Поэтому {@link SimpleThreadPool} с
+ * {@link RejectionPolicy#DISCARD_OLDEST} не поддерживается.</p>
+ *
+ * @param <K> тип ключа; нужны корректные {@code equals}/{@code hashCode}
+ */
+public class KeyedExecutor<K> {
+
+    /** Очередь задач одного ключа; существует, пока в ней есть задачи, и всё это время поставлена в пул. */
+    private final class Mailbox implements Runnable {
+        final K key;
+        final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        /** Ящик ещё ставится в пул: постановщики в него ждут решения пула. */
+        private volatile boolean admitting = true;
+        /** Исключение, с которым пул отклонил ящик, или {@code null}. */
+        private volatile RuntimeException rejection;
+
+        Mailbox(K key) {
+            this.key = key;
+        }
+
+        /** Пул принял ящик (или уже выполняет его). */
+        void admitted() {
+            if (admitting) {
+                synchronized (this) {
+                    admitting = false;
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Пул отклонил ящик: удаляет его из таблицы, отменяет future его задач и будит ждущих постановщиков.
+         * После удаления новые задачи в ящик не попадают — постановка идёт под той же блокировкой ячейки.
+         */
+        void reject(RuntimeException cause) {
+            mailboxes.compute(key, (k, box) -> box == this ? null : box);
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                if (task instanceof Future<?> future) {
+                    future.cancel(false);
+                }
+            }
+            synchronized (this) {
+                rejection = cause;
+                admitting = false;
+                notifyAll();
+            }
+        }
+
+        /**
+         * Ждёт решения пула по ящику, в который легла задача.
+         *
+         * @throws IllegalStateException      если пул завершён
+         * @throws RejectedExecutionException если пул отклонил ящик по другой причине
+         */
+        void awaitAdmission() {
+            if (admitting) {
+                boolean interrupted = false;
+                synchronized (this) {
+                    while (admitting) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            RuntimeException cause = rejection;
+            if (cause instanceof IllegalStateException) {
+                throw new IllegalStateException(cause.getMessage(), cause);
+            }
+            if (cause != null) {
+                throw new RejectedExecutionException(cause.getMessage(), cause);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (RESCHEDULING.get() == this) {
+                // Пул вернул ящик в этот же поток (CALLER_RUNS, BLOCK из воркера): следующую пачку
+                // выполнит внешний вызов run, а не вложенный — иначе стек рос бы на кадр за пачку
+                RESCHEDULING.set(RERUN);
+                return;
+            }
+            // При CALLER_RUNS ящик выполняется внутри execute, до возврата из него
+            admitted();
+            while (true) {
+                for (int i = 0; i < batch; i++) {
+                    Runnable task = tasks.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        t.printStackTrace();
+                    }
+                }
+                if (close()) {
+                    return;
+                }
+                boolean rerun;
+                RESCHEDULING.set(this);
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    // Пул закрыт или переполнен: принятые задачи ключа дорабатываются в этом потоке
+                    continue;
+                } finally {
+                    rerun = RESCHEDULING.get() == RERUN;
+                    RESCHEDULING.remove();
+                }
+                if (!rerun) {
+                    return;
+                }
+            }
+        }
+
+        /** Удаляет пустой ящик из таблицы; {@code false}, если задачи ещё есть. */
+        private boolean close() {
+            boolean[] closed = {false};
+            mailboxes.compute(key, (k, box) -> {
+                if (box == this && tasks.isEmpty()) {
+                    closed[0] = true;
+                    return null;
+                }
+                return box;
+            });
+            return closed[0];
+        }
+    }
+
+    /**
+     * Ящик, который текущий поток ставит в пул заново, или {@link #RERUN}, если пул выполнил его
+     * в этом же потоке, не поставив в очередь.
+     */
+    private static final ThreadLocal<Object> RESCHEDULING = new ThreadLocal<>();
+    private static final Object RERUN = new Object();
+
+    private final Executor executor;
+    private final int batch;
+    private final ConcurrentHashMap<K, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor пул, в котором выполняются ящики
+     */
+    public KeyedExecutor(Executor executor) {
+        this(executor, 64);
+    }
+
+    /**
+     * @param executor пул, в котором выполняются ящики
+     * @param batch    сколько задач ключа выполняется за один заход, прежде чем ящик уступит воркер (>0)
+     */
+    public KeyedExecutor(Executor executor, int batch) {
+        if (executor == null) throw new NullPointerException("executor");
+        if (batch <= 0) throw new IllegalArgumentException("batch must be > 0");
+        if (executor instanceof SimpleThreadPool pool && pool.rejectionPolicy() == RejectionPolicy.DISCARD_OLDEST) {
+            throw new IllegalArgumentException("KeyedExecutor does not support DISCARD_OLDEST pools");
+        }
+        this.executor = executor;
+        this.batch = batch;
+    }
+
+    /**
+     * Поставить задачу ключа: она выполнится после всех ранее поставленных задач этого ключа
+     * и не одновременно с ними.
+     *
+     * @throws NullPointerException       если key или task == null
+     * @throws IllegalStateException      если пул уже завершён (shutdown), а ящик ключа ещё не был в пуле
+     * @throws RejectedExecutionException если пул отклонил ящик, в который легла задача
+     */
+    public void execute(K key, Runnable task) {
+        if (key == null) throw new NullPointerException("key");
+        if (task == null) throw new NullPointerException("task");
+        boolean[] created = {false};
+        Mailbox mailbox = mailboxes.compute(key, (k, box) -> {
+            if (box == null) {
+                box = new Mailbox(k);
+                created[0] = true;
+            }
+            box.tasks.offer(task);
+            return box;
+        });
+        if (!created[0]) {
+            // Ящик поставлен в пул или ставится прямо сейчас и заберёт задачу сам, если пул его примет
+            mailbox.awaitAdmission();
+            return;
+        }
+        try {
+            executor.execute(mailbox);
+        } catch (RuntimeException e) {
+            mailbox.reject(e);
+            throw e;
+        }
+        mailbox.admitted();
+    }
+
+    /**
+     * Поставить {@link Callable} ключа ({@link #execute(Object, Runnable)}).
+     *
+     * @return future результата
+     */
+    public <T> Future<T> submit(K key, Callable<T> task) {
+        PoolFuture<T> future = new PoolFuture<>(task);
+        execute(key, future);
+        return future;
+    }
+
+    /** Ключи, у которых сейчас есть невыполненные задачи (число почтовых ящиков). */
+    public int getActiveKeys() {
+        return mailboxes.size();
+    }
+}
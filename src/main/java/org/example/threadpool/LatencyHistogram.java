@@ -0,0 +1,67 @@
+package org.example.threadpool;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма длительностей без блокировок: логарифмические корзины по {@value #SUB_BUCKETS}
+ * на каждую степень двойки, погрешность значения — не больше 1/{@value #SUB_BUCKETS}.
+ *
+ * <p>Запись — вычисление номера корзины и инкремент её {@link LongAdder}: потоки, пишущие
+ * одновременно, расходятся по ячейкам аддера и не делят кэш-линию. Снимок читает корзины
+ * без остановки записи и поэтому приблизителен в пределах конкурентных записей.</p>
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /** Записывает длительность; отрицательные значения (скачок часов) считаются нулём. */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[bucket(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new HistogramSnapshot(total, sum.sum(), max.get(), counts);
+    }
+
+    /** Номер корзины: значения меньше {@link #SUB_BUCKETS} — точно, дальше — порядок и старшие биты мантиссы. */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /** Наибольшее значение, попадающее в корзину {@code index}. */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
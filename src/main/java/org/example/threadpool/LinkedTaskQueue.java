@@ -0,0 +1,64 @@
+package org.example.threadpool;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Неограниченная очередь задач на связном списке (lock-free, {@link ConcurrentLinkedQueue}).
+ * Очередь пула по умолчанию: каждая задача выделяет узел, зато переполнения не бывает.
+ */
+public class LinkedTaskQueue implements TaskQueue {
+
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    /** Счётчик размера: {@link ConcurrentLinkedQueue#size()} обходит весь список. */
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Override
+    public boolean offer(Runnable task) {
+        tasks.offer(task);
+        size.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public Runnable poll() {
+        Runnable task = tasks.poll();
+        if (task != null) {
+            size.decrementAndGet();
+        }
+        return task;
+    }
+
+    /** Пакет присоединяется к списку готовой цепочкой узлов, счётчик размера меняется один раз. */
+    @Override
+    public int offerAll(Runnable[] tasks, int from, int to) {
+        this.tasks.addAll(Arrays.asList(tasks).subList(from, to));
+        size.addAndGet(to - from);
+        return to - from;
+    }
+
+    @Override
+    public int drainTo(Runnable[] buffer, int max) {
+        int count = 0;
+        Runnable task;
+        while (count < max && (task = tasks.poll()) != null) {
+            buffer[count++] = task;
+        }
+        if (count > 0) {
+            size.addAndGet(-count);
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    /** Точная проверка по списку: счётчик размера отстаёт от него на время между операциями. */
+    @Override
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.threadpool;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ограниченная lock-free очередь для нескольких производителей и потребителей
+ * (кольцевой буфер Д. Вьюкова).
+ *
+ * <p>У каждой ячейки есть счётчик последовательности: он говорит, свободна ли ячейка для записи
+ * с позицией {@code pos} ({@code seq == pos}) или заполнена для чтения ({@code seq == pos + 1}).
+ * Производители и потребители захватывают позиции CAS-ом на своих счётчиках и дальше работают
+ * только со своей ячейкой, поэтому общего монитора нет, а узлы не выделяются.</p>
+ *
+ * <p>Счётчики позиций производителей и потребителей разнесены по разным кэш-линиям ({@link #PAD}
+ * элементов {@code long} = 64 байта): иначе каждый CAS производителя инвалидировал бы линию,
+ * которую читают потребители. Счётчики ячеек не выравниваются — это умножило бы память кольца
+ * на восемь, а соседние ячейки и так заняты разными потоками лишь на короткое время.</p>
+ */
+public class MpmcRingQueue implements TaskQueue {
+
+    /** Шаг между счётчиками в {@link AtomicLongArray}: 8 × 8 байт = кэш-линия. */
+    private static final int PAD = 8;
+    private static final int ENQUEUE = PAD;
+    private static final int DEQUEUE = 3 * PAD;
+
+    private final int mask;
+    private final Runnable[] buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray positions = new AtomicLongArray(4 * PAD);
+
+    /**
+     * @param capacity ёмкость (>0); округляется вверх до степени двойки, но не меньше двух —
+     *                 при одной ячейке метки «свободна» и «заполнена» совпадают
+     */
+    public MpmcRingQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in 1..2^30");
+        }
+        int size = Math.max(2, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.buffer = new Runnable[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Ёмкость после округления. */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        if (task == null) throw new NullPointerException("task");
+        long pos = positions.get(ENQUEUE);
+        while (true) {
+            int index = (int) pos & mask;
+            long difference = sequences.getAcquire(index) - pos;
+            if (difference == 0) {
+                if (positions.compareAndSet(ENQUEUE, pos, pos + 1)) {
+                    buffer[index] = task;
+                    sequences.setRelease(index, pos + 1);
+                    return true;
+                }
+                pos = positions.get(ENQUEUE);
+            } else if (difference < 0) {
+                // Ячейку ещё не освободил потребитель предыдущего круга — очередь заполнена
+                return false;
+            } else {
+                pos = positions.get(ENQUEUE);
+            }
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        long pos = positions.get(DEQUEUE);
+        while (true) {
+            int index = (int) pos & mask;
+            long difference = sequences.getAcquire(index) - (pos + 1);
+            if (difference == 0) {
+                if (positions.compareAndSet(DEQUEUE, pos, pos + 1)) {
+                    Runnable task = buffer[index];
+                    buffer[index] = null;
+                    sequences.setRelease(index, pos + mask + 1);
+                    return task;
+                }
+                pos = positions.get(DEQUEUE);
+            } else if (difference < 0) {
+                // Производитель ещё не записал ячейку — очередь пуста
+                return null;
+            } else {
+                pos = positions.get(DEQUEUE);
+            }
+        }
+    }
+
+    /**
+     * Захватывает подряд идущие свободные ячейки под весь пакет одним CAS-ом.
+     * Свободную ячейку меняет только производитель, захвативший её позицию, поэтому
+     * проверенные до CAS ячейки остаются свободными, если CAS прошёл.
+     */
+    @Override
+    public int offerAll(Runnable[] tasks, int from, int to) {
+        int count = to - from;
+        if (count <= 0) {
+            return 0;
+        }
+        // До захвата ячеек: захваченную ячейку нельзя оставить незаписанной
+        for (int i = from; i < to; i++) {
+            if (tasks[i] == null) throw new NullPointerException("task");
+        }
+        long pos = positions.get(ENQUEUE);
+        while (true) {
+            int free = 0;
+            while (free < count && sequences.getAcquire((int) (pos + free) & mask) == pos + free) {
+                free++;
+            }
+            if (free == 0) {
+                if (sequences.getAcquire((int) pos & mask) < pos) {
+                    return 0;
+                }
+            } else if (positions.compareAndSet(ENQUEUE, pos, pos + free)) {
+                for (int i = 0; i < free; i++) {
+                    int index = (int) (pos + i) & mask;
+                    buffer[index] = tasks[from + i];
+                    sequences.setRelease(index, pos + i + 1);
+                }
+                return free;
+            }
+            pos = positions.get(ENQUEUE);
+        }
+    }
+
+    /**
+     * Захватывает подряд идущие заполненные ячейки одним CAS-ом; симметрично {@link #offerAll}.
+     */
+    @Override
+    public int drainTo(Runnable[] out, int max) {
+        if (max <= 0) {
+            return 0;
+        }
+        long pos = positions.get(DEQUEUE);
+        while (true) {
+            int ready = 0;
+            while (ready < max && sequences.getAcquire((int) (pos + ready) & mask) == pos + ready + 1) {
+                ready++;
+            }
+            if (ready == 0) {
+                if (sequences.getAcquire((int) pos & mask) < pos + 1) {
+                    return 0;
+                }
+            } else if (positions.compareAndSet(DEQUEUE, pos, pos + ready)) {
+                for (int i = 0; i < ready; i++) {
+                    int index = (int) (pos + i) & mask;
+                    out[i] = buffer[index];
+                    buffer[index] = null;
+                    sequences.setRelease(index, pos + i + mask + 1);
+                }
+                return ready;
+            }
+            pos = positions.get(DEQUEUE);
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = positions.get(ENQUEUE) - positions.get(DEQUEUE);
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+}
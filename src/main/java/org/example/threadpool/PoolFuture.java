@@ -0,0 +1,213 @@
+package org.example.threadpool;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Лёгкий {@link RunnableFuture} для {@link SimpleThreadPool#submit}.
+ *
+ * <p>В отличие от {@link java.util.concurrent.FutureTask} всё состояние — одно volatile-поле с исходом,
+ * которое устанавливается CAS-ом один раз; ожидающие потоки спят на мониторе самой задачи, и
+ * завершение берёт монитор, только если кто-то действительно ждёт. Узлы очереди ожидающих не создаются.</p>
+ */
+final class PoolFuture<T> implements RunnableFuture<T> {
+
+    /** Исход {@code null}: поле {@code outcome == null} означает «ещё не завершена». */
+    private static final Object NULL = new Object();
+    private static final Object CANCELLED = new Object();
+
+    private static final VarHandle OUTCOME;
+    private static final VarHandle RUNNER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            OUTCOME = lookup.findVarHandle(PoolFuture.class, "outcome", Object.class);
+            RUNNER = lookup.findVarHandle(PoolFuture.class, "runner", Thread.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Исключение задачи, отличимое от результата-исключения. */
+    private record Failure(Throwable cause) {}
+
+    private Callable<T> callable;
+    /** {@code null} — не завершена; {@link #NULL}, значение, {@link Failure} или {@link #CANCELLED}. */
+    private volatile Object outcome;
+    /** Поток, выполняющий задачу; нужен {@code cancel(true)}. */
+    private volatile Thread runner;
+    /** Есть ли потоки в {@link #get}; завершение будит их только в этом случае. */
+    private volatile boolean waiters;
+    /** Вызывается один раз после установки исхода в завершившем задачу потоке; {@code null} — не нужен. */
+    private final Consumer<? super PoolFuture<T>> onCompletion;
+
+    PoolFuture(Callable<T> callable) {
+        this(callable, null);
+    }
+
+    PoolFuture(Callable<T> callable, Consumer<? super PoolFuture<T>> onCompletion) {
+        if (callable == null) throw new NullPointerException("task");
+        this.callable = callable;
+        this.onCompletion = onCompletion;
+    }
+
+    PoolFuture(Runnable task, T result) {
+        if (task == null) throw new NullPointerException("task");
+        this.callable = () -> {
+            task.run();
+            return result;
+        };
+        this.onCompletion = null;
+    }
+
+    @Override
+    public void run() {
+        tryRun();
+    }
+
+    /**
+     * Выполняет задачу, если её ещё никто не начал и она не отменена.
+     *
+     * @return {@code false}, если задача уже выполняется, выполнена или отменена
+     */
+    boolean tryRun() {
+        if (outcome != null || !RUNNER.compareAndSet(this, null, Thread.currentThread())) {
+            return false;
+        }
+        try {
+            Callable<T> task = callable;
+            if (task != null && outcome == null) {
+                Object result;
+                try {
+                    T value = task.call();
+                    result = value == null ? NULL : value;
+                } catch (Throwable t) {
+                    result = new Failure(t);
+                }
+                complete(result);
+            }
+        } finally {
+            // cancel(true) прерывает только под монитором и пока runner задан: после этого блока
+            // прерывание от этой задачи уже не придёт, и его можно снять, не задев следующую задачу воркера
+            synchronized (this) {
+                runner = null;
+            }
+            if (outcome == CANCELLED) {
+                Thread.interrupted();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (!complete(CANCELLED)) {
+            return false;
+        }
+        if (mayInterruptIfRunning) {
+            synchronized (this) {
+                Thread thread = runner;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return outcome == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone() {
+        return outcome != null;
+    }
+
+    /** Завершилась ли задача исключением; для метрик пула. */
+    boolean isFailed() {
+        return outcome instanceof Failure;
+    }
+
+    /** Исключение задачи или {@code null}, если она не завершилась исключением. */
+    Throwable failure() {
+        return outcome instanceof Failure failure ? failure.cause() : null;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        Object result = outcome;
+        if (result == null) {
+            synchronized (this) {
+                waiters = true;
+                while ((result = outcome) == null) {
+                    wait();
+                }
+            }
+        }
+        return report(result);
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        Object result = outcome;
+        if (result == null) {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (this) {
+                waiters = true;
+                while ((result = outcome) == null) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException();
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+        }
+        return report(result);
+    }
+
+    /**
+     * Устанавливает исход, если он ещё не установлен.
+     * Ожидающий ставит {@code waiters} до проверки исхода под монитором, а здесь исход пишется
+     * до чтения {@code waiters}, поэтому хотя бы одна сторона видит другую.
+     */
+    private boolean complete(Object result) {
+        if (!OUTCOME.compareAndSet(this, null, result)) {
+            return false;
+        }
+        callable = null;
+        if (waiters) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+        if (onCompletion != null) {
+            onCompletion.accept(this);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T report(Object result) throws ExecutionException {
+        if (result == NULL) {
+            return null;
+        }
+        if (result == CANCELLED) {
+            throw new CancellationException();
+        }
+        if (result instanceof Failure failure) {
+            throw new ExecutionException(failure.cause());
+        }
+        return (T) result;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.threadpool;
+
+/**
+ * Реализация {@link SimpleThreadPoolMXBean}: каждый атрибут читается из свежего снимка метрик.
+ */
+final class PoolMXBean implements SimpleThreadPoolMXBean {
+
+    private final SimpleThreadPool pool;
+
+    PoolMXBean(SimpleThreadPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return pool.getMetrics().submitted();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return pool.getMetrics().completed();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return pool.getMetrics().failed();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return pool.getRejectedCount();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return pool.getMetrics().activeWorkers();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return pool.getPoolSize();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return pool.getQueueSize();
+    }
+
+    @Override
+    public int getPeakQueueDepth() {
+        return pool.getMetrics().peakQueueDepth();
+    }
+
+    @Override
+    public long getQueueWaitP50Micros() {
+        return micros(pool.getMetrics().queueWait(), 0.5);
+    }
+
+    @Override
+    public long getQueueWaitP99Micros() {
+        return micros(pool.getMetrics().queueWait(), 0.99);
+    }
+
+    @Override
+    public long getQueueWaitMaxMicros() {
+        return pool.getMetrics().queueWait().maxNanos() / 1000;
+    }
+
+    @Override
+    public long getRunTimeP50Micros() {
+        return micros(pool.getMetrics().runTime(), 0.5);
+    }
+
+    @Override
+    public long getRunTimeP99Micros() {
+        return micros(pool.getMetrics().runTime(), 0.99);
+    }
+
+    @Override
+    public long getRunTimeMaxMicros() {
+        return pool.getMetrics().runTime().maxNanos() / 1000;
+    }
+
+    private static long micros(HistogramSnapshot histogram, double quantile) {
+        return histogram.percentile(quantile).toNanos() / 1000;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.threadpool;
+
+/**
+ * Снимок метрик {@link SimpleThreadPool} ({@link SimpleThreadPool#getMetrics()}).
+ *
+ * <p>Счётчики читаются без блокировок и без остановки пула, поэтому значения согласованы лишь
+ * приблизительно: задача может уже попасть в {@code completed}, но ещё не в гистограмму.</p>
+ *
+ * @param submitted      принятые в очередь задачи
+ * @param completed      задачи, выполненные воркерами без исключения
+ * @param failed         задачи, завершившиеся исключением (для {@code submit} — неуспешные future)
+ * @param rejected       задачи, не попавшие в очередь ({@link SimpleThreadPool#getRejectedCount()})
+ * @param activeWorkers  воркеры, занятые задачей (не ждущие её ни активно, ни во сне)
+ * @param poolSize       текущее число воркеров
+ * @param queueSize      текущая длина общей очереди
+ * @param peakQueueDepth наибольшая длина общей очереди, замеченная при постановке
+ * @param queueWait      время от постановки до начала выполнения
+ * @param runTime        время выполнения задачи
+ */
+public record PoolMetrics(long submitted, long completed, long failed, long rejected, int activeWorkers,
+                          int poolSize, int queueSize, int peakQueueDepth,
+                          HistogramSnapshot queueWait, HistogramSnapshot runTime) {
+}
@@ -0,0 +1,362 @@
+package org.example.threadpool;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Настройки {@link SimpleThreadPool}.
+ *
+ * <p>Объект неизменяемый: методы {@code withXxx} возвращают изменённую копию.</p>
+ *
+ * <pre>{@code
+ * SimpleThreadPool pool = new SimpleThreadPool(PoolOptions.defaults()
+ *         .withPoolSize(8, 64)
+ *         .withKeepAlive(Duration.ofSeconds(30))
+ *         .withQueue(() -> new MpmcRingQueue(4096))
+ *         .withWorkStealing(true));
+ * }</pre>
+ */
+public final class PoolOptions {
+
+    private static final PoolOptions DEFAULTS = new PoolOptions();
+
+    private int coreThreads = Runtime.getRuntime().availableProcessors();
+    private int maxThreads = coreThreads;
+    private Duration keepAlive = Duration.ofSeconds(60);
+    private boolean prestart = true;
+    private int growthQueueDepth = 64;
+    private Duration growthQueueWait = Duration.ofMillis(10);
+    private Supplier<TaskQueue> queue = LinkedTaskQueue::new;
+    private boolean workStealing = false;
+    private int drainBatch = 1;
+    private boolean taskTiming = true;
+    private Duration timerTick = Duration.ofMillis(1);
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+    private Duration blockTimeout = null;
+    private Duration stallTimeout = null;
+    private int maxCompensating = 0;
+
+    private PoolOptions() {}
+
+    /** Настройки по умолчанию: фиксированно по потоку на процессор, неограниченная очередь. */
+    public static PoolOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Фиксированный размер пула: {@code withPoolSize(threads, threads)}.
+     *
+     * @param threads число рабочих потоков (>0)
+     */
+    public PoolOptions withThreads(int threads) {
+        if (threads <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        return withPoolSize(threads, threads);
+    }
+
+    /**
+     * Эластичный размер пула. Базовые воркеры живут всё время работы пула; сверх них, до {@code max},
+     * воркеры добавляются при перегрузке ({@link #withGrowthThreshold}) и завершаются после
+     * {@link #withKeepAlive простоя}. При {@code core == 0} простаивающий пул не держит ни одного потока.
+     *
+     * @param core число постоянных воркеров (>=0)
+     * @param max  предел числа воркеров (>0, >= core)
+     */
+    public PoolOptions withPoolSize(int core, int max) {
+        if (core < 0) throw new IllegalArgumentException("coreThreads must be >= 0");
+        if (max <= 0 || max < core) throw new IllegalArgumentException("maxThreads must be > 0 and >= coreThreads");
+        PoolOptions copy = copy();
+        copy.coreThreads = core;
+        copy.maxThreads = max;
+        return copy;
+    }
+
+    /**
+     * Сколько простаивает воркер сверх базовых, прежде чем завершиться.
+     *
+     * @param keepAlive положительная длительность
+     */
+    public PoolOptions withKeepAlive(Duration keepAlive) {
+        if (keepAlive == null || keepAlive.isNegative() || keepAlive.isZero()) {
+            throw new IllegalArgumentException("keepAlive must be > 0");
+        }
+        PoolOptions copy = copy();
+        copy.keepAlive = keepAlive;
+        return copy;
+    }
+
+    /**
+     * Запускать ли базовых воркеров в конструкторе. Без предзапуска воркер создаётся при постановке задачи,
+     * пока их меньше базового числа, так что неиспользуемый пул не стоит ничего.
+     *
+     * @param prestart запускать воркеров сразу (по умолчанию {@code true})
+     */
+    public PoolOptions withPrestart(boolean prestart) {
+        PoolOptions copy = copy();
+        copy.prestart = prestart;
+        return copy;
+    }
+
+    /**
+     * Когда добавлять воркера сверх базовых: очередь длиннее {@code queueDepth} задач или все воркеры
+     * заняты, а очередь не пустеет дольше {@code queueWait}.
+     *
+     * @param queueDepth порог длины очереди (>=0)
+     * @param queueWait  порог времени непрерывной очереди при занятых воркерах
+     */
+    public PoolOptions withGrowthThreshold(int queueDepth, Duration queueWait) {
+        if (queueDepth < 0) throw new IllegalArgumentException("growthQueueDepth must be >= 0");
+        if (queueWait == null || queueWait.isNegative()) {
+            throw new IllegalArgumentException("growthQueueWait must be >= 0");
+        }
+        PoolOptions copy = copy();
+        copy.growthQueueDepth = queueDepth;
+        copy.growthQueueWait = queueWait;
+        return copy;
+    }
+
+    /**
+     * Очередь задач. Фабрика вызывается при создании каждого пула, так что настройки можно
+     * переиспользовать. В режиме work-stealing это общая очередь внешних задач.
+     *
+     * @param queue фабрика очереди
+     */
+    public PoolOptions withQueue(Supplier<TaskQueue> queue) {
+        if (queue == null) throw new NullPointerException("queue");
+        PoolOptions copy = copy();
+        copy.queue = queue;
+        return copy;
+    }
+
+    /**
+     * Режим work-stealing: у каждого воркера свой дек. Задачи, поставленные из воркера, кладутся
+     * в его дек и берутся им же в порядке LIFO; свободные воркеры крадут из чужих деков с другого
+     * конца (FIFO). Задачи извне идут через общую очередь.
+     *
+     * @param enabled включить режим
+     */
+    public PoolOptions withWorkStealing(boolean enabled) {
+        PoolOptions copy = copy();
+        copy.workStealing = enabled;
+        return copy;
+    }
+
+    /**
+     * Пакетная выборка: воркер забирает из общей очереди до {@code maxTasks} задач за одну операцию
+     * ({@link TaskQueue#drainTo}) в собственный буфер. Чтобы один воркер не собрал всю очередь, пока
+     * остальные простаивают, берётся не больше справедливой доли — длины очереди, делённой на число воркеров.
+     *
+     * @param maxTasks размер пакета (>0); {@code 1} — по одной задаче (по умолчанию)
+     */
+    public PoolOptions withDrainBatch(int maxTasks) {
+        if (maxTasks <= 0) throw new IllegalArgumentException("drainBatch must be > 0");
+        PoolOptions copy = copy();
+        copy.drainBatch = maxTasks;
+        return copy;
+    }
+
+    /**
+     * Замер времени ожидания в очереди и выполнения каждой задачи для {@link SimpleThreadPool#getMetrics()}.
+     * Стоит двух вызовов {@link System#nanoTime()} и обёртки с меткой времени на задачу; счётчики задач
+     * ведутся всегда.
+     *
+     * @param enabled замерять (по умолчанию {@code true})
+     */
+    public PoolOptions withTaskTiming(boolean enabled) {
+        PoolOptions copy = copy();
+        copy.taskTiming = enabled;
+        return copy;
+    }
+
+    /**
+     * Очередь с приоритетами и старением ({@link PriorityTaskQueue}): задачи
+     * {@link SimpleThreadPool#execute(Runnable, int)} с большим приоритетом выбираются раньше, а фоновые
+     * поднимаются на уровень за каждый интервал {@code aging} ожидания и не голодают.
+     *
+     * @param levels число уровней (>0); {@link SimpleThreadPool#execute(Runnable)} ставит на уровень 0
+     * @param aging  интервал старения (>0)
+     */
+    public PoolOptions withPriorities(int levels, Duration aging) {
+        if (levels <= 0) throw new IllegalArgumentException("levels must be > 0");
+        if (aging == null || aging.isNegative() || aging.isZero()) {
+            throw new IllegalArgumentException("aging must be > 0");
+        }
+        return withQueue(() -> new PriorityTaskQueue(levels, aging));
+    }
+
+    /**
+     * Такт колеса таймеров ({@link SimpleThreadPool#schedule}): отложенная задача срабатывает не раньше
+     * срока и опаздывает не больше чем на такт. Короткий такт точнее, но будит тикер чаще, пока есть таймеры.
+     *
+     * @param tick положительная длительность (по умолчанию 1 мс)
+     */
+    public PoolOptions withTimerTick(Duration tick) {
+        if (tick == null || tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("timerTick must be > 0");
+        }
+        PoolOptions copy = copy();
+        copy.timerTick = tick;
+        return copy;
+    }
+
+    /**
+     * Как воркеры ждут задачу на пустой очереди ({@link WaitStrategy}). Активное ожидание сокращает
+     * задержку передачи задачи до долей микросекунды, но занимает процессор простаивающими воркерами.
+     *
+     * @param strategy стратегия ожидания (по умолчанию {@link WaitStrategy#BLOCKING})
+     */
+    public PoolOptions withWaitStrategy(WaitStrategy strategy) {
+        if (strategy == null) throw new NullPointerException("waitStrategy");
+        PoolOptions copy = copy();
+        copy.waitStrategy = strategy;
+        return copy;
+    }
+
+    /**
+     * Ограниченная очередь: {@link MpmcRingQueue} заданной ёмкости. При переполнении действует
+     * {@link #withRejectionPolicy(RejectionPolicy)}. В режиме work-stealing ограничена только общая
+     * очередь внешних задач, деки воркеров не ограничены.
+     *
+     * @param capacity ёмкость (>0), округляется вверх до степени двойки
+     */
+    public PoolOptions withQueueCapacity(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("queueCapacity must be > 0");
+        return withQueue(() -> new MpmcRingQueue(capacity));
+    }
+
+    /**
+     * Поведение при заполненной очереди; по умолчанию {@link RejectionPolicy#ABORT}.
+     *
+     * @param policy политика отказа
+     */
+    public PoolOptions withRejectionPolicy(RejectionPolicy policy) {
+        if (policy == null) throw new NullPointerException("policy");
+        PoolOptions copy = copy();
+        copy.rejectionPolicy = policy;
+        return copy;
+    }
+
+    /**
+     * Сколько ждёт производитель при {@link RejectionPolicy#BLOCK}.
+     *
+     * @param timeout положительная длительность; {@code null} — ждать без ограничения
+     */
+    public PoolOptions withBlockTimeout(Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("blockTimeout must be > 0");
+        }
+        PoolOptions copy = copy();
+        copy.blockTimeout = timeout;
+        return copy;
+    }
+
+    /**
+     * Монитор голодания: отдельный поток раз в полпериода {@code stallTimeout} сверяет счётчики
+     * прогресса воркеров. Если воркер выполняет одну задачу дольше {@code stallTimeout}, при этом
+     * свободных воркеров нет, а задачи ждут в очереди, пул голодает: монитор печатает в {@code System.err}
+     * дамп потоков зависших воркеров и, если {@code maxCompensating > 0}, добавляет временных
+     * компенсирующих воркеров. Они завершаются, как только зависшие воркеры снова продвигаются.
+     * Тем же лимитом ограничены компенсации {@link SimpleThreadPool#managedBlock}.
+     *
+     * @param stallTimeout    сколько воркер может не продвигаться, прежде чем считаться зависшим (>0);
+     *                        {@code null} — без монитора (по умолчанию)
+     * @param maxCompensating предел компенсирующих воркеров сверх {@link #withPoolSize max} (>=0)
+     */
+    public PoolOptions withStarvationMonitor(Duration stallTimeout, int maxCompensating) {
+        if (stallTimeout != null && (stallTimeout.isNegative() || stallTimeout.isZero())) {
+            throw new IllegalArgumentException("stallTimeout must be > 0");
+        }
+        if (maxCompensating < 0) throw new IllegalArgumentException("maxCompensating must be >= 0");
+        PoolOptions copy = copy();
+        copy.stallTimeout = stallTimeout;
+        copy.maxCompensating = maxCompensating;
+        return copy;
+    }
+
+    public int coreThreads() {
+        return coreThreads;
+    }
+
+    public int maxThreads() {
+        return maxThreads;
+    }
+
+    public Duration keepAlive() {
+        return keepAlive;
+    }
+
+    public boolean prestart() {
+        return prestart;
+    }
+
+    public int growthQueueDepth() {
+        return growthQueueDepth;
+    }
+
+    public Duration growthQueueWait() {
+        return growthQueueWait;
+    }
+
+    public Supplier<TaskQueue> queue() {
+        return queue;
+    }
+
+    public boolean workStealing() {
+        return workStealing;
+    }
+
+    public int drainBatch() {
+        return drainBatch;
+    }
+
+    public boolean taskTiming() {
+        return taskTiming;
+    }
+
+    public Duration timerTick() {
+        return timerTick;
+    }
+
+    public WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    public RejectionPolicy rejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /** @return таймаут ожидания места в очереди или {@code null} — без ограничения */
+    public Duration blockTimeout() {
+        return blockTimeout;
+    }
+
+    /** @return порог зависания воркера или {@code null} — монитор голодания выключен */
+    public Duration stallTimeout() {
+        return stallTimeout;
+    }
+
+    public int maxCompensating() {
+        return maxCompensating;
+    }
+
+    private PoolOptions copy() {
+        PoolOptions copy = new PoolOptions();
+        copy.coreThreads = coreThreads;
+        copy.maxThreads = maxThreads;
+        copy.keepAlive = keepAlive;
+        copy.prestart = prestart;
+        copy.growthQueueDepth = growthQueueDepth;
+        copy.growthQueueWait = growthQueueWait;
+        copy.queue = queue;
+        copy.workStealing = workStealing;
+        copy.drainBatch = drainBatch;
+        copy.taskTiming = taskTiming;
+        copy.timerTick = timerTick;
+        copy.waitStrategy = waitStrategy;
+        copy.rejectionPolicy = rejectionPolicy;
+        copy.blockTimeout = blockTimeout;
+        copy.stallTimeout = stallTimeout;
+        copy.maxCompensating = maxCompensating;
+        return copy;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.threadpool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Неограниченная очередь задач с приоритетами: по lock-free FIFO-очереди на каждый уровень
+ * ({@link PoolOptions#withPriorities(int, Duration)}, {@link SimpleThreadPool#execute(Runnable, int)}).
+ *
+ * <p>Уровни нумеруются от {@code 0} (фоновые задачи; сюда же идёт {@link #offer(Runnable)} без приоритета)
+ * до {@code levels - 1} (самые срочные). Внутри уровня порядок FIFO.</p>
+ *
+ * <p>Старение: эффективный приоритет головы уровня растёт на единицу за каждый интервал {@code aging},
+ * проведённый в очереди, и берётся голова с наибольшим эффективным приоритетом (при равенстве — с более
+ * высокого уровня). Поэтому поток срочных задач откладывает фоновую не дольше чем примерно на
+ * {@code (levels - 1) × aging}, а без перегрузки срочные задачи идут первыми.</p>
+ */
+public class PriorityTaskQueue implements TaskQueue {
+
+    /** Задача с меткой времени постановки. */
+    private record Entry(Runnable task, long enqueuedAt) {}
+
+    private final List<ConcurrentLinkedQueue<Entry>> levels;
+    private final long agingNanos;
+    private final LongSupplier clock;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param levels число уровней приоритета (>0)
+     * @param aging  интервал, за который ожидающая задача поднимается на уровень (>0)
+     */
+    public PriorityTaskQueue(int levels, Duration aging) {
+        this(levels, aging, System::nanoTime);
+    }
+
+    PriorityTaskQueue(int levels, Duration aging, LongSupplier clock) {
+        if (levels <= 0) throw new IllegalArgumentException("levels must be > 0");
+        if (aging == null || aging.isNegative() || aging.isZero()) {
+            throw new IllegalArgumentException("aging must be > 0");
+        }
+        List<ConcurrentLinkedQueue<Entry>> queues = new ArrayList<>(levels);
+        for (int i = 0; i < levels; i++) {
+            queues.add(new ConcurrentLinkedQueue<>());
+        }
+        this.levels = List.copyOf(queues);
+        this.agingNanos = aging.toNanos();
+        this.clock = clock;
+    }
+
+    /** Число уровней приоритета. */
+    public int levels() {
+        return levels.size();
+    }
+
+    /** Ставит задачу на нижний уровень. */
+    @Override
+    public boolean offer(Runnable task) {
+        return offer(task, 0);
+    }
+
+    /**
+     * Ставит задачу на уровень {@code priority}; значения вне диапазона прижимаются к ближайшему уровню.
+     */
+    @Override
+    public boolean offer(Runnable task, int priority) {
+        if (task == null) throw new NullPointerException("task");
+        int level = Math.max(0, Math.min(priority, levels.size() - 1));
+        levels.get(level).offer(new Entry(task, clock.getAsLong()));
+        size.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public Runnable poll() {
+        return poll(clock.getAsLong());
+    }
+
+    /** Пакет выбирается с одним замером времени на все задачи. */
+    @Override
+    public int drainTo(Runnable[] buffer, int max) {
+        long now = clock.getAsLong();
+        int count = 0;
+        Runnable task;
+        while (count < max && (task = poll(now)) != null) {
+            buffer[count++] = task;
+        }
+        return count;
+    }
+
+    private Runnable poll(long now) {
+        while (true) {
+            int best = -1;
+            long bestPriority = Long.MIN_VALUE;
+            for (int level = levels.size() - 1; level >= 0; level--) {
+                Entry head = levels.get(level).peek();
+                if (head != null) {
+                    long effective = level + Math.max(0, now - head.enqueuedAt()) / agingNanos;
+                    if (effective > bestPriority) {
+                        best = level;
+                        bestPriority = effective;
+                    }
+                }
+            }
+            if (best < 0) {
+                return null;
+            }
+            // Голову могли забрать между peek и poll — тогда выбор повторяется
+            Entry entry = levels.get(best).poll();
+            if (entry != null) {
+                size.decrementAndGet();
+                return entry.task();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (ConcurrentLinkedQueue<Entry> level : levels) {
+            if (!level.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.threadpool;
+
+/**
+ * Что делает {@link SimpleThreadPool#execute(Runnable)}, если ограниченная очередь заполнена.
+ *
+ * @see PoolOptions#withRejectionPolicy(RejectionPolicy)
+ */
+public enum RejectionPolicy {
+    /**
+     * Ждать освобождения места ({@link PoolOptions#withBlockTimeout}); по истечении таймаута —
+     * {@link java.util.concurrent.RejectedExecutionException}. Воркер самого пула не ждёт, а выполняет
+     * задачу сам: иначе все воркеры могли бы заблокироваться на заполненной очереди.
+     */
+    BLOCK,
+    /** Выполнить задачу в потоке, который её ставит: естественно притормаживает производителя. */
+    CALLER_RUNS,
+    /** Бросить {@link java.util.concurrent.RejectedExecutionException}. */
+    ABORT,
+    /**
+     * Выбросить самую старую задачу из очереди и поставить новую. Выброшенный {@link java.util.concurrent.Future}
+     * ({@code submit}, {@code schedule}, подзадача {@link TaskGroup}) отменяется, чтобы ждущие его не зависли.
+     */
+    DISCARD_OLDEST
+}
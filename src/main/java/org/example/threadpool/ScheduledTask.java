@@ -0,0 +1,175 @@
+package org.example.threadpool;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Отложенная или периодическая задача {@link TimingWheel}; сама является своим {@link ScheduledFuture}
+ * и узлом двусвязного списка ячейки колеса, поэтому на таймер выделяется один объект.
+ *
+ * <p>Периодическая задача после каждого запуска ставит себя в колесо заново: с фиксированной частотой —
+ * на предыдущий срок плюс период, с фиксированной задержкой — на момент окончания плюс задержка.
+ * Запуски не перекрываются. Исключение в запуске завершает future этим исключением и останавливает
+ * повторы, как у {@link java.util.concurrent.ScheduledThreadPoolExecutor}.</p>
+ */
+final class ScheduledTask<V> implements ScheduledFuture<V>, Runnable {
+
+    private static final Object NULL = new Object();
+    private static final Object CANCELLED = new Object();
+
+    private record Failure(Throwable cause) {}
+
+    private final TimingWheel wheel;
+    private final Callable<V> callable;
+    /** {@code 0} — однократная; {@code >0} — с фиксированной частотой; {@code <0} — с фиксированной задержкой. */
+    private final long periodNanos;
+    private volatile long deadlineNanos;
+    /** {@code null} — ещё ожидается; {@link #NULL}, значение, {@link Failure} или {@link #CANCELLED}. */
+    private volatile Object outcome;
+    /** Есть ли потоки в {@link #get}; меняется под монитором задачи. */
+    private boolean waiters;
+
+    // Поля колеса: читает и пишет только поток-тикер
+    long deadlineTick;
+    ScheduledTask<?> previous;
+    ScheduledTask<?> next;
+    TimingWheel.Bucket bucket;
+
+    ScheduledTask(TimingWheel wheel, Callable<V> callable, long deadlineNanos, long periodNanos) {
+        if (callable == null) throw new NullPointerException("task");
+        this.wheel = wheel;
+        this.callable = callable;
+        this.deadlineNanos = deadlineNanos;
+        this.periodNanos = periodNanos;
+    }
+
+    long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /** Запуск в пуле по истечении срока. */
+    @Override
+    public void run() {
+        if (outcome != null) {
+            return;
+        }
+        try {
+            V value = callable.call();
+            if (periodNanos == 0) {
+                complete(value == null ? NULL : value);
+                return;
+            }
+        } catch (Throwable t) {
+            complete(new Failure(t));
+            return;
+        }
+        if (outcome == null) {
+            deadlineNanos = periodNanos > 0 ? deadlineNanos + periodNanos : System.nanoTime() - periodNanos;
+            wheel.schedule(this);
+        }
+    }
+
+    /** Завершает задачу ошибкой постановки в пул (например, переполненная очередь). */
+    void fail(Throwable cause) {
+        complete(new Failure(cause));
+    }
+
+    /**
+     * Отменяет задачу за O(1): ячейку колеса освобождает тикер на ближайшем такте.
+     * Выполняющийся запуск не прерывается, но следующий не состоится.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (!complete(CANCELLED)) {
+            return false;
+        }
+        wheel.cancelled(this);
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return outcome == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone() {
+        return outcome != null;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+        Object result = outcome;
+        if (result == null) {
+            synchronized (this) {
+                waiters = true;
+                while ((result = outcome) == null) {
+                    wait();
+                }
+            }
+        }
+        return report(result);
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        Object result = outcome;
+        if (result == null) {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (this) {
+                waiters = true;
+                while ((result = outcome) == null) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException();
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+        }
+        return report(result);
+    }
+
+    /** Исход устанавливается один раз; монитор берётся всегда — завершение бывает раз на таймер. */
+    private boolean complete(Object result) {
+        synchronized (this) {
+            if (outcome != null) {
+                return false;
+            }
+            outcome = result;
+            if (waiters) {
+                notifyAll();
+            }
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V report(Object result) throws ExecutionException {
+        if (result == NULL) {
+            return null;
+        }
+        if (result == CANCELLED) {
+            throw new CancellationException();
+        }
+        if (result instanceof Failure failure) {
+            throw new ExecutionException(failure.cause());
+        }
+        return (V) result;
+    }
+}
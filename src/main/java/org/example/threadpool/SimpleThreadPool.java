@@ -1,61 +1,892 @@
 package org.example.threadpool;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Простой фиксированный пул потоков с очередью на LinkedList.
- * Поддерживает shutdown и ожидание завершения без таймаута.
+ * Простой пул потоков с подключаемой очередью задач ({@link TaskQueue}).
+ * Реализует {@link java.util.concurrent.ExecutorService}: {@code submit}, {@code invokeAll}/{@code invokeAny},
+ * {@code shutdownNow} и ожидание завершения с таймаутом. Задачи {@code submit} оборачиваются в лёгкий
+ * {@link PoolFuture} вместо {@link java.util.concurrent.FutureTask}.
+ *
+ * <p>Очередь не блокирующая: постановка и взятие задачи не берут общий монитор. Воркер без задачи
+ * ждёт по {@link WaitStrategy} ({@link PoolOptions#withWaitStrategy(WaitStrategy)}): активно, если
+ * важна задержка передачи, или во сне. Уснувший воркер кладёт себя на стек спящих, и производитель
+ * будит ровно одного из них через {@link LockSupport#unpark} — общего монитора у воркеров нет.</p>
+ *
+ * <p>В режиме work-stealing ({@link PoolOptions#withWorkStealing(boolean)}) у каждого воркера есть
+ * собственный дек. Задача, поставленная из воркера, попадает в его дек и выполняется им же в порядке
+ * LIFO — горячие данные порождающей задачи ещё в кэше. Воркер без работы берёт задачу из общей очереди,
+ * а затем крадёт самую старую задачу из чужого дека: старые задачи рекурсивных алгоритмов обычно
+ * самые крупные, и воровать приходится реже.</p>
+ *
+ * <p>С ограниченной очередью ({@link PoolOptions#withQueueCapacity(int)}) переполнение обрабатывается
+ * по {@link RejectionPolicy}: память пула ограничена, а задержка под перегрузкой управляема.
+ * Отклонённые и ожидавшие места постановки считаются ({@link #getRejectedCount()},
+ * {@link #getBlockedCount()}).</p>
+ *
+ * <p>Размер пула может быть эластичным ({@link PoolOptions#withPoolSize(int, int)}): воркеры сверх
+ * базовых добавляются, когда очередь длинная или долго не пустеет, и завершаются после простоя
+ * ({@link PoolOptions#withKeepAlive}). Без предзапуска ({@link PoolOptions#withPrestart(boolean)})
+ * воркеры создаются по мере поступления задач.</p>
+ *
+ * <p>Мелкие задачи выгодно ставить пакетом ({@link #executeAll(Collection)}) и выбирать пакетом
+ * ({@link PoolOptions#withDrainBatch(int)}): очередь захватывает место под пакет одной атомарной
+ * операцией, а будится столько воркеров, сколько нужно пакету.</p>
+ *
+ * <p>Метрики ({@link #getMetrics()}, {@link #registerMBean(String)}) ведутся без блокировок: счётчики —
+ * {@link LongAdder}, время ожидания и выполнения задач — гистограммы на {@link LongAdder}, активные
+ * воркеры выводятся из числа спящих, пик очереди обновляется только при новом максимуме.</p>
+ *
+ * <p>Отложенные и периодические задачи ({@link ScheduledExecutorService}) хранит иерархическое колесо
+ * таймеров ({@link TimingWheel}) с одним потоком-тикером, который запускается при первой постановке:
+ * постановка и отмена — O(1), в отличие от кучи {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ * Истёкшая задача ставится в очередь пула как обычная, но без {@link RejectionPolicy}: если ограниченная
+ * очередь полна, задача завершается {@link RejectedExecutionException}, а тикер не выполняет её сам и не ждёт
+ * места, задерживая остальные таймеры. {@link #shutdown()} отменяет ещё не истёкшие
+ * таймеры и прекращает повторы периодических задач.</p>
+ *
+ * <p>Когда все воркеры заблокированы вводом-выводом или друг другом, пропускная способность падает до нуля
+ * молча. Блокирующее ожидание внутри задачи стоит объявлять через {@link #managedBlock}: пул заранее добавит
+ * компенсирующего воркера. Необъявленные зависания находит монитор голодания
+ * ({@link PoolOptions#withStarvationMonitor}) по счётчикам прогресса воркеров — по одной записи без барьера
+ * на начало и конец задачи: печатает дамп потоков и тоже добавляет компенсирующих воркеров, пока зависшие
+ * не продвинутся.</p>
  */
-public class SimpleThreadPool {
+public class SimpleThreadPool extends AbstractExecutorService implements ScheduledExecutorService {
 
-    /** Очередь задач (FIFO). Не гарантирует "справедливости" при большом числе воркеров. */
-    private final LinkedList<Runnable> queue = new LinkedList<>();
-    /** Рабочие потоки. */
-    private final List<Worker> workers = new ArrayList<>();
+    private static final VarHandle PROGRESS;
+
+    static {
+        try {
+            PROGRESS = MethodHandles.lookup().findVarHandle(Worker.class, "progress", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Очередь задач (FIFO); в режиме work-stealing — очередь задач, поставленных извне. */
+    private final TaskQueue queue;
+    /** Режим work-stealing. */
+    private final boolean workStealing;
+    /** Сколько задач воркер забирает из общей очереди за раз. */
+    private final int drainBatch;
+    /** Поведение при заполненной очереди. */
+    private final RejectionPolicy rejectionPolicy;
+    /** Таймаут {@link RejectionPolicy#BLOCK}; {@code null} — без ограничения. */
+    private final Duration blockTimeout;
+    /** Монитор, на котором ждут производители при заполненной очереди. */
+    private final Object spaceLock = new Object();
+    /** Число производителей, ждущих места; меняется под {@code spaceLock}. */
+    private volatile int blockedProducers = 0;
+    /** Задачи, не попавшие в очередь: отклонённые, выполненные вызывающим, вытесненные. */
+    private final LongAdder rejected = new LongAdder();
+    /** Постановки, которым пришлось ждать места. */
+    private final LongAdder blocked = new LongAdder();
+    /** Принятые в очередь, выполненные и упавшие задачи. */
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    /** Наибольшая длина общей очереди, замеченная при постановке. */
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    /** Оборачивать ли задачи меткой времени постановки ({@link PoolOptions#withTaskTiming}). */
+    private final boolean taskTiming;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    /** Имя зарегистрированного MBean; снимается с регистрации при завершении пула. */
+    private volatile ObjectName mbeanName;
+    /** Такт колеса таймеров. */
+    private final Duration timerTick;
+    /** Колесо таймеров; создаётся при первой постановке под {@code workersLock}. */
+    private volatile TimingWheel timer;
+    /**
+     * Рабочие потоки. Массив заменяется целиком под {@code workersLock}, поэтому воры и проверки
+     * размера читают его без блокировки.
+     */
+    private volatile Worker[] workers = new Worker[0];
+    /** Монитор изменения состава воркеров. */
+    private final Object workersLock = new Object();
+    /** Счётчик для имён воркеров. */
+    private final AtomicInteger workerIds = new AtomicInteger();
+    private final int coreThreads;
+    private final int maxThreads;
+    private final long keepAliveNanos;
+    private final int growthQueueDepth;
+    private final long growthQueueWaitNanos;
+    /**
+     * Момент, с которого очередь непрерывно не пуста при занятых воркерах, или 0.
+     * Меняется только на переходах, а не на каждой задаче.
+     */
+    private volatile long backlogSince = 0;
     /** Флаг запрета приёма новых задач. */
     private volatile boolean shutdown = false;
+    /** Флаг {@link #shutdownNow()}: задачи, успевшие попасть в очередь после выгрузки, стартуют прерванными. */
+    private volatile boolean stopped = false;
     /** Лэтч для ожидания завершения всех рабочих потоков. */
-    private final CountDownLatch terminated;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    /** Как воркеры ждут задачу на пустой очереди. */
+    private final WaitStrategy waitStrategy;
+    /** Число воркеров без задачи: ждущих активно и спящих. */
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    /**
+     * Спящие воркеры (стек: будится уснувший последним, его кэш ещё тёплый). Производитель снимает
+     * воркера со стека и будит его адресно через {@link LockSupport#unpark}.
+     */
+    private final ConcurrentLinkedDeque<Worker> parked = new ConcurrentLinkedDeque<>();
+    /**
+     * Число вызовов {@code execute}, которые прошли проверку shutdown, но ещё не положили задачу.
+     * Воркер не завершается, пока оно не ноль, иначе задача могла бы потеряться.
+     */
+    private final AtomicInteger submitting = new AtomicInteger();
+    /** Порог зависания воркера ({@link PoolOptions#withStarvationMonitor}); 0 — монитор выключен. */
+    private final long stallNanos;
+    /** Предел компенсирующих воркеров. */
+    private final int maxCompensating;
+    /** Живые компенсирующие воркеры; входят в {@code workers}. */
+    private final AtomicInteger compensatingWorkers = new AtomicInteger();
+    /** Воркеры внутри {@link #managedBlock}. */
+    private final AtomicInteger blockedWorkers = new AtomicInteger();
+    /** Зависшие воркеры по последней проверке монитора, без {@link #managedBlock}; пишет только монитор. */
+    private volatile int stalledWorkers = 0;
+    /** Эпизоды голодания, замеченные монитором. */
+    private final LongAdder starvations = new LongAdder();
+    /** Поток монитора голодания; запускается с первой задачей, меняется под {@code workersLock}. */
+    private volatile Thread monitor;
 
     /**
+     * Пул с неограниченной очередью {@link LinkedTaskQueue}.
+     *
      * @param capacity число рабочих потоков (>0)
      */
     public SimpleThreadPool(int capacity) {
-        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
-        this.terminated = new CountDownLatch(capacity);
-        for (int i = 0; i < capacity; i++) {
-            Worker w = new Worker("pool-worker-" + i);
-            workers.add(w);
-            w.start();
+        this(capacity, new LinkedTaskQueue());
+    }
+
+    /**
+     * @param capacity число рабочих потоков (>0)
+     * @param queue    очередь задач, например {@link MpmcRingQueue}
+     */
+    public SimpleThreadPool(int capacity, TaskQueue queue) {
+        this(PoolOptions.defaults().withThreads(capacity).withQueue(() -> queue), queue);
+    }
+
+    /**
+     * @param options настройки пула
+     */
+    public SimpleThreadPool(PoolOptions options) {
+        this(options, options.queue().get());
+    }
+
+    private SimpleThreadPool(PoolOptions options, TaskQueue queue) {
+        if (queue == null) throw new NullPointerException("queue");
+        this.queue = queue;
+        this.workStealing = options.workStealing();
+        this.drainBatch = options.drainBatch();
+        this.taskTiming = options.taskTiming();
+        this.timerTick = options.timerTick();
+        this.waitStrategy = options.waitStrategy();
+        this.rejectionPolicy = options.rejectionPolicy();
+        this.blockTimeout = options.blockTimeout();
+        this.coreThreads = options.coreThreads();
+        this.maxThreads = options.maxThreads();
+        this.keepAliveNanos = options.keepAlive().toNanos();
+        this.growthQueueDepth = options.growthQueueDepth();
+        this.growthQueueWaitNanos = options.growthQueueWait().toNanos();
+        this.stallNanos = options.stallTimeout() == null ? 0 : options.stallTimeout().toNanos();
+        this.maxCompensating = options.maxCompensating();
+        if (options.prestart()) {
+            for (int i = 0; i < coreThreads; i++) {
+                addWorker(coreThreads);
+            }
         }
     }
 
     /**
      * Поставить задачу в очередь на выполнение.
+     * В режиме work-stealing задача из воркера этого пула кладётся в его собственный дек.
      * @throws NullPointerException если task == null
      * @throws IllegalStateException если пул уже завершён (shutdown)
+     * @throws RejectedExecutionException если ограниченная очередь заполнена и политика
+     *                                    {@link RejectionPolicy#ABORT} или истёк таймаут {@link RejectionPolicy#BLOCK}
      */
+    @Override
     public void execute(Runnable task) {
+        execute(task, 0, true);
+    }
+
+    /**
+     * Поставить задачу с приоритетом: больше — срочнее. Приоритет учитывает очередь с уровнями
+     * ({@link PoolOptions#withPriorities(int, Duration)}), остальные очереди его игнорируют.
+     * Задача всегда идёт в общую очередь, в том числе из воркера в режиме work-stealing.
+     *
+     * @throws NullPointerException       если task == null
+     * @throws IllegalStateException      если пул уже завершён (shutdown)
+     * @throws RejectedExecutionException как у {@link #execute(Runnable)}
+     */
+    public void execute(Runnable task, int priority) {
+        execute(task, priority, false);
+    }
+
+    /**
+     * Поставить {@link Callable} с приоритетом ({@link #execute(Runnable, int)}).
+     *
+     * @return future результата
+     */
+    public <T> Future<T> submit(Callable<T> task, int priority) {
+        RunnableFuture<T> future = newTaskFor(task);
+        execute(future, priority);
+        return future;
+    }
+
+    private void execute(Runnable task, int priority, boolean allowLocal) {
+        if (!enqueue(task, priority, allowLocal, true)) {
+            task.run();
+        }
+    }
+
+    /**
+     * Поставить истёкшую задачу колеса таймеров, только если в очереди есть место: без {@link RejectionPolicy},
+     * чтобы тикер не выполнял задачу сам, не ждал места и не вытеснял чужие задачи.
+     *
+     * @return {@code false}, если очередь полна
+     * @throws IllegalStateException если пул уже завершён (shutdown)
+     */
+    boolean offerExpired(Runnable task) {
+        return enqueue(task, 0, false, false);
+    }
+
+    /**
+     * @param applyPolicy обрабатывать ли переполнение по {@link RejectionPolicy}
+     * @return {@code false}, если задача не поставлена: по {@link RejectionPolicy#CALLER_RUNS} её нужно
+     *         выполнить в вызывающем потоке, без политики — очередь полна
+     */
+    private boolean enqueue(Runnable task, int priority, boolean allowLocal, boolean applyPolicy) {
         if (task == null) throw new NullPointerException("task");
-        synchronized (queue) {
+        Runnable queued = taskTiming ? new TimedTask(task, System.nanoTime()) : task;
+        boolean enqueued;
+        submitting.incrementAndGet();
+        try {
             if (shutdown) throw new IllegalStateException("ThreadPool is shut down");
-            queue.addLast(task);
-            queue.notify();
+            Worker self = allowLocal && workStealing ? currentWorker() : null;
+            if (self != null) {
+                self.local.addLast(queued);
+                enqueued = true;
+            } else {
+                enqueued = queue.offer(queued, priority) || (applyPolicy && overflow(queued, priority));
+                if (!enqueued && !applyPolicy) {
+                    rejected.increment();
+                }
+            }
+            if (enqueued) {
+                submitted.increment();
+                recordQueueDepth();
+                // До снятия submitting: пока он не ноль, последний воркер не завершится
+                ensureWorkers();
+            }
+        } finally {
+            if (submitting.decrementAndGet() == 0 && shutdown) {
+                // Воркеры, ждущие окончания постановки, должны перепроверить drained()
+                wakeAll();
+            }
+        }
+        if (enqueued) {
+            signalWork();
+        }
+        return enqueued;
+    }
+
+    /**
+     * Поставить пакет задач. Место в очереди захватывается под весь пакет ({@link TaskQueue#offerAll}),
+     * а будится не больше спящих воркеров, чем нужно для пакета с учётом {@link PoolOptions#withDrainBatch},
+     * под одним захватом монитора. В режиме work-stealing пакет из воркера кладётся в его дек.
+     *
+     * <p>Задачи, не поместившиеся в ограниченную очередь, обрабатываются по {@link RejectionPolicy}
+     * по одной. При {@link RejectionPolicy#ABORT} задачи до отклонённой остаются поставленными.</p>
+     *
+     * @throws NullPointerException       если пакет содержит {@code null}
+     * @throws IllegalStateException      если пул уже завершён (shutdown)
+     * @throws RejectedExecutionException как у {@link #execute(Runnable)}
+     */
+    public void executeAll(Collection<? extends Runnable> tasks) {
+        Runnable[] batch = tasks.toArray(new Runnable[0]);
+        for (Runnable task : batch) {
+            if (task == null) throw new NullPointerException("task");
+        }
+        if (batch.length == 0) {
+            return;
+        }
+        if (taskTiming) {
+            long now = System.nanoTime();
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = new TimedTask(batch[i], now);
+            }
+        }
+        List<Runnable> callerRuns = null;
+        int published = 0;
+        int queued = 0;
+        submitting.incrementAndGet();
+        try {
+            if (shutdown) throw new IllegalStateException("ThreadPool is shut down");
+            Worker self = workStealing ? currentWorker() : null;
+            if (self != null) {
+                for (Runnable task : batch) {
+                    self.local.addLast(task);
+                }
+                queued = batch.length;
+            } else {
+                int index = 0;
+                while (index < batch.length) {
+                    int added = queue.offerAll(batch, index, batch.length);
+                    index += added;
+                    queued += added;
+                    if (added == 0) {
+                        // Очередь полна: поставленное должны разбирать воркеры, пока действует политика
+                        published += publish(queued - published);
+                        if (overflow(batch[index], 0)) {
+                            queued++;
+                        } else {
+                            if (callerRuns == null) {
+                                callerRuns = new ArrayList<>();
+                            }
+                            callerRuns.add(batch[index]);
+                        }
+                        index++;
+                    }
+                }
+            }
+        } finally {
+            try {
+                publish(queued - published);
+            } finally {
+                if (submitting.decrementAndGet() == 0 && shutdown) {
+                    wakeAll();
+                }
+            }
+        }
+        if (callerRuns != null) {
+            for (Runnable task : callerRuns) {
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * Запускает воркеров, нужных для {@code count} новых задач, и будит спящих.
+     *
+     * @return {@code count}
+     */
+    private int publish(int count) {
+        if (count > 0) {
+            submitted.add(count);
+            recordQueueDepth();
+            int limit = Math.min(count, maxThreads);
+            int started = 0;
+            while (started < limit && ensureWorkers()) {
+                started++;
+            }
+            signalWork(count);
+        }
+        return count;
+    }
+
+    /** Обновляет пик длины очереди; запись в общий счётчик — только при новом максимуме. */
+    private void recordQueueDepth() {
+        int depth = queue.size();
+        if (depth > peakQueueDepth.get()) {
+            peakQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    /**
+     * Добавляет воркера после постановки задачи: пока их меньше базового числа (ленивый старт),
+     * если воркеров нет совсем, или при перегрузке, пока не достигнут максимум.
+     *
+     * @return {@code true}, если воркер добавлен
+     */
+    private boolean ensureWorkers() {
+        if (stallNanos > 0 && monitor == null) {
+            startMonitor();
+        }
+        int size = workers.length;
+        if (size < coreThreads || size == 0) {
+            return addWorker(coreThreads);
+        } else if (size < maxThreads) {
+            if (idleWorkers.get() == 0 && backlogSince == 0) {
+                backlogSince = System.nanoTime();
+            }
+            if (overloaded()) {
+                return addWorker(maxThreads);
+            }
+        }
+        return false;
+    }
+
+    /** Не в конструкторе: там поток монитора увидел бы ещё не созданный подкласс пула. */
+    private void startMonitor() {
+        synchronized (workersLock) {
+            if (monitor == null) {
+                Thread thread = new Thread(this::monitor, "pool-monitor");
+                thread.setDaemon(true);
+                thread.start();
+                monitor = thread;
+            }
         }
     }
 
+    private boolean overloaded() {
+        long since = backlogSince;
+        return queue.size() > growthQueueDepth
+                || (since != 0 && idleWorkers.get() == 0 && System.nanoTime() - since > growthQueueWaitNanos);
+    }
+
+    /**
+     * Запускает воркера, если их меньше {@code limit}.
+     *
+     * @return {@code true}, если воркер запущен
+     */
+    private boolean addWorker(int limit) {
+        return addWorker(limit, false);
+    }
+
+    private boolean addWorker(int limit, boolean compensating) {
+        Worker worker;
+        synchronized (workersLock) {
+            if (workers.length >= limit && workers.length > 0) {
+                return false;
+            }
+            if (shutdown && drained()) {
+                return false;
+            }
+            worker = new Worker("pool-worker-" + workerIds.getAndIncrement(), compensating);
+            Worker[] grown = Arrays.copyOf(workers, workers.length + 1);
+            grown[grown.length - 1] = worker;
+            workers = grown;
+            // Новый воркер сбрасывает отсчёт: следующий добавится, только если перегрузка продолжится
+            backlogSince = 0;
+        }
+        worker.start();
+        return true;
+    }
+
+    /** Убирает воркера из массива; вызывается под {@code workersLock}. */
+    private boolean removeWorker(Worker worker) {
+        Worker[] current = workers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == worker) {
+                Worker[] shrunk = new Worker[current.length - 1];
+                System.arraycopy(current, 0, shrunk, 0, i);
+                System.arraycopy(current, i + 1, shrunk, i, current.length - i - 1);
+                workers = shrunk;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Обрабатывает заполненную очередь по {@link RejectionPolicy}.
+     *
+     * @return {@code true}, если задача всё-таки поставлена; {@code false} — её нужно выполнить в вызывающем потоке
+     */
+    private boolean overflow(Runnable task, int priority) {
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                rejected.increment();
+                return false;
+            case DISCARD_OLDEST:
+                do {
+                    Runnable discarded = queue.poll();
+                    if (discarded != null) {
+                        rejected.increment();
+                        // Вытесненный future отменяется: иначе его get() и TaskGroup.join() ждали бы вечно
+                        if (unwrap(discarded) instanceof Future<?> future) {
+                            future.cancel(false);
+                        }
+                    }
+                } while (!queue.offer(task, priority));
+                return true;
+            case BLOCK:
+                if (currentWorker() != null) {
+                    rejected.increment();
+                    return false;
+                }
+                return awaitSpace(task, priority);
+            default:
+                rejected.increment();
+                throw new RejectedExecutionException("Task queue is full");
+        }
+    }
+
+    /**
+     * Ждёт места в очереди ({@link RejectionPolicy#BLOCK}). Воркер, взявший задачу, будит
+     * одного ждущего; ожидание ограничено 10 мс на случай пропущенного сигнала.
+     */
+    private boolean awaitSpace(Runnable task, int priority) {
+        blocked.increment();
+        long deadline = blockTimeout == null ? 0 : System.nanoTime() + blockTimeout.toNanos();
+        synchronized (spaceLock) {
+            blockedProducers++;
+            try {
+                while (!queue.offer(task, priority)) {
+                    if (shutdown) throw new IllegalStateException("ThreadPool is shut down");
+                    long waitMillis = 10;
+                    if (blockTimeout != null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            rejected.increment();
+                            throw new RejectedExecutionException(
+                                    "Task queue is full, no space within " + blockTimeout.toMillis() + " ms");
+                        }
+                        waitMillis = Math.max(1, Math.min(waitMillis, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                    }
+                    try {
+                        spaceLock.wait(waitMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        rejected.increment();
+                        throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+                    }
+                }
+                return true;
+            } finally {
+                blockedProducers--;
+            }
+        }
+    }
+
+    /**
+     * Выполнить блокирующее ожидание так, чтобы пул о нём знал (как {@link ForkJoinPool#managedBlock}).
+     * В воркере {@code SimpleThreadPool} воркер на время ожидания отмечается заблокированным — монитор
+     * голодания не считает его зависшим, — и, если свободных воркеров нет, добавляется компенсирующий воркер
+     * (в пределах {@link PoolOptions#withStarvationMonitor maxCompensating}), чтобы очередь не стояла.
+     * Вне воркеров пула ожидание просто выполняется.
+     *
+     * <pre>{@code
+     * SimpleThreadPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+     *     public boolean block() throws InterruptedException {
+     *         response = channel.take();
+     *         return true;
+     *     }
+     *     public boolean isReleasable() {
+     *         return (response = channel.poll()) != null;
+     *     }
+     * });
+     * }</pre>
+     *
+     * @param blocker ожидание: {@code block()} повторяется, пока он или {@code isReleasable()} не вернёт {@code true}
+     * @throws InterruptedException если ожидание прервано
+     */
+    public static void managedBlock(ForkJoinPool.ManagedBlocker blocker) throws InterruptedException {
+        if (blocker == null) throw new NullPointerException("blocker");
+        if (Thread.currentThread() instanceof Worker worker && !worker.blocking) {
+            worker.pool().managedBlock(worker, blocker);
+        } else {
+            awaitBlocker(blocker);
+        }
+    }
+
+    private void managedBlock(Worker self, ForkJoinPool.ManagedBlocker blocker) throws InterruptedException {
+        if (blocker.isReleasable()) {
+            return;
+        }
+        self.blocking = true;
+        blockedWorkers.incrementAndGet();
+        try {
+            if (idleWorkers.get() == 0) {
+                compensate();
+            }
+            awaitBlocker(blocker);
+        } finally {
+            blockedWorkers.decrementAndGet();
+            self.blocking = false;
+            wakeExcessCompensating();
+        }
+    }
+
+    private static void awaitBlocker(ForkJoinPool.ManagedBlocker blocker) throws InterruptedException {
+        while (!blocker.isReleasable() && !blocker.block()) {
+            // block() вернул false: ожидание ещё не закончено
+        }
+    }
+
+    /** Сколько компенсирующих воркеров нужно: по одному на заблокированный и зависший воркер. */
+    private int compensationNeeded() {
+        return Math.min(maxCompensating, blockedWorkers.get() + stalledWorkers);
+    }
+
+    private boolean compensationExcess() {
+        return compensatingWorkers.get() > compensationNeeded();
+    }
+
+    /**
+     * Будит спящих компенсирующих воркеров, если их больше, чем нужно, чтобы лишние завершились.
+     * Уснувший после этой проверки воркер перепроверяет лишность сам ({@code Worker.park}).
+     */
+    private void wakeExcessCompensating() {
+        if (compensationExcess()) {
+            for (Worker worker : parked) {
+                if (worker.compensating) {
+                    LockSupport.unpark(worker);
+                }
+            }
+        }
+    }
+
+    /**
+     * Добавляет компенсирующего воркера, если их меньше, чем нужно.
+     *
+     * @return {@code true}, если воркер добавлен
+     */
+    private boolean compensate() {
+        int current;
+        do {
+            current = compensatingWorkers.get();
+            if (current >= compensationNeeded()) {
+                return false;
+            }
+        } while (!compensatingWorkers.compareAndSet(current, current + 1));
+        if (!addWorker(Integer.MAX_VALUE, true)) {
+            compensatingWorkers.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Монитор голодания: раз в полпериода {@code stallTimeout} сверяет счётчики прогресса воркеров.
+     * Воркер, у которого счётчик нечётный (идёт задача) и не менялся дольше {@code stallTimeout}, зависший.
+     * Если есть зависшие или заблокированные воркеры, свободных нет, а задачи ждут, пул голодает: в начале
+     * эпизода печатается дамп потоков, и добавляются компенсирующие воркеры.
+     */
+    private void monitor() {
+        long period = Math.max(TimeUnit.MILLISECONDS.toNanos(1), stallNanos / 2);
+        boolean starving = false;
+        while (!isTerminated()) {
+            LockSupport.parkNanos(this, period);
+            long now = System.nanoTime();
+            int stalled = 0;
+            for (Worker worker : workers) {
+                long progress = (long) PROGRESS.getAcquire(worker);
+                if (progress != worker.seenProgress) {
+                    worker.seenProgress = progress;
+                    worker.seenSince = now;
+                } else if (worker.isStalled(now)) {
+                    stalled++;
+                }
+            }
+            stalledWorkers = stalled;
+            wakeExcessCompensating();
+            if (stalled == 0 && blockedWorkers.get() == 0) {
+                starving = false;
+                continue;
+            }
+            if (idleWorkers.get() > 0 || getQueueSize() == 0) {
+                continue;
+            }
+            if (!starving) {
+                starving = true;
+                reportStarvation(now);
+                starvations.increment();
+            }
+            while (compensate()) {
+                // до предела или до числа зависших и заблокированных
+            }
+        }
+    }
+
+    /** Печатает в {@code System.err} состояние пула и дамп потоков зависших и заблокированных воркеров. */
+    private void reportStarvation(long now) {
+        Worker[] current = workers;
+        StringBuilder report = new StringBuilder("ThreadPool starvation: ")
+                .append(stalledWorkers).append(" stalled and ").append(blockedWorkers.get())
+                .append(" blocked of ").append(current.length).append(" workers, ")
+                .append(getQueueSize()).append(" queued tasks, ")
+                .append(compensatingWorkers.get()).append(" compensating workers\n");
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (Worker worker : current) {
+            if (!worker.blocking && !worker.isStalled(now)) {
+                continue;
+            }
+            ThreadInfo info = threads.getThreadInfo(new long[]{worker.threadId()}, true, true)[0];
+            if (info == null) {
+                continue;
+            }
+            report.append('"').append(info.getThreadName()).append("\" ").append(info.getThreadState());
+            if (worker.blocking) {
+                report.append(" in managedBlock");
+            } else {
+                report.append(" no progress for ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(now - worker.seenSince)).append(" ms");
+            }
+            if (info.getLockName() != null) {
+                report.append(" on ").append(info.getLockName());
+                if (info.getLockOwnerName() != null) {
+                    report.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+                }
+            }
+            report.append('\n');
+            for (StackTraceElement frame : info.getStackTrace()) {
+                report.append("\tat ").append(frame).append('\n');
+            }
+        }
+        System.err.print(report);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        if (command == null) throw new NullPointerException("task");
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    /**
+     * Выполнить задачу через {@code delay}: не раньше срока и не позже следующего такта колеса
+     * ({@link PoolOptions#withTimerTick(Duration)}).
+     *
+     * @throws IllegalStateException если пул уже завершён (shutdown)
+     */
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(callable, delay, 0, unit);
+    }
+
+    /**
+     * Запускать задачу с фиксированной частотой: сроки — {@code initialDelay + n × period}.
+     * Запуски не перекрываются: опоздавший запуск начинается сразу после предыдущего.
+     */
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) throw new IllegalArgumentException("period must be > 0");
+        return schedule(periodic(command), initialDelay, unit.toNanos(period), unit);
+    }
+
+    /**
+     * Запускать задачу с фиксированной задержкой между окончанием запуска и началом следующего.
+     */
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) throw new IllegalArgumentException("delay must be > 0");
+        return schedule(periodic(command), initialDelay, -unit.toNanos(delay), unit);
+    }
+
+    private static Callable<Object> periodic(Runnable command) {
+        if (command == null) throw new NullPointerException("task");
+        return Executors.callable(command);
+    }
+
+    private <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, long periodNanos, TimeUnit unit) {
+        if (callable == null || unit == null) throw new NullPointerException("task");
+        if (shutdown) throw new IllegalStateException("ThreadPool is shut down");
+        // Ограничение задержки защищает срок от переполнения; колесо всё равно охватывает годы
+        long delayNanos = Math.min(Math.max(0, unit.toNanos(delay)), Long.MAX_VALUE >> 2);
+        TimingWheel wheel = timer();
+        ScheduledTask<V> task = new ScheduledTask<>(wheel, callable, System.nanoTime() + delayNanos, periodNanos);
+        wheel.schedule(task);
+        return task;
+    }
+
+    private TimingWheel timer() {
+        TimingWheel wheel = timer;
+        if (wheel == null) {
+            synchronized (workersLock) {
+                wheel = timer;
+                if (wheel == null) {
+                    if (shutdown) throw new IllegalStateException("ThreadPool is shut down");
+                    wheel = new TimingWheel(this::offerExpired, timerTick, "pool-timer");
+                    timer = wheel;
+                }
+            }
+        }
+        return wheel;
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable task, T value) {
+        return new PoolFuture<>(task, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> task) {
+        return new PoolFuture<>(task);
+    }
+
     /**
      * Инициировать завершение: новые задачи не принимаются.
      * Уже поставленные задачи будут выполнены.
      */
+    @Override
     public void shutdown() {
-        synchronized (queue) {
+        synchronized (workersLock) {
             shutdown = true;
-            queue.notifyAll();
+            if (timer != null) {
+                timer.stop();
+            }
+            if (workers.length == 0) {
+                if (drained()) {
+                    terminate();
+                } else {
+                    // Задачу ставят прямо сейчас, а воркеров нет (ленивый старт или все завершились по простою)
+                    addWorker(1);
+                }
+            }
         }
+        wakeAll();
+        synchronized (spaceLock) {
+            spaceLock.notifyAll();
+        }
+    }
+
+    /**
+     * Закрыть пул и выгрузить невыполненные задачи: очередь и деки воркеров опустошаются,
+     * выполняющиеся задачи прерываются. Задачи, уже взятые воркером в буфер пакетной выборки,
+     * не возвращаются: воркер выполнит их с выставленным флагом прерывания.
+     *
+     * @return задачи, которые так и не начали выполняться, в порядке очереди
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        stopped = true;
+        shutdown();
+        List<Runnable> drained = new ArrayList<>();
+        Runnable task;
+        while ((task = pollQueue()) != null) {
+            drained.add(unwrap(task));
+        }
+        for (Worker worker : workers) {
+            while ((task = worker.local.pollFirst()) != null) {
+                drained.add(unwrap(task));
+            }
+        }
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+        return drained;
     }
 
     /**
@@ -70,58 +901,548 @@ public class SimpleThreadPool {
         }
     }
 
-    /** Текущий размер очереди (для тестов/метрик). */
+    /**
+     * Дождаться завершения всех рабочих потоков, но не дольше {@code timeout}.
+     *
+     * @return {@code true}, если пул завершился, {@code false} — по таймауту
+     */
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Текущий размер очереди (для тестов/метрик); приблизительный при конкурентной работе.
+     * В режиме work-stealing включает задачи в деках воркеров.
+     */
     public int getQueueSize() {
-        synchronized (queue) {
-            return queue.size();
+        int size = queue.size();
+        if (workStealing) {
+            for (Worker worker : workers) {
+                size += worker.local.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Число задач, не попавших в очередь из-за переполнения: отклонённых, выполненных вызывающим потоком
+     * и вытесненных ({@link RejectionPolicy#DISCARD_OLDEST}).
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Число постановок, ждавших места в очереди ({@link RejectionPolicy#BLOCK}). */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    /** Текущее число воркеров. */
+    public int getPoolSize() {
+        return workers.length;
+    }
+
+    /** Текущее число компенсирующих воркеров; входят в {@link #getPoolSize()}. */
+    public int getCompensatingCount() {
+        return compensatingWorkers.get();
+    }
+
+    /** Число эпизодов голодания, замеченных монитором ({@link PoolOptions#withStarvationMonitor}). */
+    public long getStarvationCount() {
+        return starvations.sum();
+    }
+
+    /**
+     * Снимок метрик пула; не блокирует ни производителей, ни воркеров.
+     * Гистограммы пусты, если замер времени выключен ({@link PoolOptions#withTaskTiming}).
+     */
+    public PoolMetrics getMetrics() {
+        int size = workers.length;
+        return new PoolMetrics(submitted.sum(), completed.sum(), failed.sum(), rejected.sum(),
+                Math.max(0, size - idleWorkers.get()), size, queue.size(), peakQueueDepth.get(),
+                queueWait.snapshot(), runTime.snapshot());
+    }
+
+    /**
+     * Публикует метрики в платформенном MBean-сервере как
+     * {@code org.example.threadpool:type=SimpleThreadPool,name=<name>}.
+     * Регистрация снимается, когда пул завершается.
+     *
+     * @return имя MBean
+     * @throws IllegalStateException если имя занято или MBean не удалось зарегистрировать
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("org.example.threadpool:type=SimpleThreadPool,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(new PoolMXBean(this), SimpleThreadPoolMXBean.class, true), objectName);
+            mbeanName = objectName;
+            if (isTerminated()) {
+                unregisterMBean();
+            }
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register pool MBean " + name, e);
         }
     }
 
     /** Возвращает true после вызова {@link #shutdown()}. */
+    @Override
     public boolean isShutdown() {
         return shutdown;
     }
 
-    /** Возвращает true, когда все worker-потоки завершились. */
+    /** Возвращает true, когда пул закрыт и все worker-потоки завершились. */
+    @Override
     public boolean isTerminated() {
         return terminated.getCount() == 0;
     }
 
+    /** Отмечает завершение пула; вызывается под {@code workersLock} ровно один раз. */
+    private void terminate() {
+        unregisterMBean();
+        terminated.countDown();
+        if (monitor != null) {
+            LockSupport.unpark(monitor);
+        }
+    }
+
+    private void unregisterMBean() {
+        ObjectName name = mbeanName;
+        mbeanName = null;
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException ignored) {
+                // уже снят с регистрации
+            }
+        }
+    }
+
+    private static Runnable unwrap(Runnable task) {
+        return task instanceof TimedTask timed ? timed.task() : task;
+    }
+
+    /** Задача с меткой времени постановки — для гистограммы ожидания в очереди. */
+    private record TimedTask(Runnable task, long enqueuedAt) implements Runnable {
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    RejectionPolicy rejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /** Выполняется ли текущий поток воркером этого пула. */
+    boolean isWorkerThread() {
+        return currentWorker() != null;
+    }
+
+    /**
+     * Выполнить в текущем воркере одну задачу — из его дека, общей очереди или чужого дека, чтобы
+     * ожидание внутри задачи ({@link TaskGroup#join()}) не держало воркер впустую.
+     *
+     * @return {@code false}, если поток не воркер этого пула или задач нет
+     */
+    boolean helpOne() {
+        Worker self = currentWorker();
+        if (self == null) {
+            return false;
+        }
+        Runnable task = self.nextTask();
+        if (task == null) {
+            return false;
+        }
+        self.runTask(task);
+        // Задача внутри задачи: счётчик растёт, но остаётся нечётным
+        self.advance(2);
+        return true;
+    }
+
+    /** @return воркер этого пула, выполняющий текущий поток, или {@code null} */
+    private Worker currentWorker() {
+        return Thread.currentThread() instanceof Worker worker && worker.pool() == this ? worker : null;
+    }
+
+    /** Берёт задачу из общей очереди и будит ждущего места производителя, если такой есть. */
+    private Runnable pollQueue() {
+        Runnable task = queue.poll();
+        if (task != null) {
+            spaceFreed(1);
+        }
+        return task;
+    }
+
+    /** Будит ждущих места производителей, если такие есть. */
+    private void spaceFreed(int slots) {
+        if (blockedProducers > 0) {
+            synchronized (spaceLock) {
+                if (slots == 1) {
+                    spaceLock.notify();
+                } else {
+                    spaceLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /** Будит один спящий воркер, если такие есть; активно ждущие найдут задачу сами. */
+    private void signalWork() {
+        Worker worker = parked.pollFirst();
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /** Будит столько спящих воркеров, сколько нужно для {@code tasks} новых задач при пакетной выборке. */
+    private void signalWork(int tasks) {
+        int needed = (tasks + drainBatch - 1) / drainBatch;
+        for (int i = 0; i < needed; i++) {
+            Worker worker = parked.pollFirst();
+            if (worker == null) {
+                return;
+            }
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void wakeAll() {
+        Worker worker;
+        while ((worker = parked.pollFirst()) != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Можно ли воркеру завершиться: пул закрыт, никто не ставит задачу и очередь пуста.
+     * Порядок проверок важен: задача, поставленная до обнуления {@code submitting}, уже видна в очереди.
+     */
+    private boolean drained() {
+        return shutdown && submitting.get() == 0 && queue.isEmpty() && !hasLocalWork();
+    }
+
+    private boolean hasLocalWork() {
+        if (workStealing) {
+            for (Worker worker : workers) {
+                if (!worker.local.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Рабочий поток: берёт задачи из очереди; завершает работу,
      * когда пул закрыт и очередь пуста.
      */
     private final class Worker extends Thread {
-        Worker(String name) { super(name); }
+        /** Собственный дек (work-stealing): хвост — для владельца, голова — для воров. */
+        final ConcurrentLinkedDeque<Runnable> local = new ConcurrentLinkedDeque<>();
+        /** Задачи, взятые из общей очереди пакетом; буфер трогает только сам воркер. */
+        private final Runnable[] batch = drainBatch > 1 ? new Runnable[drainBatch] : null;
+        private int batchNext;
+        private int batchEnd;
+        /** Компенсирующий воркер: завершается, как только компенсация больше не нужна. */
+        final boolean compensating;
+        /** Компенсирующий воркер уже снят со счёта {@code compensatingWorkers}. */
+        private boolean retired;
+        /**
+         * Счётчик прогресса: +1 в начале и в конце задачи, нечётный — воркер выполняет задачу.
+         * Пишет только сам воркер через {@link #PROGRESS}, монитор только читает.
+         */
+        private long progress;
+        /** Воркер внутри {@link #managedBlock}: монитор не считает его зависшим. */
+        volatile boolean blocking;
+
+        // Поля монитора голодания: читает и пишет только поток монитора
+        long seenProgress;
+        long seenSince;
+
+        Worker(String name, boolean compensating) {
+            super(name);
+            this.compensating = compensating;
+        }
+
+        SimpleThreadPool pool() {
+            return SimpleThreadPool.this;
+        }
 
         @Override
         public void run() {
             try {
                 while (true) {
-                    Runnable task;
-                    synchronized (queue) {
-                        while (queue.isEmpty() && !shutdown) {
-                            try {
-                                queue.wait();
-                            } catch (InterruptedException ie) {
-                                Thread.currentThread().interrupt();
-                                return;
-                            }
-                        }
-                        if (queue.isEmpty() && shutdown) {
+                    Runnable task = nextTask();
+                    if (task == null) {
+                        task = awaitTask();
+                        if (task == null) {
                             return;
                         }
-                        task = queue.removeFirst();
                     }
-                    try {
-                        task.run();
-                    } catch (Throwable t) {
-                        t.printStackTrace();
+                    // Прерывание адресовано пулу (shutdownNow), а не следующей задаче
+                    if (stopped) {
+                        interrupt();
+                    } else {
+                        Thread.interrupted();
+                    }
+                    advance(1);
+                    runTask(task);
+                    advance(1);
+                    if (compensating && retireCompensation()) {
+                        return;
+                    }
+                }
+            } finally {
+                if (compensating && !retired) {
+                    compensatingWorkers.decrementAndGet();
+                }
+                synchronized (workersLock) {
+                    removeWorker(this);
+                    if (shutdown && workers.length == 0) {
+                        terminate();
+                    }
+                }
+            }
+        }
+
+        /** Сдвигает счётчик прогресса: запись с release без полного барьера, читатель один — монитор. */
+        void advance(int delta) {
+            PROGRESS.setRelease(this, progress + delta);
+        }
+
+        /** Выполняет ли воркер одну задачу дольше {@code stallTimeout}; только для потока монитора. */
+        boolean isStalled(long now) {
+            return (seenProgress & 1) != 0 && !blocking && now - seenSince >= stallNanos;
+        }
+
+        /** Выполняет задачу и записывает метрики. */
+        private void runTask(Runnable task) {
+            long started = 0;
+            boolean timed = false;
+            if (task instanceof TimedTask timedTask) {
+                timed = true;
+                started = System.nanoTime();
+                queueWait.record(started - timedTask.enqueuedAt());
+                task = timedTask.task();
+            }
+            try {
+                task.run();
+                if (task instanceof PoolFuture<?> future && future.isFailed()) {
+                    failed.increment();
+                } else {
+                    completed.increment();
+                }
+            } catch (Throwable t) {
+                failed.increment();
+                t.printStackTrace();
+            } finally {
+                if (timed) {
+                    runTime.record(System.nanoTime() - started);
+                }
+            }
+        }
+
+        /**
+         * Следующая задача без ожидания: свой дек (LIFO), общая очередь, кража из чужого дека (FIFO).
+         */
+        private Runnable nextTask() {
+            if (batchNext < batchEnd) {
+                Runnable task = batch[batchNext];
+                batch[batchNext++] = null;
+                return task;
+            }
+            if (!workStealing) {
+                return pollShared();
+            }
+            Runnable task = local.pollLast();
+            if (task == null) {
+                task = pollShared();
+            }
+            if (task == null) {
+                task = steal();
+            }
+            return task;
+        }
+
+        /**
+         * Берёт задачу из общей очереди; при пакетной выборке — вместе с пакетом следующих в буфер,
+         * но не больше справедливой доли очереди на воркера.
+         */
+        private Runnable pollShared() {
+            if (batch == null) {
+                return pollQueue();
+            }
+            int share = Math.min(batch.length, 1 + queue.size() / Math.max(1, workers.length));
+            int taken = queue.drainTo(batch, share);
+            if (taken == 0) {
+                return null;
+            }
+            spaceFreed(taken);
+            Runnable task = batch[0];
+            batch[0] = null;
+            batchNext = 1;
+            batchEnd = taken;
+            return task;
+        }
+
+        /** Крадёт самую старую задачу у первого воркера с непустым деком, начиная со случайного. */
+        private Runnable steal() {
+            Worker[] victims = workers;
+            int count = victims.length;
+            if (count == 0) {
+                return null;
+            }
+            int start = ThreadLocalRandom.current().nextInt(count);
+            for (int i = 0; i < count; i++) {
+                Worker victim = victims[(start + i) % count];
+                if (victim != this) {
+                    Runnable task = victim.local.pollFirst();
+                    if (task != null) {
+                        return task;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Ждёт появления задачи по {@link WaitStrategy}: сначала, если стратегия велит, активно,
+         * затем во сне. Перед сном воркер кладёт себя на стек спящих и проверяет очередь ещё раз:
+         * производитель, положивший задачу после этой проверки, увидит воркера на стеке и разбудит его.
+         * Воркер сверх базовых, простоявший {@code keepAlive}, завершается.
+         *
+         * @return задача или {@code null}, если пора завершаться
+         */
+        private Runnable awaitTask() {
+            backlogSince = 0;
+            idleWorkers.incrementAndGet();
+            try {
+                long idleSince = System.nanoTime();
+                int round = 0;
+                while (true) {
+                    Runnable task = nextTask();
+                    if (task != null) {
+                        return task;
+                    }
+                    if (drained()) {
+                        return null;
+                    }
+                    long idleLeft = 0;
+                    if (compensating) {
+                        if (retireCompensation()) {
+                            return null;
+                        }
+                        // Нужность компенсации меняется без сигналов: перепроверка по таймауту
+                        idleLeft = stallNanos > 0 ? stallNanos : keepAliveNanos;
+                    } else if (!shutdown && workers.length - compensatingWorkers.get() > coreThreads) {
+                        idleLeft = keepAliveNanos - (System.nanoTime() - idleSince);
+                        if (idleLeft <= 0) {
+                            if (retire()) {
+                                return null;
+                            }
+                            idleSince = System.nanoTime();
+                            continue;
+                        }
+                    }
+                    if (waitStrategy.idle(round)) {
+                        round++;
+                        continue;
+                    }
+                    task = park(idleLeft);
+                    if (task != null) {
+                        return task;
                     }
                 }
             } finally {
-                terminated.countDown();
+                idleWorkers.decrementAndGet();
+            }
+        }
+
+        /**
+         * Засыпает до сигнала производителя, таймаута {@code keepAlive} или прерывания.
+         *
+         * @param idleLeft остаток {@code keepAlive} или 0 — без ограничения
+         * @return задача, найденная при повторной проверке очереди, или {@code null}
+         */
+        private Runnable park(long idleLeft) {
+            parked.addFirst(this);
+            // Чтение submitting до poll синхронизируется с execute, который положил задачу
+            // и затем не увидел воркера на стеке: после него задача гарантированно видна
+            submitting.get();
+            Runnable task = nextTask();
+            // Лишний компенсирующий воркер не засыпает: его могли не разбудить, пока он не лёг на стек
+            if (task == null && !drained() && !(compensating && compensationExcess())) {
+                if (hasLocalWork()) {
+                    // Кражу перехватил другой вор, но работа ещё есть: владелец дека не будит
+                    // спящих, когда берёт свои задачи, поэтому проверяем снова через миллисекунду
+                    LockSupport.parkNanos(pool(), TimeUnit.MILLISECONDS.toNanos(1));
+                } else if (idleLeft > 0) {
+                    LockSupport.parkNanos(pool(), idleLeft);
+                } else {
+                    LockSupport.park(pool());
+                }
+                // Прерывание только будит воркера: завершение решает drained(), иначе
+                // задача, которую ещё ставят, осталась бы без исполнителя
+                Thread.interrupted();
+            }
+            boolean signalled = !parked.removeFirstOccurrence(this);
+            // Пакет будит не всех, а сигнал мог достаться воркеру, нашедшему задачу сам:
+            // если задачи остались, будим следующего по цепочке
+            if ((task != null || signalled) && !queue.isEmpty()) {
+                signalWork();
+            }
+            return task;
+        }
+
+        /**
+         * Убирает простаивающего воркера сверх базовых из пула.
+         * После удаления очередь проверяется ещё раз: производитель, видевший старый массив воркеров,
+         * мог не добавить нового, и задача осталась бы без исполнителя.
+         *
+         * @return {@code true}, если воркер должен завершиться
+         */
+        private boolean retire() {
+            synchronized (workersLock) {
+                if (workers.length - compensatingWorkers.get() <= coreThreads || !removeWorker(this)) {
+                    return false;
+                }
+                if (queue.isEmpty() && !hasLocalWork()) {
+                    return true;
+                }
+                Worker[] restored = Arrays.copyOf(workers, workers.length + 1);
+                restored[restored.length - 1] = this;
+                workers = restored;
+                return false;
+            }
+        }
+
+        /**
+         * Завершает компенсирующего воркера, если компенсаторов больше, чем нужно. Воркер с задачами в своём
+         * деке или буфере пакета не завершается: из удалённого воркера их никто не заберёт.
+         *
+         * @return {@code true}, если воркер должен завершиться
+         */
+        private boolean retireCompensation() {
+            if (shutdown || batchNext < batchEnd || !local.isEmpty()) {
+                return false;
+            }
+            int current = compensatingWorkers.get();
+            if (current <= compensationNeeded() || !compensatingWorkers.compareAndSet(current, current - 1)) {
+                return false;
+            }
+            retired = true;
+            synchronized (workersLock) {
+                removeWorker(this);
+            }
+            // Производитель мог рассчитывать на этого воркера: задачу подберёт следующий
+            if (!queue.isEmpty()) {
+                signalWork();
             }
+            return true;
         }
     }
 }
@@ -0,0 +1,36 @@
+package org.example.threadpool;
+
+/**
+ * JMX-представление метрик {@link SimpleThreadPool} ({@link SimpleThreadPool#registerMBean(String)}).
+ * Длительности — в микросекундах.
+ */
+public interface SimpleThreadPoolMXBean {
+
+    long getSubmittedCount();
+
+    long getCompletedCount();
+
+    long getFailedCount();
+
+    long getRejectedCount();
+
+    int getActiveCount();
+
+    int getPoolSize();
+
+    int getQueueSize();
+
+    int getPeakQueueDepth();
+
+    long getQueueWaitP50Micros();
+
+    long getQueueWaitP99Micros();
+
+    long getQueueWaitMaxMicros();
+
+    long getRunTimeP50Micros();
+
+    long getRunTimeP99Micros();
+
+    long getRunTimeMaxMicros();
+}
@@ -0,0 +1,250 @@
+package org.example.threadpool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Группа подзадач в {@link SimpleThreadPool} с общим ожиданием и отменой: разветвить работу на N
+ * подзадач ({@link #fork}), дождаться всех ({@link #join}) и при первой ошибке отменить остальные.
+ * Заменяет самодельные защёлки вокруг {@code submit}.
+ *
+ * <pre>{@code
+ * try (TaskGroup group = new TaskGroup(pool)) {
+ *     Future<A> a = group.fork(this::loadA);
+ *     Future<B> b = group.fork(this::loadB);
+ *     group.join(1, TimeUnit.SECONDS);
+ *     return combine(a.resultNow(), b.resultNow());
+ * }
+ * }</pre>
+ *
+ * <p>Первая ошибка подзадачи отменяет все незавершённые подзадачи группы с прерыванием, а {@link #join}
+ * бросает её в {@link ExecutionException}. Истечение таймаута {@code join} тоже отменяет группу.
+ * Отмена завершает future сразу, поэтому прерванная подзадача может ещё доделывать свой код после
+ * возврата из {@code join} — как после {@link java.util.concurrent.ExecutorService#invokeAll}.</p>
+ *
+ * <p>Если {@code join} вызван из воркера того же пула, воркер не блокируется: сначала он сам выполняет
+ * ещё не начатые подзадачи группы (от последней к первой — последние вероятнее всего ещё лежат в очереди),
+ * затем, пока начатые подзадачи выполняются другими воркерами, — любые задачи из очередей пула. Поэтому
+ * вложенные разветвления не приводят к взаимной блокировке даже в пуле из одного воркера. Цена —
+ * {@code join} может вернуться позже, чем завершилась группа, если чужая задача оказалась длинной.</p>
+ *
+ * <p>Группа потокобезопасна: разветвлять могут и сами подзадачи. Закрытая группа ({@link #close})
+ * новых подзадач не принимает.</p>
+ */
+public final class TaskGroup implements AutoCloseable {
+
+    /** Пауза воркера в {@link #join}, когда помогать нечем, перед новой попыткой помочь. */
+    private static final long HELP_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleThreadPool pool;
+    /** Подзадачи в порядке разветвления; меняется под монитором группы. */
+    private final List<PoolFuture<?>> subtasks = new ArrayList<>();
+    /** Незавершённые подзадачи; меняется под монитором группы. */
+    private int pending;
+    /** Подзадачи, которые ожидающий воркер ещё не пытался выполнить сам; меняется под монитором группы. */
+    private final ArrayDeque<PoolFuture<?>> unforked = new ArrayDeque<>();
+    /** Первая ошибка подзадачи. */
+    private volatile Throwable failure;
+    private volatile boolean cancelled;
+    private volatile boolean closed;
+
+    /**
+     * @param pool пул, в котором выполняются подзадачи
+     */
+    public TaskGroup(SimpleThreadPool pool) {
+        if (pool == null) throw new NullPointerException("pool");
+        this.pool = pool;
+    }
+
+    /**
+     * Поставить подзадачу группы в пул. Если группа уже отменена, подзадача не ставится,
+     * а возвращённый future сразу отменён.
+     *
+     * @return future результата подзадачи
+     * @throws NullPointerException  если task == null
+     * @throws IllegalStateException если группа закрыта или пул уже завершён (shutdown)
+     * @throws java.util.concurrent.RejectedExecutionException если пул отклонил подзадачу
+     */
+    public <T> Future<T> fork(Callable<T> task) {
+        if (task == null) throw new NullPointerException("task");
+        PoolFuture<T> subtask = new PoolFuture<>(task, this::completed);
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("TaskGroup is closed");
+            }
+            subtasks.add(subtask);
+            unforked.push(subtask);
+            pending++;
+        }
+        if (cancelled) {
+            subtask.cancel(false);
+            return subtask;
+        }
+        try {
+            pool.execute(subtask);
+        } catch (RuntimeException e) {
+            // Подзадача не попала в пул и не выполнится: группа не должна её ждать
+            subtask.cancel(false);
+            throw e;
+        }
+        return subtask;
+    }
+
+    /**
+     * Дождаться завершения всех подзадач группы.
+     *
+     * @throws ExecutionException    с первой ошибкой подзадачи; остальные подзадачи отменены
+     * @throws CancellationException если группа отменена ({@link #cancel()}, {@link #close()})
+     * @throws InterruptedException  если ожидающий поток прерван; подзадачи продолжают выполняться
+     */
+    public void join() throws InterruptedException, ExecutionException {
+        try {
+            await(0L);
+        } catch (TimeoutException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Дождаться завершения всех подзадач группы не дольше {@code timeout}; по истечении
+     * таймаута группа отменяется.
+     *
+     * @throws TimeoutException      если подзадачи не завершились вовремя
+     * @throws ExecutionException    с первой ошибкой подзадачи; остальные подзадачи отменены
+     * @throws CancellationException если группа отменена ({@link #cancel()}, {@link #close()})
+     * @throws InterruptedException  если ожидающий поток прерван; подзадачи продолжают выполняться
+     */
+    public void join(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        await(System.nanoTime() + Math.max(1L, unit.toNanos(timeout)));
+    }
+
+    /** Отменить все незавершённые подзадачи группы с прерыванием; новые подзадачи тоже будут отменены. */
+    public void cancel() {
+        cancelled = true;
+        List<PoolFuture<?>> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(subtasks);
+        }
+        for (PoolFuture<?> subtask : snapshot) {
+            subtask.cancel(true);
+        }
+    }
+
+    /** Завершились ли все подзадачи группы. */
+    public synchronized boolean isDone() {
+        return pending == 0;
+    }
+
+    /** Отменена ли группа — явно, ошибкой подзадачи или таймаутом {@code join}. */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Отменяет незавершённые подзадачи ({@link #cancel()}) и запрещает новые. */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        cancel();
+    }
+
+    /** @param deadline момент по {@link System#nanoTime()}; {@code 0} — без таймаута */
+    private void await(long deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        boolean helping = pool.isWorkerThread();
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = 0L;
+            synchronized (this) {
+                if (pending == 0) {
+                    break;
+                }
+                if (deadline != 0L) {
+                    remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                }
+                if (!helping) {
+                    if (deadline == 0L) {
+                        wait();
+                    } else {
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                    continue;
+                }
+            }
+            if (runUnforked() || pool.helpOne()) {
+                continue;
+            }
+            // Все подзадачи уже выполняются в других воркерах, а очереди пусты
+            synchronized (this) {
+                if (pending > 0) {
+                    long backoff = deadline == 0L ? HELP_BACKOFF_NANOS : Math.min(HELP_BACKOFF_NANOS, remaining);
+                    TimeUnit.NANOSECONDS.timedWait(this, backoff);
+                }
+            }
+        }
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new ExecutionException(cause);
+        }
+        if (!isDone()) {
+            cancel();
+            throw new TimeoutException();
+        }
+        if (cancelled) {
+            throw new CancellationException("TaskGroup is cancelled");
+        }
+    }
+
+    /**
+     * Выполняет в текущем потоке ещё не начатую подзадачу группы, если такая есть. Её копия в очереди
+     * пула потом ничего не сделает: {@link PoolFuture#run()} выполняет задачу не больше одного раза.
+     */
+    private boolean runUnforked() {
+        while (true) {
+            PoolFuture<?> subtask;
+            synchronized (this) {
+                subtask = unforked.poll();
+            }
+            if (subtask == null) {
+                return false;
+            }
+            if (subtask.tryRun()) {
+                return true;
+            }
+        }
+    }
+
+    /** Завершение подзадачи: первая ошибка отменяет группу, последняя подзадача будит ожидающих. */
+    private void completed(PoolFuture<?> subtask) {
+        Throwable cause = subtask.failure();
+        if (cause != null && failure == null) {
+            boolean first;
+            synchronized (this) {
+                first = failure == null;
+                if (first) {
+                    failure = cause;
+                }
+            }
+            if (first) {
+                cancel();
+            }
+        }
+        synchronized (this) {
+            if (--pending == 0) {
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.threadpool;
+
+/**
+ * Очередь задач пула {@link SimpleThreadPool}.
+ *
+ * <p>Реализации должны быть потокобезопасными для нескольких производителей и нескольких
+ * потребителей и не блокировать: ожидание пустой очереди и заполненной очереди организует пул.</p>
+ */
+public interface TaskQueue {
+
+    /**
+     * Добавить задачу в хвост очереди.
+     *
+     * @return {@code false}, если очередь заполнена
+     */
+    boolean offer(Runnable task);
+
+    /**
+     * Добавить задачу с приоритетом (больше — срочнее). Очереди без приоритетов его игнорируют.
+     *
+     * @return {@code false}, если очередь заполнена
+     */
+    default boolean offer(Runnable task, int priority) {
+        return offer(task);
+    }
+
+    /**
+     * Взять задачу из головы очереди.
+     *
+     * @return задача или {@code null}, если очередь пуста
+     */
+    Runnable poll();
+
+    /**
+     * Добавить задачи {@code tasks[from..to)} в хвост очереди, насколько хватит места.
+     * Реализации могут захватывать место под весь пакет одной атомарной операцией;
+     * по умолчанию задачи добавляются по одной.
+     *
+     * @return число добавленных задач, начиная с {@code from}; {@code 0} — очередь заполнена
+     */
+    default int offerAll(Runnable[] tasks, int from, int to) {
+        int index = from;
+        while (index < to && offer(tasks[index])) {
+            index++;
+        }
+        return index - from;
+    }
+
+    /**
+     * Взять до {@code max} задач из головы очереди в {@code buffer[0..)}, в порядке очереди.
+     * По умолчанию задачи берутся по одной.
+     *
+     * @return число взятых задач; {@code 0} — очередь пуста
+     */
+    default int drainTo(Runnable[] buffer, int max) {
+        int count = 0;
+        Runnable task;
+        while (count < max && (task = poll()) != null) {
+            buffer[count++] = task;
+        }
+        return count;
+    }
+
+    /** Приблизительный размер: при конкурентном доступе может устареть сразу после чтения. */
+    int size();
+
+    /**
+     * Пул решает по этому методу, можно ли завершить воркер, поэтому после взятия последней задачи
+     * он должен возвращать {@code true} без задержки.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,277 @@
+package org.example.threadpool;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * Иерархическое колесо таймеров с одним потоком-тикером (как в ядре Linux и Kafka).
+ *
+ * <p>{@value #LEVELS} уровня по {@value #WHEEL_SIZE} ячеек: ячейка уровня {@code L} охватывает
+ * {@code 512^L} тактов, так что при такте 1 мс колесо покрывает больше двух лет. Задача кладётся
+ * на нижний уровень, в окно которого попадает её срок; когда такт доходит до ячейки верхнего уровня,
+ * её задачи раскладываются ниже («каскад»), а истёкшие задачи нижнего уровня передаются исполнителю.</p>
+ *
+ * <p>Постановка и отмена — O(1) и без общих блокировок: задача кладётся в lock-free очередь, отмена —
+ * смена исхода задачи и запись в очередь отменённых. Ячейки — интрузивные двусвязные списки самих задач;
+ * их меняет только тикер, разбирая обе очереди в начале такта. Срабатывание — не раньше срока
+ * и не позже следующего такта. Пустое колесо тикер не крутит, а засыпает до постановки.</p>
+ *
+ * <p>Истёкшая задача передаётся без ожидания: если исполнитель её не принял (очередь полна), задача
+ * завершается {@link RejectedExecutionException}. Тикер никогда не выполняет задачу сам и не ждёт места —
+ * иначе опоздали бы все остальные таймеры.</p>
+ */
+final class TimingWheel {
+
+    private static final int WHEEL_BITS = 9;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    static final int LEVELS = 4;
+    /** Дальше этого срок раскладывается «по частям»: задача возвращается в колесо при срабатывании. */
+    private static final long MAX_SPAN = 1L << (WHEEL_BITS * (LEVELS - 1) + WHEEL_BITS - 1);
+
+    /** Ячейка колеса: двусвязный список задач. */
+    static final class Bucket {
+        private ScheduledTask<?> head;
+        private ScheduledTask<?> tail;
+
+        void add(ScheduledTask<?> task) {
+            task.bucket = this;
+            task.previous = tail;
+            task.next = null;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        void remove(ScheduledTask<?> task) {
+            if (task.previous == null) {
+                head = task.next;
+            } else {
+                task.previous.next = task.next;
+            }
+            if (task.next == null) {
+                tail = task.previous;
+            } else {
+                task.next.previous = task.previous;
+            }
+            task.previous = null;
+            task.next = null;
+            task.bucket = null;
+        }
+
+        /** Снимает и возвращает весь список. */
+        ScheduledTask<?> clear() {
+            ScheduledTask<?> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    /** Ставит истёкшую задачу без ожидания; {@code false} — не принята. */
+    private final Predicate<Runnable> dispatcher;
+    private final long tickNanos;
+    private final long startNanos = System.nanoTime();
+    private final Bucket[][] buckets = new Bucket[LEVELS][WHEEL_SIZE];
+    private final ConcurrentLinkedQueue<ScheduledTask<?>> added = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<ScheduledTask<?>> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread ticker;
+    private volatile boolean stopped = false;
+    /** Тикер спит без таймаута на пустом колесе и ждёт unpark от {@link #schedule}. */
+    private volatile boolean idle = false;
+
+    // Состояние тикера
+    /** Последний обработанный такт. */
+    private long tick;
+    /** Задачи в ячейках. */
+    private int size;
+
+    /**
+     * @param dispatcher неблокирующая постановка истёкших задач: {@code false}, если задача не принята;
+     *                   {@link IllegalStateException} — исполнитель завершён
+     * @param tick       длительность такта (точность срабатывания)
+     * @param threadName имя потока-тикера
+     */
+    TimingWheel(Predicate<Runnable> dispatcher, Duration tick, String threadName) {
+        this.dispatcher = dispatcher;
+        this.tickNanos = tick.toNanos();
+        for (Bucket[] level : buckets) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.ticker = new Thread(this::run, threadName);
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /** Ставит задачу в колесо; после {@link #stop()} задача сразу отменяется. */
+    void schedule(ScheduledTask<?> task) {
+        if (stopped) {
+            task.cancel(false);
+            return;
+        }
+        added.offer(task);
+        if (idle) {
+            LockSupport.unpark(ticker);
+        }
+        if (stopped) {
+            // stop() мог уже отработать: тикер эту задачу не увидит
+            task.cancel(false);
+        }
+    }
+
+    /** Просит тикер освободить ячейку отменённой задачи. */
+    void cancelled(ScheduledTask<?> task) {
+        if (!stopped) {
+            cancelled.offer(task);
+        }
+    }
+
+    /** Останавливает тикер; задачи в колесе и в очереди постановки отменяются. */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    private void run() {
+        while (!stopped) {
+            long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+            if (size == 0) {
+                // Пустое колесо: пропущенные такты обрабатывать незачем
+                tick = Math.max(tick, currentTick);
+            }
+            transferAdded();
+            removeCancelled();
+            if (size == 0) {
+                idle = true;
+                if (added.isEmpty() && !stopped) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                continue;
+            }
+            while (tick < currentTick) {
+                advance(++tick);
+            }
+            long nextTick = startNanos + (tick + 1) * tickNanos;
+            LockSupport.parkNanos(this, nextTick - System.nanoTime());
+        }
+        cancelAll();
+    }
+
+    private void transferAdded() {
+        ScheduledTask<?> task;
+        while ((task = added.poll()) != null) {
+            if (task.isDone()) {
+                continue;
+            }
+            long deadline = task.deadlineNanos() - startNanos;
+            // Округление вверх: задача не срабатывает раньше срока
+            task.deadlineTick = Math.max(tick + 1, Math.floorDiv(deadline + tickNanos - 1, tickNanos));
+            place(task, tick);
+        }
+    }
+
+    private void removeCancelled() {
+        ScheduledTask<?> task;
+        while ((task = cancelled.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Кладёт задачу на нижний уровень, окно которого содержит её срок относительно такта {@code now}.
+     */
+    private void place(ScheduledTask<?> task, long now) {
+        long target = Math.min(task.deadlineTick, now + MAX_SPAN);
+        int level = 0;
+        while (level < LEVELS - 1 && (target >> (WHEEL_BITS * level)) - (now >> (WHEEL_BITS * level)) >= WHEEL_SIZE) {
+            level++;
+        }
+        int slot = (int) (target >> (WHEEL_BITS * level)) & WHEEL_MASK;
+        buckets[level][slot].add(task);
+        size++;
+    }
+
+    /** Обрабатывает такт {@code t}: каскад верхних уровней, затем срабатывание ячейки нижнего. */
+    private void advance(long t) {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            long mask = (1L << (WHEEL_BITS * level)) - 1;
+            if ((t & mask) == 0) {
+                int slot = (int) (t >> (WHEEL_BITS * level)) & WHEEL_MASK;
+                ScheduledTask<?> task = buckets[level][slot].clear();
+                while (task != null) {
+                    ScheduledTask<?> next = task.next;
+                    detach(task);
+                    place(task, t);
+                    task = next;
+                }
+            }
+        }
+        ScheduledTask<?> task = buckets[0][(int) t & WHEEL_MASK].clear();
+        while (task != null) {
+            ScheduledTask<?> next = task.next;
+            detach(task);
+            if (task.deadlineTick > t) {
+                // Срок дальше охвата колеса — ещё один круг
+                place(task, t);
+            } else if (!task.isDone()) {
+                dispatch(task);
+            }
+            task = next;
+        }
+    }
+
+    private void detach(ScheduledTask<?> task) {
+        task.previous = null;
+        task.next = null;
+        task.bucket = null;
+        size--;
+    }
+
+    private void dispatch(ScheduledTask<?> task) {
+        try {
+            if (!dispatcher.test(task)) {
+                task.fail(new RejectedExecutionException("Task queue is full"));
+            }
+        } catch (IllegalStateException e) {
+            // Пул закрыт
+            task.cancel(false);
+        } catch (RuntimeException e) {
+            task.fail(e);
+        }
+    }
+
+    private void cancelAll() {
+        for (Bucket[] level : buckets) {
+            for (Bucket bucket : level) {
+                ScheduledTask<?> task = bucket.clear();
+                while (task != null) {
+                    ScheduledTask<?> next = task.next;
+                    detach(task);
+                    task.cancel(false);
+                    task = next;
+                }
+            }
+        }
+        ScheduledTask<?> task;
+        while ((task = added.poll()) != null) {
+            task.cancel(false);
+        }
+        cancelled.clear();
+    }
+}
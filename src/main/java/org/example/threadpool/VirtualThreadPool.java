@@ -0,0 +1,205 @@
+package org.example.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул с тем же контрактом, что у {@link SimpleThreadPool}, но без долгоживущих воркеров:
+ * каждая задача выполняется в собственном виртуальном потоке.
+ *
+ * <p>Подходит для блокирующего ввода-вывода: заблокированный виртуальный поток не занимает
+ * поток-носитель, так что десятки тысяч одновременных операций не требуют фиксированного числа потоков.
+ * Одновременно выполняется не больше {@code maxConcurrency} задач — это ограничивает нагрузку на
+ * нижележащие ресурсы. Лишние задачи ждут разрешения справедливого {@link Semaphore} уже в своих
+ * виртуальных потоках, поэтому {@link #execute(Runnable)} не блокирует вызывающего.</p>
+ *
+ * <p>Пул учитывает задачи в полёте — поставленные, но ещё не завершившиеся: {@link #awaitTermination()}
+ * ждёт, пока после {@link #shutdown()} не завершится последняя из них.</p>
+ */
+public class VirtualThreadPool extends AbstractExecutorService {
+
+    /** Задача в полёте; {@code claimed} решает, кто её забрал — виртуальный поток или {@link #shutdownNow()}. */
+    private static final class InFlight {
+        final Runnable task;
+        final AtomicBoolean claimed = new AtomicBoolean();
+        volatile Thread thread;
+
+        InFlight(Runnable task) {
+            this.task = task;
+        }
+    }
+
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final ThreadFactory factory;
+    private final Set<InFlight> inFlight = ConcurrentHashMap.newKeySet();
+    /** Число задач в полёте; считается отдельно от множества, чтобы проверка завершения была атомарной. */
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean shutdown = false;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    /**
+     * @param maxConcurrency предел одновременно выполняющихся задач (>0)
+     */
+    public VirtualThreadPool(int maxConcurrency) {
+        this(maxConcurrency, "vpool-");
+    }
+
+    /**
+     * @param maxConcurrency предел одновременно выполняющихся задач (>0)
+     * @param namePrefix     префикс имён виртуальных потоков
+     */
+    public VirtualThreadPool(int maxConcurrency, String namePrefix) {
+        if (maxConcurrency <= 0) throw new IllegalArgumentException("maxConcurrency must be > 0");
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.factory = Thread.ofVirtual().name(namePrefix, 0).factory();
+    }
+
+    /**
+     * Запустить задачу в новом виртуальном потоке.
+     * @throws NullPointerException если task == null
+     * @throws IllegalStateException если пул уже завершён (shutdown)
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) throw new NullPointerException("task");
+        // Счётчик растёт до проверки shutdown: shutdown, увидевший ноль, гарантированно виден здесь
+        pending.incrementAndGet();
+        if (shutdown) {
+            finished();
+            throw new IllegalStateException("ThreadPool is shut down");
+        }
+        InFlight entry = new InFlight(task);
+        inFlight.add(entry);
+        Thread thread = factory.newThread(() -> run(entry));
+        entry.thread = thread;
+        thread.start();
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable task, T value) {
+        return new PoolFuture<>(task, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> task) {
+        return new PoolFuture<>(task);
+    }
+
+    private void run(InFlight entry) {
+        try {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // shutdownNow: задача, не дождавшаяся разрешения, возвращена ему
+                return;
+            }
+            try {
+                if (entry.claimed.compareAndSet(false, true)) {
+                    entry.task.run();
+                }
+            } catch (Throwable t) {
+                t.printStackTrace();
+            } finally {
+                permits.release();
+            }
+        } finally {
+            inFlight.remove(entry);
+            finished();
+        }
+    }
+
+    private void finished() {
+        if (pending.decrementAndGet() == 0 && shutdown) {
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * Инициировать завершение: новые задачи не принимаются.
+     * Уже поставленные задачи будут выполнены.
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (pending.get() == 0) {
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * Закрыть пул, прервать выполняющиеся задачи и вернуть те, что ещё ждали разрешения.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> notStarted = new ArrayList<>();
+        // Сначала забрать все ждущие задачи: прерванная выполняющаяся отпускает разрешение,
+        // и ждущая, ещё не забранная, успела бы его получить
+        for (InFlight entry : inFlight) {
+            if (entry.claimed.compareAndSet(false, true)) {
+                notStarted.add(entry.task);
+            }
+        }
+        for (InFlight entry : inFlight) {
+            Thread thread = entry.thread;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+        return notStarted;
+    }
+
+    /**
+     * Дождаться завершения всех задач в полёте (без таймаута).
+     */
+    public void awaitTermination() {
+        try {
+            terminated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    /** Задачи в полёте: поставленные и ещё не завершившиеся, включая ждущие разрешения. */
+    public int getInFlightCount() {
+        return Math.max(0, pending.get());
+    }
+
+    /** Задачи, выполняющиеся сейчас (занятые разрешения). */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /** Предел одновременно выполняющихся задач. */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.threadpool;
+
+/**
+ * Как воркер {@link SimpleThreadPool} ждёт задачу на пустой очереди: ценой процессорного времени
+ * можно убрать из передачи задачи задержку пробуждения спящего потока (десятки микросекунд).
+ *
+ * <p>Уснувший воркер будит производитель через {@link java.util.concurrent.locks.LockSupport#unpark}
+ * — адресно, без общего монитора. Стратегии, которые не засыпают, не требуют от производителя
+ * и этого: задачу находит сам крутящийся воркер.</p>
+ *
+ * @see PoolOptions#withWaitStrategy(WaitStrategy)
+ */
+public enum WaitStrategy {
+    /** Сразу засыпать до сигнала производителя: не тратит процессор, пробуждение дорогое. */
+    BLOCKING {
+        @Override
+        boolean idle(int round) {
+            return false;
+        }
+    },
+    /**
+     * Крутиться с экспоненциально растущей паузой между проверками очереди, затем уступать
+     * процессор через {@link Thread#yield()}, затем уснуть. Короткие простои обходятся без сна,
+     * а длинные не занимают процессор.
+     */
+    SPIN_PARK {
+        @Override
+        boolean idle(int round) {
+            if (round < SPIN_ROUNDS) {
+                for (int i = 1 << round; i > 0; i--) {
+                    Thread.onSpinWait();
+                }
+                return true;
+            }
+            if (round < SPIN_ROUNDS + YIELD_ROUNDS) {
+                Thread.yield();
+                return true;
+            }
+            return false;
+        }
+    },
+    /** Крутиться, затем уступать процессор через {@link Thread#yield()}, никогда не засыпая. */
+    SPIN_YIELD {
+        @Override
+        boolean idle(int round) {
+            if (round < SPIN_ROUNDS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return true;
+        }
+    },
+    /**
+     * Непрерывно опрашивать очередь: наименьшая задержка передачи ценой целого ядра на каждый
+     * простаивающий воркер. Имеет смысл, только если воркеров не больше свободных ядер.
+     */
+    BUSY_SPIN {
+        @Override
+        boolean idle(int round) {
+            Thread.onSpinWait();
+            return true;
+        }
+    };
+
+    /** Раунды активного ожидания; в {@link #SPIN_PARK} последний из них — 512 пауз подряд. */
+    private static final int SPIN_ROUNDS = 10;
+    /** Раунды {@link Thread#yield()} в {@link #SPIN_PARK} перед сном. */
+    private static final int YIELD_ROUNDS = 20;
+
+    /** Засыпает ли ждущий по этой стратегии: тогда тот, кто даёт ему работу, должен его будить. */
+    boolean parks() {
+        return this == BLOCKING || this == SPIN_PARK;
+    }
+
+    /**
+     * Один шаг ожидания между проверками очереди.
+     *
+     * @param round номер шага с начала простоя
+     * @return {@code false}, если пора засыпать
+     */
+    abstract boolean idle(int round);
+}
@@ -0,0 +1,65 @@
+package org.example.handlers;
+
+import org.example.annotations.Benchmark;
+import org.example.annotations.CsvSource;
+import org.example.annotations.Test;
+import org.example.core.TestContext;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkHandlerTest {
+
+    static class Dummy {
+
+        @Test
+        @Benchmark
+        public void measured() {}
+
+        @Test
+        @Benchmark
+        @CsvSource("1")
+        public void parameterized(int a) {}
+
+        @Test
+        @Benchmark
+        public void overloaded() {}
+
+        @Test
+        @Benchmark
+        public void overloaded(int a) {}
+
+        @Benchmark
+        public void notATest() {}
+    }
+
+    private final BenchmarkHandler handler = new BenchmarkHandler();
+
+    @org.junit.jupiter.api.Test
+    void shouldAcceptPlainBenchmark() throws Exception {
+        handler.handle(Dummy.class.getDeclaredMethod("measured"), new TestContext());
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldRejectBenchmarkWithoutTest() throws Exception {
+        Method method = Dummy.class.getDeclaredMethod("notATest");
+        assertThrows(IllegalStateException.class, () -> handler.handle(method, new TestContext()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldRejectParameterizedBenchmark() throws Exception {
+        Method method = Dummy.class.getDeclaredMethod("parameterized", int.class);
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> handler.handle(method, new TestContext()));
+        assertTrue(e.getMessage().contains("@CsvSource"), e.getMessage());
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldRejectOverloadedBenchmark() throws Exception {
+        Method method = Dummy.class.getDeclaredMethod("overloaded");
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> handler.handle(method, new TestContext()));
+        assertTrue(e.getMessage().contains("overloaded"), e.getMessage());
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.handlers;
+
+import org.example.annotations.ResourceLock;
+import org.example.core.TestContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceLockHandlerTest {
+
+    static class Dummy {
+        @ResourceLock("file")
+        public void valid() {}
+
+        @ResourceLock(" ")
+        public void blank() {}
+
+        @ResourceLock("a")
+        @ResourceLock(" ")
+        public void blankInContainer() {}
+    }
+
+    @Test
+    void shouldAcceptNamedResource() throws Exception {
+        Method method = Dummy.class.getDeclaredMethod("valid");
+        assertDoesNotThrow(() -> new ResourceLockHandler().handle(method, new TestContext()));
+    }
+
+    @Test
+    void shouldRejectBlankResource() throws Exception {
+        Method method = Dummy.class.getDeclaredMethod("blank");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                new ResourceLockHandler().handle(method, new TestContext()));
+        assertTrue(ex.getMessage().contains("blank"));
+    }
+
+    @Test
+    void shouldValidateEveryRepeatedAnnotation() throws Exception {
+        Method method = Dummy.class.getDeclaredMethod("blankInContainer");
+        assertThrows(IllegalArgumentException.class, () ->
+                new ResourceLocksHandler().handle(method, new TestContext()));
+    }
+}
@@ -31,6 +31,9 @@ class TestHandlerTest {
 
         @Test(priority = 999) // invalid
         public void invalidPriorityMethod() {}
+
+        @Test(timeoutMillis = -1) // invalid
+        public void invalidTimeoutMethod() {}
     }
 
     private TestHandler handler;
@@ -65,6 +68,16 @@ class TestHandlerTest {
         assertTrue(ex.getMessage().contains("priority"));
     }
 
+    @org.junit.jupiter.api.Test
+    void shouldRejectNegativeTimeout() throws Exception {
+        Method method = Dummy.class.getDeclaredMethod("invalidTimeoutMethod");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                handler.handle(method, context));
+
+        assertTrue(ex.getMessage().contains("timeoutMillis"));
+    }
+
     @org.junit.jupiter.api.Test
     void shouldBuildStepsAndExecuteThem() throws Exception {
         Method method = Dummy.class.getDeclaredMethod("testMethod");
@@ -0,0 +1,46 @@
+package org.example.runner;
+
+import org.example.tests.BasicTestSuite;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CdsTrainerTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    @Timeout(120)
+    @DisplayName("Тренировочный прогон создаёт CDS-архив и список классов")
+    void trainingRunProducesArchiveAndClassList() throws Exception {
+        // Surefire подменяет java.class.path jar-файлом с манифестом, настоящий classpath — здесь
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        CdsTrainer trainer = new CdsTrainer(output, Arrays.asList(classpath.split(File.pathSeparator)),
+                List.of(BasicTestSuite.class.getName()), 1);
+
+        CdsTrainer.Result result = trainer.train();
+
+        assertTrue(Files.size(result.archive()) > 0);
+        List<String> classes = Files.readAllLines(result.classList());
+        assertTrue(classes.stream().anyMatch(line -> line.startsWith("org/example/core/HandlerRegistry")));
+        assertTrue(classes.stream().anyMatch(line -> line.startsWith("org/reflections/Reflections")));
+        assertTrue(result.before().toNanos() > 0 && result.after().toNanos() > 0);
+        assertTrue(Files.readString(output.resolve("after.log")).contains("[BeforeSuite] Global test setup"));
+    }
+
+    @Test
+    @DisplayName("Число замеров должно быть положительным")
+    void shouldRejectNonPositiveLaunches() {
+        assertThrows(IllegalArgumentException.class, () -> new CdsTrainer(output, List.of(), List.of(), 0));
+    }
+}
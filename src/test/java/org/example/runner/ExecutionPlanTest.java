@@ -1,10 +1,23 @@
 package org.example.runner;
 
+import org.example.core.MethodStep;
 import org.example.core.PlanStep;
+import org.example.core.StepPhase;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +54,164 @@ class ExecutionPlanTest {
         ExecutionPlan plan = new ExecutionPlan(List.of());
         assertDoesNotThrow(() -> plan.execute(new Object()));
     }
+
+    @Test
+    void execute_shouldWrapEachTestWithBeforeAndAfterEach() {
+        List<String> trace = new ArrayList<>();
+        ExecutionPlan plan = new ExecutionPlan(Map.of(
+                StepPhase.BEFORE_SUITE, List.of(i -> trace.add("beforeSuite")),
+                StepPhase.BEFORE_EACH, List.of(i -> trace.add("before")),
+                StepPhase.TEST, List.of(i -> trace.add("t1"), i -> trace.add("t2")),
+                StepPhase.AFTER_EACH, List.of(i -> trace.add("after")),
+                StepPhase.AFTER_SUITE, List.of(i -> trace.add("afterSuite"))
+        ));
+
+        plan.execute(new Object());
+
+        assertEquals(List.of("beforeSuite", "before", "t1", "after", "before", "t2", "after", "afterSuite"), trace);
+    }
+
+    @Test
+    @Timeout(5)
+    void execute_shouldKeepAsyncTestsInFlightAndChainAfterEach() throws Exception {
+        AsyncSuite suite = new AsyncSuite(50);
+        List<PlanStep> tests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tests.add(new MethodStep(AsyncSuite.class.getMethod("pending"), new Object[0], 0));
+        }
+        ExecutionPlan plan = new ExecutionPlan(Map.of(
+                StepPhase.TEST, tests,
+                StepPhase.AFTER_EACH, List.of(i -> ((AsyncSuite) i).afterEach())
+        ));
+
+        Thread runner = new Thread(() -> plan.execute(suite));
+        runner.start();
+
+        // все 50 тестов запущены одновременно, ни один @AfterTest ещё не выполнен
+        assertTrue(suite.started.await(2, TimeUnit.SECONDS));
+        assertEquals(0, suite.afterEach.size());
+
+        suite.release.complete(null);
+        runner.join();
+        assertEquals(50, suite.afterEach.size());
+    }
+
+    @Test
+    @Timeout(5)
+    void execute_shouldFailAsyncTestOnRunnerTimeout() throws Exception {
+        AsyncSuite suite = new AsyncSuite(1);
+        PlanStep pending = new MethodStep(AsyncSuite.class.getMethod("pending"), new Object[0], 0);
+        ExecutionPlan plan = new ExecutionPlan(Map.of(
+                StepPhase.TEST, List.of(pending),
+                StepPhase.AFTER_EACH, List.of(i -> ((AsyncSuite) i).afterEach())
+        ));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                plan.execute(suite, RunnerOptions.defaults().withAsyncTimeout(Duration.ofMillis(100))));
+
+        assertInstanceOf(TimeoutException.class, ex.getCause());
+        assertEquals(1, suite.afterEach.size(), "@AfterTest должен выполниться и после таймаута");
+    }
+
+    @Test
+    @Timeout(5)
+    void execute_shouldPropagateAsyncFailure() throws Exception {
+        PlanStep failing = new MethodStep(AsyncSuite.class.getMethod("failing"), new Object[0], 0);
+        ExecutionPlan plan = new ExecutionPlan(List.of(failing));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> plan.execute(new AsyncSuite(0)));
+
+        assertEquals("Step execution failed", ex.getMessage());
+        assertEquals("async boom", ex.getCause().getMessage());
+    }
+
+    @Test
+    @Timeout(10)
+    void execute_shouldRunEachTestOnVirtualThreadWithinParallelismCap() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+        PlanStep test = instance -> {
+            virtual.add(Thread.currentThread().isVirtual());
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+        };
+        ExecutionPlan plan = new ExecutionPlan(Collections.nCopies(40, test));
+
+        plan.execute(new Object(), RunnerOptions.defaults()
+                .withMode(ExecutionMode.VIRTUAL_THREADS)
+                .withParallelism(4)
+                .withPinningDiagnostics(false, Duration.ZERO));
+
+        assertEquals(Set.of(true), virtual);
+        assertTrue(peak.get() <= 4, "Превышен предел параллелизма: " + peak.get());
+        assertTrue(peak.get() > 1, "Тесты должны выполняться параллельно");
+    }
+
+    @Test
+    @Timeout(10)
+    void execute_shouldKeepRunningIndependentTestsAfterFailureInParallelMode() {
+        AtomicInteger executed = new AtomicInteger();
+        PlanStep failing = instance -> {
+            throw new IllegalStateException("boom");
+        };
+        List<PlanStep> tests = new ArrayList<>();
+        tests.add(failing);
+        tests.addAll(Collections.nCopies(100, instance -> executed.incrementAndGet()));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> new ExecutionPlan(tests)
+                .execute(new Object(), RunnerOptions.defaults().withMode(ExecutionMode.PLATFORM_THREADS).withParallelism(2)));
+
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals(100, executed.get());
+    }
+
+    @Test
+    @Timeout(20)
+    void pinningMonitor_shouldReportSynchronizedSleepInVirtualThread() throws Exception {
+        Object lock = new Object();
+        try (PinningMonitor monitor = PinningMonitor.start(Duration.ofMillis(5))) {
+            Thread thread = Thread.ofVirtual().start(() -> {
+                monitor.bind("Suite.pinned");
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+            });
+            thread.join();
+
+            List<PinningMonitor.PinnedEvent> events = monitor.stop();
+
+            assertFalse(events.isEmpty(), "Ожидали событие jdk.VirtualThreadPinned");
+            assertEquals("Suite.pinned", events.get(0).unit());
+        }
+    }
+
+    public static class AsyncSuite {
+        final CountDownLatch started;
+        final CompletableFuture<Void> release = new CompletableFuture<>();
+        final List<String> afterEach = Collections.synchronizedList(new ArrayList<>());
+
+        AsyncSuite(int tests) {
+            this.started = new CountDownLatch(tests);
+        }
+
+        public CompletableFuture<Void> pending() {
+            started.countDown();
+            return release.thenRunAsync(() -> {});
+        }
+
+        public CompletableFuture<Void> failing() {
+            return CompletableFuture.supplyAsync(() -> {
+                throw new IllegalStateException("async boom");
+            });
+        }
+
+        void afterEach() {
+            afterEach.add(Thread.currentThread().getName());
+        }
+    }
 }
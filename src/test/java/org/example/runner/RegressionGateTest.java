@@ -0,0 +1,166 @@
+package org.example.runner;
+
+import org.example.annotations.Benchmark;
+import org.example.annotations.Test;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegressionGateTest {
+
+    public static class Suite {
+        static final AtomicInteger CALLS = new AtomicInteger();
+        static volatile long sleepMillis = 1;
+
+        @Test
+        @Benchmark(warmups = 2, iterations = 10)
+        public void measured() throws InterruptedException {
+            CALLS.incrementAndGet();
+            Thread.sleep(sleepMillis);
+        }
+    }
+
+    public static class MixedSuite {
+        static final AtomicInteger RUNNING = new AtomicInteger();
+        static final AtomicInteger OVERLAPS = new AtomicInteger();
+
+        @Test
+        @Benchmark(warmups = 1, iterations = 5)
+        public void measured() throws InterruptedException {
+            if (RUNNING.get() != 0) {
+                OVERLAPS.incrementAndGet();
+            }
+            Thread.sleep(2);
+            if (RUNNING.get() != 0) {
+                OVERLAPS.incrementAndGet();
+            }
+        }
+
+        @Test
+        public void busy() throws InterruptedException {
+            RUNNING.incrementAndGet();
+            try {
+                Thread.sleep(5);
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    private static ExecutionPlan plan() throws NoSuchMethodException {
+        return new ExecutionPlan(List.<PlanStep>of(
+                new MethodStep(Suite.class.getMethod("measured"), new Object[0], 0)));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Явное замедление значимо, одинаковые серии — нет")
+    void mannWhitneyDetectsShiftOnly() {
+        long[] baseline = {100, 102, 98, 101, 99, 103, 97, 100, 101, 99};
+        long[] slower = {150, 149, 152, 148, 151, 150, 153, 147, 150, 149};
+
+        assertTrue(RegressionGate.pValueSlower(baseline, slower) < 0.001);
+        assertTrue(RegressionGate.pValueSlower(slower, baseline) > 0.99);
+        assertTrue(RegressionGate.pValueSlower(baseline, baseline.clone()) > 0.4);
+        assertEquals(1.0, RegressionGate.pValueSlower(new long[]{5, 5}, new long[]{5, 5}));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Benchmark-тест прогревается, замеряется и попадает в базовую линию")
+    void benchmarkIsMeasuredAndRecorded() throws Exception {
+        Suite.CALLS.set(0);
+        Suite.sleepMillis = 1;
+        Path file = directory.resolve("baseline.txt");
+
+        plan().execute(new Suite(), RunnerOptions.defaults().withBaseline(file, 0.1));
+
+        assertEquals(12, Suite.CALLS.get());
+        long[] recorded = BaselineStore.load(file).get(Suite.class.getName() + "#measured");
+        assertNotNull(recorded);
+        assertEquals(10, recorded.length);
+        assertTrue(Files.readString(file).startsWith("#"));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Значимое замедление относительно базовой линии проваливает прогон")
+    void regressionFailsRun() throws Exception {
+        Path file = directory.resolve("baseline.txt");
+        String key = Suite.class.getName() + "#measured";
+        BaselineStore store = BaselineStore.load(file);
+        store.put(key, new long[]{1_000, 1_100, 1_050, 1_020, 1_080, 1_010, 1_090, 1_030, 1_060, 1_070});
+        store.save();
+        Suite.sleepMillis = 2;
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> plan().execute(new Suite(), RunnerOptions.defaults().withBaseline(file, 0.1)));
+
+        assertEquals("Step execution failed", e.getMessage());
+        assertTrue(e.getCause().getMessage().startsWith("Performance regression in " + key), e.getCause().getMessage());
+        assertEquals(1_000, BaselineStore.load(file).get(key)[0], "Эталон не должен перезаписываться при регрессии");
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Без updateBaseline существующий эталон не меняется")
+    void existingBaselineIsKeptUnlessUpdateRequested() throws Exception {
+        Path file = directory.resolve("baseline.txt");
+        String key = Suite.class.getName() + "#measured";
+        long[] slowBaseline = new long[10];
+        Arrays.fill(slowBaseline, 1_000_000_000L);
+        BaselineStore store = BaselineStore.load(file);
+        store.put(key, slowBaseline);
+        store.save();
+        Suite.sleepMillis = 1;
+
+        plan().execute(new Suite(), RunnerOptions.defaults().withBaseline(file, 0.1));
+        assertEquals(1_000_000_000L, BaselineStore.load(file).get(key)[0]);
+
+        plan().execute(new Suite(), RunnerOptions.defaults().withBaseline(file, 0.1).withBaselineUpdate(true));
+        assertTrue(BaselineStore.load(file).get(key)[0] < 1_000_000_000L);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Повторная серия под тем же ключом проваливает прогон, а не перезаписывает первую")
+    void duplicateBenchmarkUnitFailsRun() throws Exception {
+        Suite.sleepMillis = 1;
+        Path file = directory.resolve("baseline.txt");
+        ExecutionPlan plan = new ExecutionPlan(List.<PlanStep>of(
+                new MethodStep(Suite.class.getMethod("measured"), new Object[0], 0),
+                new MethodStep(Suite.class.getMethod("measured"), new Object[0], 0)));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> plan.execute(new Suite(), RunnerOptions.defaults().withBaseline(file, 0.1)));
+
+        assertEquals("Duplicate @Benchmark unit: " + Suite.class.getName() + "#measured", e.getCause().getMessage());
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("В параллельном режиме Benchmark-тест замеряется без одновременных тестов")
+    void benchmarkRunsAloneInParallelModes() throws Exception {
+        for (ExecutionMode mode : List.of(ExecutionMode.PLATFORM_THREADS, ExecutionMode.VIRTUAL_THREADS)) {
+            MixedSuite.OVERLAPS.set(0);
+            List<PlanStep> steps = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                steps.add(new MethodStep(MixedSuite.class.getMethod("busy"), new Object[0], 0));
+            }
+            steps.add(4, new MethodStep(MixedSuite.class.getMethod("measured"), new Object[0], 0));
+
+            new ExecutionPlan(steps).execute(new MixedSuite(),
+                    RunnerOptions.defaults().withMode(mode).withParallelism(4));
+
+            assertEquals(0, MixedSuite.OVERLAPS.get(), mode.toString());
+            assertEquals(0, MixedSuite.RUNNING.get());
+        }
+    }
+}
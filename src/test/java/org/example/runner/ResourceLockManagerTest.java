@@ -0,0 +1,139 @@
+package org.example.runner;
+
+import org.example.annotations.ResourceLock;
+import org.example.annotations.Test;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceLockManagerTest {
+
+    static class Writers {
+        final AtomicInteger inside = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+
+        @Test
+        @ResourceLock("shared-file")
+        public void first() throws InterruptedException { exclusive(); }
+
+        @Test
+        @ResourceLock("shared-file")
+        public void second() throws InterruptedException { exclusive(); }
+
+        @Test
+        @ResourceLock("shared-file")
+        public void third() throws InterruptedException { exclusive(); }
+
+        private void exclusive() throws InterruptedException {
+            if (inside.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            Thread.sleep(30);
+            inside.decrementAndGet();
+        }
+    }
+
+    static class Readers {
+        final CountDownLatch together = new CountDownLatch(2);
+
+        @Test
+        @ResourceLock(value = "config", mode = ResourceLock.Mode.READ)
+        public void readA() throws InterruptedException { meet(); }
+
+        @Test
+        @ResourceLock(value = "config", mode = ResourceLock.Mode.READ)
+        public void readB() throws InterruptedException { meet(); }
+
+        private void meet() throws InterruptedException {
+            together.countDown();
+            if (!together.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("readers were serialized");
+            }
+        }
+    }
+
+    @ResourceLock(value = "static-state", mode = ResourceLock.Mode.READ)
+    static class ClassLevel {
+        @Test
+        @ResourceLock("b")
+        @ResourceLock(value = "static-state")
+        @ResourceLock(value = "a", mode = ResourceLock.Mode.READ)
+        public void annotated() {}
+    }
+
+    @org.junit.jupiter.api.Test
+    @Timeout(5)
+    @DisplayName("Тесты с READ_WRITE на одном ресурсе не пересекаются даже в параллельном режиме")
+    void writersAreSerialized() {
+        Writers writers = new Writers();
+
+        planOf(Writers.class).execute(writers,
+                RunnerOptions.defaults().withMode(ExecutionMode.VIRTUAL_THREADS).withParallelism(3));
+
+        assertEquals(0, writers.overlaps.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    @Timeout(5)
+    @DisplayName("Тесты с READ на одном ресурсе выполняются одновременно")
+    void readersRunConcurrently() {
+        Readers readers = new Readers();
+
+        assertDoesNotThrow(() -> planOf(Readers.class).execute(readers,
+                RunnerOptions.defaults().withMode(ExecutionMode.PLATFORM_THREADS).withParallelism(2)));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Ресурсы класса и метода объединяются, порядок захвата — по имени")
+    void requirementsMergeClassAndMethodLocks() throws Exception {
+        Method method = ClassLevel.class.getMethod("annotated");
+
+        SortedMap<String, ResourceLock.Mode> required =
+                ResourceLockManager.requirements(new MethodStep(method, new Object[0], 0));
+
+        assertEquals(List.of("a", "b", "static-state"), new ArrayList<>(required.keySet()));
+        assertEquals(Map.of(
+                "a", ResourceLock.Mode.READ,
+                "b", ResourceLock.Mode.READ_WRITE,
+                "static-state", ResourceLock.Mode.READ_WRITE), required);
+    }
+
+    @ResourceLock("")
+    static class BlankClassLevel {
+        @Test
+        public void annotated() {}
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Пустое имя ресурса у класса отклоняется так же, как у метода")
+    void blankClassLevelResourceIsRejected() throws Exception {
+        Method method = BlankClassLevel.class.getMethod("annotated");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ResourceLockManager.requirements(new MethodStep(method, new Object[0], 0)));
+        assertEquals("@ResourceLock value must not be blank: annotated", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> planOf(BlankClassLevel.class));
+    }
+
+    private static ExecutionPlan planOf(Class<?> testClass) {
+        List<PlanStep> steps = new ArrayList<>();
+        for (Method method : testClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                steps.add(new MethodStep(method, new Object[0], 0));
+            }
+        }
+        return new ExecutionPlan(steps);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.runner;
+
+import org.example.annotations.Test;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceProfilerTest {
+
+    public static class HeavySuite {
+        static volatile Object sink;
+
+        @Test
+        public void allocating() {
+            for (int i = 0; i < 1_000; i++) {
+                sink = new byte[1024];
+            }
+        }
+
+        @Test
+        public void idle() {}
+    }
+
+    @TempDir
+    Path reports;
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Профилирование пишет CSV с процессорным временем и выделенной памятью каждого теста")
+    void profilingWritesCsvWithPerTestMetrics() throws Exception {
+        ExecutionPlan plan = new ExecutionPlan(List.<PlanStep>of(
+                new MethodStep(HeavySuite.class.getMethod("allocating"), new Object[0], 0),
+                new MethodStep(HeavySuite.class.getMethod("idle"), new Object[0], 0)));
+
+        plan.execute(new HeavySuite(), RunnerOptions.defaults().withProfiling(true).withReportDirectory(reports));
+
+        List<String> lines = Files.readAllLines(reports.resolve("HeavySuite-profile.csv"));
+        assertEquals("test,wall_ns,cpu_ns,allocated_bytes,gc_count,gc_ms", lines.get(0));
+        assertEquals(3, lines.size());
+
+        String allocating = lines.stream().filter(l -> l.startsWith("HeavySuite.allocating,")).findFirst().orElseThrow();
+        long allocatedBytes = Long.parseLong(allocating.split(",")[3]);
+        assertTrue(allocatedBytes >= 1_000 * 1024, "Ожидали не меньше 1 МБ, получили " + allocatedBytes);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("По умолчанию профилирование выключено и отчёт не создаётся")
+    void profilingIsOffByDefault() {
+        new ExecutionPlan(List.<PlanStep>of(instance -> {})).execute(new HeavySuite(),
+                RunnerOptions.defaults().withReportDirectory(reports));
+
+        assertFalse(Files.exists(reports.resolve("HeavySuite-profile.csv")));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.runner;
+
+import org.example.annotations.Test;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowTestSamplerTest {
+
+    public static class Suite {
+        @Test
+        public void slow() throws InterruptedException {
+            Thread.sleep(300);
+        }
+
+        @Test
+        public void fast() {}
+    }
+
+    @TempDir
+    Path reports;
+
+    @org.junit.jupiter.api.Test
+    @Timeout(10)
+    @DisplayName("Медленный тест сэмплируется в collapsed stacks, быстрый — нет")
+    void slowTestIsSampledIntoCollapsedStacks() throws Exception {
+        ExecutionPlan plan = new ExecutionPlan(List.<PlanStep>of(
+                new MethodStep(Suite.class.getMethod("slow"), new Object[0], 0),
+                new MethodStep(Suite.class.getMethod("fast"), new Object[0], 0)));
+
+        plan.execute(new Suite(), RunnerOptions.defaults()
+                .withReportDirectory(reports)
+                .withSlowTestSampling(Duration.ofMillis(50), Duration.ofMillis(5)));
+
+        Path collapsed = reports.resolve("Suite.slow-0.collapsed");
+        assertTrue(Files.exists(collapsed));
+        assertFalse(Files.exists(reports.resolve("Suite.fast-1.collapsed")));
+
+        List<String> lines = Files.readAllLines(collapsed);
+        assertFalse(lines.isEmpty());
+        for (String line : lines) {
+            assertTrue(line.matches("\\S+ \\d+"), "Неверный формат строки: " + line);
+        }
+        String stack = lines.stream().filter(l -> l.contains("SlowTestSamplerTest$Suite.slow;")).findFirst().orElseThrow();
+        assertTrue(stack.indexOf("SlowTestSamplerTest$Suite.slow") < stack.indexOf("java.lang.Thread.sleep"),
+                "Стек должен идти от корня к вершине: " + stack);
+    }
+
+    @org.junit.jupiter.api.Test
+    @Timeout(10)
+    @DisplayName("Одноимённые медленные единицы пишутся в разные файлы")
+    void sameNamedUnitsDoNotOverwriteEachOther() throws Exception {
+        ExecutionPlan plan = new ExecutionPlan(List.<PlanStep>of(
+                new MethodStep(Suite.class.getMethod("slow"), new Object[0], 0),
+                new MethodStep(Suite.class.getMethod("slow"), new Object[0], 0)));
+
+        plan.execute(new Suite(), RunnerOptions.defaults()
+                .withReportDirectory(reports)
+                .withSlowTestSampling(Duration.ofMillis(50), Duration.ofMillis(5)));
+
+        assertTrue(Files.exists(reports.resolve("Suite.slow-0.collapsed")));
+        assertTrue(Files.exists(reports.resolve("Suite.slow-1.collapsed")));
+    }
+}
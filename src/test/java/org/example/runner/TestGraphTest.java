@@ -0,0 +1,137 @@
+package org.example.runner;
+
+import org.example.annotations.Test;
+import org.example.core.MethodStep;
+import org.example.core.PlanStep;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestGraphTest {
+
+    static class Chain {
+        final List<String> trace = Collections.synchronizedList(new ArrayList<>());
+
+        @Test(priority = 1)
+        public void setup() { trace.add("setup"); }
+
+        @Test(priority = 10, dependsOn = "setup")
+        public void afterSetup() { trace.add("afterSetup"); }
+
+        @Test(priority = 5)
+        public void independent() { trace.add("independent"); }
+
+        @Test(dependsOn = {"setup", "independent"})
+        public void last() { trace.add("last"); }
+    }
+
+    static class Failing {
+        final List<String> trace = Collections.synchronizedList(new ArrayList<>());
+
+        @Test
+        public void broken() { throw new IllegalStateException("broken"); }
+
+        @Test(dependsOn = "broken")
+        public void dependent() { trace.add("dependent"); }
+
+        @Test(dependsOn = "dependent")
+        public void transitive() { trace.add("transitive"); }
+
+        @Test
+        public void unrelated() { trace.add("unrelated"); }
+    }
+
+    static class Cyclic {
+        @Test(dependsOn = "b")
+        public void a() {}
+
+        @Test(dependsOn = "a")
+        public void b() {}
+    }
+
+    static class Unknown {
+        @Test(dependsOn = "missing")
+        public void a() {}
+    }
+
+    static class Parallel {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        @Test
+        public void left() throws InterruptedException { meet(); }
+
+        @Test
+        public void right() throws InterruptedException { meet(); }
+
+        private void meet() throws InterruptedException {
+            bothStarted.countDown();
+            if (!bothStarted.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("tests were not run in parallel");
+            }
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Зависимости выполняются раньше, приоритет разрешает только ничьи среди готовых")
+    void dependenciesRunFirst_priorityBreaksTies() {
+        Chain chain = new Chain();
+
+        planOf(Chain.class).execute(chain);
+
+        // готовы сразу: independent(5), setup(1); после setup становятся готовыми afterSetup(10) и last(5)
+        assertEquals(List.of("independent", "setup", "afterSetup", "last"), chain.trace);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Зависимые от упавшего теста пропускаются, независимые выполняются")
+    void dependentsOfFailedTestAreSkipped() {
+        Failing failing = new Failing();
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> planOf(Failing.class).execute(failing));
+
+        assertEquals("broken", ex.getCause().getCause().getMessage());
+        assertEquals(List.of("unrelated"), failing.trace);
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Цикл зависимостей обнаруживается при построении плана")
+    void cycleIsRejected() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> planOf(Cyclic.class));
+        assertTrue(ex.getMessage().contains("cycle"));
+    }
+
+    @org.junit.jupiter.api.Test
+    @DisplayName("Ссылка на несуществующий тест отклоняется")
+    void unknownDependencyIsRejected() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> planOf(Unknown.class));
+        assertTrue(ex.getMessage().contains("missing"));
+    }
+
+    @org.junit.jupiter.api.Test
+    @Timeout(5)
+    @DisplayName("Независимые тесты в параллельном режиме выполняются одновременно")
+    void independentTestsRunConcurrently() {
+        Parallel parallel = new Parallel();
+
+        assertDoesNotThrow(() -> planOf(Parallel.class).execute(parallel,
+                RunnerOptions.defaults().withMode(ExecutionMode.PLATFORM_THREADS).withParallelism(2)));
+    }
+
+    private static ExecutionPlan planOf(Class<?> testClass) {
+        List<PlanStep> steps = new ArrayList<>();
+        for (Method method : testClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                steps.add(new MethodStep(method, new Object[0], 0));
+            }
+        }
+        return new ExecutionPlan(steps);
+    }
+}
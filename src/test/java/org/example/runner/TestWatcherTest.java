@@ -0,0 +1,110 @@
+package org.example.runner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestWatcherTest {
+
+    private static final String SUITE = "watched.WatchedSuite";
+
+    @TempDir
+    Path sources;
+
+    @TempDir
+    Path classes;
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty("watched.version");
+    }
+
+    private void compileSuite(int version) throws Exception {
+        Path source = sources.resolve("watched/WatchedSuite.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, """
+                package watched;
+
+                import org.example.annotations.Test;
+
+                public class WatchedSuite {
+                    @Test
+                    public void record() {
+                        System.setProperty("watched.version", "%d");
+                    }
+                }
+                """.formatted(version));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int status = compiler.run(null, null, null, "-cp", System.getProperty("java.class.path"),
+                "-d", classes.toString(), source.toString());
+        assertEquals(0, status, "Компиляция тестового набора не удалась");
+    }
+
+    @Test
+    @DisplayName("Перекомпилированный тестовый класс перезагружается и запускается заново")
+    void rerunPicksUpRecompiledClass() throws Exception {
+        compileSuite(1);
+        TestWatcher watcher = new TestWatcher(classes, List.of(SUITE), RunnerOptions.defaults());
+
+        assertEquals(Set.of(SUITE), watcher.rerun(List.of(SUITE)));
+        assertEquals("1", System.getProperty("watched.version"));
+
+        compileSuite(2);
+        watcher.rerun(List.of(SUITE));
+        assertEquals("2", System.getProperty("watched.version"));
+    }
+
+    @Test
+    @DisplayName("Затронутые классы: изменённый тест, все тесты при изменении приложения, ничего для фреймворка")
+    void affectedClasses() {
+        TestWatcher watcher = new TestWatcher(classes, List.of("app.FirstSuite", "app.SecondSuite"),
+                RunnerOptions.defaults());
+
+        assertEquals(Set.of("app.FirstSuite"), watcher.affected(List.of("app.FirstSuite$Helper")));
+        assertEquals(Set.of("app.FirstSuite", "app.SecondSuite"), watcher.affected(List.of("app.model.Employee")));
+        assertTrue(watcher.affected(List.of("org.example.runner.ExecutionPlan")).isEmpty());
+    }
+
+    @Test
+    @Timeout(20)
+    @DisplayName("WatchService замечает перекомпиляцию и перезапускает тест")
+    void watchLoopRerunsOnChange() throws Exception {
+        compileSuite(1);
+        TestWatcher watcher = new TestWatcher(classes, List.of(SUITE), RunnerOptions.defaults());
+        Thread loop = new Thread(() -> {
+            try {
+                watcher.run();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }, "watch-loop");
+        loop.setDaemon(true);
+        loop.start();
+        try {
+            while (!"1".equals(System.getProperty("watched.version"))) {
+                Thread.sleep(20);
+            }
+            // Даём циклу встать на наблюдение до перекомпиляции
+            Thread.sleep(500);
+            compileSuite(2);
+            while (!"2".equals(System.getProperty("watched.version"))) {
+                Thread.sleep(20);
+            }
+        } finally {
+            loop.interrupt();
+            loop.join(5_000);
+        }
+        assertFalse(loop.isAlive());
+    }
+}
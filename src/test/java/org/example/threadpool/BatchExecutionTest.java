@@ -0,0 +1,164 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchExecutionTest {
+
+    private SimpleThreadPool pool;
+
+    @AfterEach
+    void stop() {
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    /** Задачи, отмечающие своё выполнение в {@code runs}. */
+    private static List<Runnable> counting(AtomicIntegerArray runs, int first, int count) {
+        List<Runnable> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = first + i;
+            tasks.add(() -> runs.incrementAndGet(id));
+        }
+        return tasks;
+    }
+
+    private static void assertRanOnce(AtomicIntegerArray runs) {
+        for (int id = 0; id < runs.length(); id++) {
+            assertEquals(1, runs.get(id), "Задача " + id + " выполнена не ровно один раз");
+        }
+    }
+
+    /** Несколько производителей ставят задачи пакетами по 1000. */
+    private void produceBatches(AtomicIntegerArray runs, int producers) throws InterruptedException {
+        int perProducer = runs.length() / producers;
+        CountDownLatch produced = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            new Thread(() -> {
+                for (int offset = 0; offset < perProducer; offset += 1000) {
+                    pool.executeAll(counting(runs, first + offset, Math.min(1000, perProducer - offset)));
+                }
+                produced.countDown();
+            }).start();
+        }
+        produced.await();
+        pool.shutdown();
+        pool.awaitTermination();
+    }
+
+    @Test
+    @DisplayName("Пакеты через LinkedTaskQueue с пакетной выборкой выполняются ровно по разу")
+    @Timeout(20)
+    void linkedQueueBatches() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(4).withDrainBatch(32));
+        AtomicIntegerArray runs = new AtomicIntegerArray(100_000);
+
+        produceBatches(runs, 4);
+
+        assertRanOnce(runs);
+    }
+
+    @Test
+    @DisplayName("Пакеты через маленькое кольцо с BLOCK ждут места и не теряются")
+    @Timeout(20)
+    void ringQueueBatchesWithBackpressure() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(3)
+                .withQueueCapacity(64)
+                .withRejectionPolicy(RejectionPolicy.BLOCK)
+                .withDrainBatch(16));
+        AtomicIntegerArray runs = new AtomicIntegerArray(40_000);
+
+        produceBatches(runs, 4);
+
+        assertRanOnce(runs);
+    }
+
+    @Test
+    @DisplayName("Без предзапуска пакет запускает базовых воркеров")
+    @Timeout(5)
+    void lazyStartForBatch() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(3).withPrestart(false));
+        CountDownLatch done = new CountDownLatch(10);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(done::countDown);
+        }
+
+        pool.executeAll(tasks);
+
+        done.await();
+        assertEquals(3, pool.getPoolSize());
+    }
+
+    @Test
+    @DisplayName("Пакет из воркера в режиме work-stealing идёт в его дек")
+    @Timeout(5)
+    void batchFromWorkerWithWorkStealing() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(2).withWorkStealing(true));
+        AtomicIntegerArray runs = new AtomicIntegerArray(1000);
+        CountDownLatch done = new CountDownLatch(1000);
+        List<Runnable> tasks = new ArrayList<>();
+        for (Runnable task : counting(runs, 0, 1000)) {
+            tasks.add(() -> {
+                task.run();
+                done.countDown();
+            });
+        }
+
+        pool.execute(() -> pool.executeAll(tasks));
+
+        done.await();
+        assertRanOnce(runs);
+    }
+
+    @Test
+    @DisplayName("ABORT: задачи до переполнения остаются поставленными")
+    @Timeout(5)
+    void abortKeepsQueuedPrefix() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(1).withQueueCapacity(4));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException ignored) {}
+        });
+        started.await();
+        AtomicInteger ran = new AtomicInteger();
+        Runnable task = ran::incrementAndGet;
+
+        assertThrows(RejectedExecutionException.class, () -> pool.executeAll(Arrays.asList(
+                task, task, task, task, task, task)));
+        assertEquals(4, pool.getQueueSize());
+        assertEquals(1, pool.getRejectedCount());
+
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination();
+        assertEquals(4, ran.get());
+    }
+
+    @Test
+    @DisplayName("null в пакете отклоняется до постановки")
+    void nullInBatch() {
+        pool = new SimpleThreadPool(1);
+
+        assertThrows(NullPointerException.class, () -> pool.executeAll(Arrays.asList(() -> {}, null)));
+        assertEquals(0, pool.getQueueSize());
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElasticPoolTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleThreadPool pool;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    private void blockUntilReleased() {
+        try { release.await(); } catch (InterruptedException ignored) {}
+    }
+
+    /** Ждёт, пока размер пула не станет равным {@code expected}. */
+    private void awaitPoolSize(int expected) {
+        while (pool.getPoolSize() != expected) {
+            Thread.yield();
+        }
+    }
+
+    @Test
+    @DisplayName("Без предзапуска воркеры создаются по мере поступления задач")
+    @Timeout(5)
+    void lazyStart() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(2).withPrestart(false));
+        assertEquals(0, pool.getPoolSize());
+
+        CountDownLatch done = new CountDownLatch(1);
+        pool.execute(done::countDown);
+        done.await();
+        assertEquals(1, pool.getPoolSize());
+
+        pool.execute(() -> {});
+        pool.execute(() -> {});
+        assertEquals(2, pool.getPoolSize());
+    }
+
+    @Test
+    @DisplayName("Длинная очередь добавляет воркеров до максимума")
+    @Timeout(5)
+    void growsUnderLoad() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withPoolSize(1, 4)
+                .withGrowthThreshold(2, Duration.ofHours(1)));
+        AtomicInteger started = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            pool.execute(() -> {
+                started.incrementAndGet();
+                blockUntilReleased();
+            });
+        }
+
+        assertEquals(4, pool.getPoolSize());
+        while (started.get() < 4) {
+            Thread.yield();
+        }
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination();
+        assertEquals(20, started.get());
+    }
+
+    @Test
+    @DisplayName("Очередь, не пустеющая дольше порога, добавляет воркера")
+    @Timeout(5)
+    void growsOnQueueWait() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withPoolSize(1, 2)
+                .withGrowthThreshold(1000, Duration.ofMillis(20)));
+        CountDownLatch busy = new CountDownLatch(1);
+        pool.execute(() -> {
+            busy.countDown();
+            blockUntilReleased();
+        });
+        busy.await();
+
+        pool.execute(() -> {});
+        assertEquals(1, pool.getPoolSize());
+        Thread.sleep(50);
+        pool.execute(() -> {});
+        assertEquals(2, pool.getPoolSize());
+    }
+
+    @Test
+    @DisplayName("Воркеры сверх базовых завершаются после простоя")
+    @Timeout(5)
+    void retiresIdleWorkers() {
+        pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withPoolSize(1, 3)
+                .withKeepAlive(Duration.ofMillis(50))
+                .withGrowthThreshold(0, Duration.ZERO));
+        for (int i = 0; i < 10; i++) {
+            pool.execute(this::blockUntilReleased);
+        }
+        assertEquals(3, pool.getPoolSize());
+
+        release.countDown();
+        awaitPoolSize(1);
+        assertFalse(pool.isTerminated());
+    }
+
+    @Test
+    @DisplayName("Пул без базовых воркеров сжимается до нуля и снова растёт")
+    @Timeout(5)
+    void shrinksToZero() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withPoolSize(0, 2)
+                .withKeepAlive(Duration.ofMillis(20)));
+        assertEquals(0, pool.getPoolSize());
+
+        CountDownLatch first = new CountDownLatch(1);
+        pool.execute(first::countDown);
+        first.await();
+        awaitPoolSize(0);
+
+        CountDownLatch second = new CountDownLatch(1);
+        pool.execute(second::countDown);
+        second.await();
+    }
+
+    @Test
+    @DisplayName("shutdown пула без воркеров завершает его сразу")
+    @Timeout(5)
+    void shutdownWithoutWorkers() {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(2).withPrestart(false));
+
+        pool.shutdown();
+
+        assertTrue(pool.isTerminated());
+    }
+
+    @Test
+    @DisplayName("Неверный размер пула отклоняется")
+    void invalidPoolSize() {
+        assertThrows(IllegalArgumentException.class, () -> PoolOptions.defaults().withPoolSize(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> PoolOptions.defaults().withPoolSize(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> PoolOptions.defaults().withPoolSize(0, 0));
+    }
+}
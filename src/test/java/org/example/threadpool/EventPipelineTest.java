@@ -0,0 +1,281 @@
+package org.example.threadpool;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPipelineTest {
+
+    /** Изменяемое событие ячейки кольца. */
+    static final class ValueEvent {
+        long value;
+        long doubled;
+        long incremented;
+    }
+
+    private static void setValue(ValueEvent event, Long value) {
+        event.value = value;
+    }
+
+    private final SimpleThreadPool pool = new SimpleThreadPool(4);
+
+    @AfterEach
+    void stop() {
+        pool.shutdownNow();
+        pool.awaitTermination();
+    }
+
+    @Test
+    @DisplayName("Обработчик получает события по порядку номеров")
+    @Timeout(10)
+    void singleHandlerInOrder() throws InterruptedException {
+        EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 64, WaitStrategy.BLOCKING);
+        List<Long> values = new ArrayList<>();
+        AtomicLong lastSequence = new AtomicLong(-1);
+        AtomicInteger gaps = new AtomicInteger();
+        pipeline.handleWith((event, sequence, endOfBatch) -> {
+            if (sequence != lastSequence.get() + 1) gaps.incrementAndGet();
+            lastSequence.set(sequence);
+            values.add(event.value);
+        });
+        pipeline.start(pool);
+
+        for (long i = 0; i < 10_000; i++) {
+            long sequence = pipeline.next();
+            pipeline.get(sequence).value = i;
+            pipeline.publish(sequence);
+        }
+        pipeline.shutdown();
+
+        assertEquals(0, gaps.get());
+        assertEquals(10_000, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, values.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Следующая стадия видит событие после всех обработчиков предыдущей")
+    @Timeout(10)
+    void stagesRespectDependencies() throws InterruptedException {
+        EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 16, WaitStrategy.SPIN_PARK);
+        AtomicInteger violations = new AtomicInteger();
+        AtomicLong sum = new AtomicLong();
+        pipeline.handleWith(
+                (event, sequence, endOfBatch) -> event.doubled = event.value * 2,
+                (event, sequence, endOfBatch) -> event.incremented = event.value + 1
+        ).then((event, sequence, endOfBatch) -> {
+            if (event.doubled != event.value * 2 || event.incremented != event.value + 1) {
+                violations.incrementAndGet();
+            }
+            sum.addAndGet(event.value);
+        });
+        pipeline.start(pool);
+
+        for (long i = 0; i < 50_000; i++) {
+            pipeline.publishEvent(EventPipelineTest::setValue, i);
+        }
+        pipeline.shutdown();
+
+        assertEquals(0, violations.get());
+        assertEquals(50_000L * 49_999 / 2, sum.get());
+    }
+
+    @Test
+    @DisplayName("Несколько производителей: каждое событие обработано ровно один раз, кольцо не перезаписано")
+    @Timeout(20)
+    void multipleProducersWithSmallRing() throws InterruptedException {
+        EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 8, WaitStrategy.BLOCKING);
+        int producers = 4;
+        int perProducer = 25_000;
+        AtomicLong sum = new AtomicLong();
+        AtomicInteger count = new AtomicInteger();
+        pipeline.handleWith((event, sequence, endOfBatch) -> {
+            sum.addAndGet(event.value);
+            count.incrementAndGet();
+        });
+        pipeline.start(pool);
+
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (long i = 1; i <= perProducer; i++) {
+                    pipeline.publishEvent(EventPipelineTest::setValue, i);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        pipeline.shutdown();
+
+        assertEquals(producers * perProducer, count.get());
+        assertEquals(producers * (long) perProducer * (perProducer + 1) / 2, sum.get());
+    }
+
+    @Test
+    @DisplayName("Обработчик видит границы пачек: onBatchStart и endOfBatch")
+    @Timeout(10)
+    void batchAwareHandler() throws InterruptedException {
+        EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 1024, WaitStrategy.BLOCKING);
+        AtomicLong announced = new AtomicLong();
+        AtomicLong seen = new AtomicLong();
+        AtomicInteger batches = new AtomicInteger();
+        AtomicInteger ends = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline.handleWith(new EventHandler<>() {
+            @Override
+            public void onBatchStart(long batchSize) {
+                announced.addAndGet(batchSize);
+                batches.incrementAndGet();
+            }
+
+            @Override
+            public void onEvent(ValueEvent event, long sequence, boolean endOfBatch) throws InterruptedException {
+                release.await();
+                seen.incrementAndGet();
+                if (endOfBatch) ends.incrementAndGet();
+            }
+        });
+
+        // Опубликованное до запуска придёт одной пачкой
+        long last = pipeline.next(100);
+        pipeline.publish(last - 99, last);
+        pipeline.start(pool);
+        release.countDown();
+        pipeline.shutdown();
+
+        assertEquals(100, seen.get());
+        assertEquals(100, announced.get());
+        assertEquals(1, batches.get());
+        assertEquals(1, ends.get());
+    }
+
+    @Test
+    @DisplayName("Все стратегии ожидания доставляют события")
+    @Timeout(20)
+    void allWaitStrategies() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 32, strategy);
+            AtomicLong sum = new AtomicLong();
+            pipeline.handleWith((event, sequence, endOfBatch) -> sum.addAndGet(event.value))
+                    .then((event, sequence, endOfBatch) -> event.value = 0);
+            pipeline.start(pool);
+
+            for (long i = 1; i <= 1_000; i++) {
+                pipeline.publishEvent(EventPipelineTest::setValue, i);
+            }
+            pipeline.shutdown();
+
+            assertEquals(1_000L * 1_001 / 2, sum.get(), strategy.name());
+        }
+    }
+
+    @Test
+    @DisplayName("В установившемся режиме публикация и обработка не выделяют память")
+    @Timeout(20)
+    void steadyStateAllocatesNothing() throws InterruptedException {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 1024, WaitStrategy.SPIN_PARK);
+        Thread[] handlerThread = new Thread[1];
+        long[] total = new long[1];
+        pipeline.handleWith((event, sequence, endOfBatch) -> {
+            handlerThread[0] = Thread.currentThread();
+            total[0] += event.value;
+        });
+        pipeline.start(pool);
+        Long one = 1L;
+        for (int i = 0; i < 200_000; i++) {
+            pipeline.publishEvent(EventPipelineTest::setValue, one); // прогрев JIT
+        }
+        while (pipeline.getCursor() != 199_999 || handlerThread[0] == null) {
+            Thread.yield();
+        }
+
+        long producerBefore = threads.getCurrentThreadAllocatedBytes();
+        long handlerBefore = threads.getThreadAllocatedBytes(handlerThread[0].threadId());
+        for (int i = 0; i < 100_000; i++) {
+            pipeline.publishEvent(EventPipelineTest::setValue, one);
+        }
+        long producerAllocated = threads.getCurrentThreadAllocatedBytes() - producerBefore;
+        pipeline.shutdown();
+        long handlerAllocated = threads.getThreadAllocatedBytes(handlerThread[0].threadId()) - handlerBefore;
+
+        // Запас на случайные выделения JVM; одна обёртка на событие дала бы мегабайты
+        assertTrue(producerAllocated < 64 * 1024, "producer allocated " + producerAllocated);
+        assertTrue(handlerAllocated < 64 * 1024, "handler allocated " + handlerAllocated);
+        assertEquals(300_000, total[0]);
+    }
+
+    @Test
+    @DisplayName("Стадии нельзя добавлять после запуска, запуск — один раз")
+    void lifecycle() {
+        EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 4, WaitStrategy.BLOCKING);
+        assertThrows(IllegalArgumentException.class, () -> new EventPipeline<>(ValueEvent::new, 6, WaitStrategy.BLOCKING));
+        assertThrows(IllegalStateException.class, () -> pipeline.start(pool));
+
+        EventPipeline.Stage<ValueEvent> stage = pipeline.handleWith((event, sequence, endOfBatch) -> {});
+        pipeline.start(pool);
+
+        assertThrows(IllegalStateException.class, () -> pipeline.start(pool));
+        assertThrows(IllegalStateException.class, () -> stage.then((event, sequence, endOfBatch) -> {}));
+        pipeline.halt();
+    }
+
+    @Test
+    @DisplayName("halt останавливает обработчик после текущей пачки, даже пока производитель публикует")
+    @Timeout(10)
+    void haltWhileProducerPublishes() throws InterruptedException {
+        EventPipeline<ValueEvent> pipeline = new EventPipeline<>(ValueEvent::new, 1024, WaitStrategy.BLOCKING);
+        CountDownLatch inFirstBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+        pipeline.handleWith((event, sequence, endOfBatch) -> {
+            handled.incrementAndGet();
+            if (sequence == 0) {
+                inFirstBatch.countDown();
+                release.await();
+            }
+        });
+        pipeline.start(pool);
+        pipeline.publishEvent(EventPipelineTest::setValue, 0L);
+        assertTrue(inFirstBatch.await(2, TimeUnit.SECONDS));
+
+        AtomicBoolean producing = new AtomicBoolean(true);
+        Thread producer = new Thread(() -> {
+            try {
+                for (long i = 1; producing.get(); i++) {
+                    pipeline.publishEvent(EventPipelineTest::setValue, i);
+                    Thread.yield();
+                }
+            } catch (IllegalStateException e) {
+                // Кольцо заполнилось после остановки обработчика
+            }
+        });
+        producer.start();
+        while (pipeline.getCursor() < 100) {
+            Thread.yield();
+        }
+
+        pipeline.halt();
+        release.countDown();
+        // Возвращается, когда обработчик освободил воркер
+        pipeline.shutdown();
+        producing.set(false);
+        producer.join();
+
+        assertEquals(1, handled.get());
+    }
+}
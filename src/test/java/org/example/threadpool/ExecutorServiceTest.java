@@ -0,0 +1,172 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleThreadPool pool;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    /** Занимает единственного воркера до {@code release}. */
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException ignored) {}
+        });
+        started.await();
+    }
+
+    @Test
+    @DisplayName("submit возвращает результат и исключение задачи")
+    @Timeout(5)
+    void submit() throws Exception {
+        pool = new SimpleThreadPool(2);
+
+        assertEquals(42, pool.submit(() -> 42).get());
+        assertNull(pool.submit(() -> {}).get());
+        assertEquals("done", pool.submit(() -> {}, "done").get(1, TimeUnit.SECONDS));
+
+        Future<Object> failed = pool.submit(() -> { throw new IllegalArgumentException("boom"); });
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertTrue(failed.isDone());
+    }
+
+    @Test
+    @DisplayName("get с таймаутом и отмена ещё не начатой задачи")
+    @Timeout(5)
+    void timeoutAndCancel() throws InterruptedException {
+        pool = new SimpleThreadPool(1);
+        occupyWorker();
+        AtomicBoolean ran = new AtomicBoolean();
+        Future<?> queued = pool.submit(() -> ran.set(true));
+
+        assertThrows(TimeoutException.class, () -> queued.get(20, TimeUnit.MILLISECONDS));
+        assertTrue(queued.cancel(false));
+        assertFalse(queued.cancel(false));
+        assertTrue(queued.isCancelled());
+        assertThrows(CancellationException.class, queued::get);
+
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination();
+        assertFalse(ran.get());
+    }
+
+    @Test
+    @DisplayName("cancel(true) прерывает выполняющуюся задачу, следующая задача воркера не прервана")
+    @Timeout(5)
+    void cancelInterruptsRunningTask() throws Exception {
+        pool = new SimpleThreadPool(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<?> running = pool.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        started.await();
+
+        assertTrue(running.cancel(true));
+        interrupted.await();
+        assertFalse(pool.submit(() -> Thread.currentThread().isInterrupted()).get());
+    }
+
+    @Test
+    @DisplayName("invokeAll и invokeAny")
+    @Timeout(5)
+    void invokeAllAndAny() throws Exception {
+        pool = new SimpleThreadPool(3);
+        List<Callable<Integer>> tasks = List.of(() -> 1, () -> 2, () -> 3);
+
+        List<Future<Integer>> futures = pool.invokeAll(tasks);
+        assertEquals(List.of(1, 2, 3), futures.stream().map(f -> f.resultNow()).toList());
+
+        int any = pool.invokeAny(List.of(() -> { throw new IllegalStateException(); }, () -> 7));
+        assertEquals(7, any);
+    }
+
+    @Test
+    @DisplayName("shutdownNow возвращает невыполненные задачи и прерывает выполняющиеся")
+    @Timeout(5)
+    void shutdownNow() throws InterruptedException {
+        pool = new SimpleThreadPool(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        started.await();
+        Runnable second = () -> {};
+        Runnable third = () -> {};
+        pool.execute(second);
+        pool.execute(third);
+
+        List<Runnable> pending = pool.shutdownNow();
+
+        assertEquals(List.of(second, third), pending);
+        interrupted.await();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(pool.isTerminated());
+    }
+
+    @Test
+    @DisplayName("awaitTermination с таймаутом возвращает false, пока пул работает")
+    @Timeout(5)
+    void awaitTerminationTimeout() throws InterruptedException {
+        pool = new SimpleThreadPool(1);
+        occupyWorker();
+        pool.shutdown();
+
+        assertFalse(pool.awaitTermination(20, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Пул работает как Executor для CompletableFuture")
+    @Timeout(5)
+    void completableFuture() {
+        pool = new SimpleThreadPool(2);
+
+        int result = CompletableFuture.supplyAsync(() -> 20, pool)
+                .thenApplyAsync(x -> x + 22, pool)
+                .join();
+
+        assertEquals(42, result);
+    }
+}
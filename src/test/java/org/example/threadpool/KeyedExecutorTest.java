@@ -0,0 +1,308 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedExecutorTest {
+
+    private final SimpleThreadPool pool = new SimpleThreadPool(4);
+
+    @AfterEach
+    void stop() {
+        pool.shutdown();
+        pool.awaitTermination();
+    }
+
+    @Test
+    @DisplayName("Задачи одного ключа выполняются по порядку и не одновременно")
+    @Timeout(10)
+    void perKeyOrdering() throws InterruptedException {
+        KeyedExecutor<Integer> keyed = new KeyedExecutor<>(pool, 8);
+        int keys = 16;
+        int perKey = 2_000;
+        List<List<Integer>> seen = new ArrayList<>();
+        AtomicInteger[] running = new AtomicInteger[keys];
+        AtomicInteger overlaps = new AtomicInteger();
+        for (int k = 0; k < keys; k++) {
+            seen.add(new ArrayList<>());
+            running[k] = new AtomicInteger();
+        }
+        CountDownLatch done = new CountDownLatch(keys * perKey);
+
+        for (int i = 0; i < perKey; i++) {
+            for (int k = 0; k < keys; k++) {
+                int key = k;
+                int seq = i;
+                keyed.execute(key, () -> {
+                    if (running[key].incrementAndGet() != 1) overlaps.incrementAndGet();
+                    seen.get(key).add(seq);
+                    running[key].decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        for (List<Integer> order : seen) {
+            assertEquals(perKey, order.size());
+            for (int i = 0; i < perKey; i++) {
+                assertEquals(i, order.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Разные ключи выполняются параллельно")
+    @Timeout(5)
+    void keysRunInParallel() throws InterruptedException {
+        KeyedExecutor<String> keyed = new KeyedExecutor<>(pool);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+
+        for (String key : List.of("a", "b")) {
+            keyed.execute(key, () -> {
+                bothStarted.countDown();
+                try {
+                    assertTrue(bothStarted.await(2, TimeUnit.SECONDS));
+                } catch (InterruptedException ignored) {
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Ящик простаивающего ключа удаляется, память не растёт с числом ключей")
+    @Timeout(10)
+    void idleKeysAreRemoved() throws Exception {
+        KeyedExecutor<Integer> keyed = new KeyedExecutor<>(pool);
+        CountDownLatch done = new CountDownLatch(100_000);
+
+        for (int key = 0; key < 100_000; key++) {
+            keyed.execute(key, done::countDown);
+        }
+        done.await();
+        while (keyed.getActiveKeys() != 0) {
+            Thread.yield();
+        }
+
+        assertEquals(42, keyed.submit(7, () -> 42).get());
+        while (keyed.getActiveKeys() != 0) {
+            Thread.yield();
+        }
+    }
+
+    @Test
+    @DisplayName("Исключение задачи не останавливает очередь ключа")
+    @Timeout(5)
+    void failureDoesNotBlockKey() throws Exception {
+        KeyedExecutor<String> keyed = new KeyedExecutor<>(pool);
+
+        keyed.execute("a", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertEquals("next", keyed.submit("a", () -> "next").get());
+    }
+
+    @Test
+    @DisplayName("Горячий ключ уступает воркер другим ключам после пакета")
+    @Timeout(5)
+    void hotKeyYields() throws InterruptedException {
+        SimpleThreadPool single = new SimpleThreadPool(1);
+        try {
+            KeyedExecutor<String> keyed = new KeyedExecutor<>(single, 1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger hotRuns = new AtomicInteger();
+            CountDownLatch other = new CountDownLatch(1);
+            int[] hotRunsBeforeOther = new int[1];
+
+            keyed.execute("hot", () -> {
+                try { release.await(); } catch (InterruptedException ignored) {}
+            });
+            for (int i = 0; i < 100; i++) {
+                keyed.execute("hot", hotRuns::incrementAndGet);
+            }
+            keyed.execute("cold", () -> {
+                hotRunsBeforeOther[0] = hotRuns.get();
+                other.countDown();
+            });
+            release.countDown();
+
+            assertTrue(other.await(3, TimeUnit.SECONDS));
+            assertTrue(hotRunsBeforeOther[0] < 100, "cold ждал весь горячий ключ: " + hotRunsBeforeOther[0]);
+        } finally {
+            single.shutdown();
+            single.awaitTermination();
+        }
+    }
+
+    @Test
+    @DisplayName("После shutdown пула принятые задачи ключа дорабатываются, новые ключи отклоняются")
+    @Timeout(5)
+    void shutdown() throws InterruptedException {
+        KeyedExecutor<String> keyed = new KeyedExecutor<>(pool, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        keyed.execute("a", () -> {
+            try { release.await(); } catch (InterruptedException ignored) {}
+        });
+        for (int i = 0; i < 10; i++) {
+            keyed.execute("a", runs::incrementAndGet);
+        }
+
+        pool.shutdown();
+        assertThrows(IllegalStateException.class, () -> keyed.execute("b", () -> {}));
+        release.countDown();
+        pool.awaitTermination();
+
+        assertEquals(10, runs.get());
+        assertEquals(0, keyed.getActiveKeys());
+    }
+
+    @Test
+    @DisplayName("Отказ пула в новом ящике отклоняет и задачи, поставленные в него из другого потока")
+    @Timeout(5)
+    void rejectionWhileAnotherThreadEnqueues() throws Exception {
+        CountDownLatch inExecute = new CountDownLatch(1);
+        CountDownLatch reject = new CountDownLatch(1);
+        Executor rejecting = task -> {
+            inExecute.countDown();
+            try {
+                reject.await();
+            } catch (InterruptedException ignored) {
+            }
+            throw new RejectedExecutionException("full");
+        };
+        KeyedExecutor<String> keyed = new KeyedExecutor<>(rejecting);
+        AtomicInteger runs = new AtomicInteger();
+
+        AtomicReference<Throwable> creatorThrown = new AtomicReference<>();
+        Thread creator = new Thread(() -> {
+            try {
+                keyed.execute("k", runs::incrementAndGet);
+            } catch (Throwable t) {
+                creatorThrown.set(t);
+            }
+        });
+        creator.start();
+        assertTrue(inExecute.await(2, TimeUnit.SECONDS));
+
+        AtomicReference<Future<Integer>> submitted = new AtomicReference<>();
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread second = new Thread(() -> {
+            try {
+                submitted.set(keyed.submit("k", runs::incrementAndGet));
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        second.start();
+        // Второй постановщик положил задачу в ещё не принятый ящик и ждёт решения пула
+        while (second.getState() != Thread.State.WAITING) {
+            assertTrue(second.isAlive());
+            Thread.yield();
+        }
+        reject.countDown();
+        creator.join(2_000);
+        second.join(2_000);
+
+        assertInstanceOf(RejectedExecutionException.class, creatorThrown.get());
+        assertInstanceOf(RejectedExecutionException.class, thrown.get());
+        assertNull(submitted.get());
+        assertEquals(0, runs.get());
+        assertEquals(0, keyed.getActiveKeys());
+    }
+
+    @Test
+    @DisplayName("Пул с DISCARD_OLDEST не поддерживается: выброшенный ящик остановил бы ключ")
+    void discardOldestPoolRejected() {
+        SimpleThreadPool discarding = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(1)
+                .withQueueCapacity(4)
+                .withRejectionPolicy(RejectionPolicy.DISCARD_OLDEST));
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new KeyedExecutor<>(discarding));
+        } finally {
+            discarding.shutdown();
+            discarding.awaitTermination();
+        }
+    }
+
+    @Test
+    @DisplayName("Горячий ключ при полной очереди и CALLER_RUNS не наращивает стек пачка за пачкой")
+    @Timeout(20)
+    void callerRunsOnFullQueueDoesNotRecurse() throws Exception {
+        SimpleThreadPool tiny = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(1)
+                .withQueueCapacity(2)
+                .withRejectionPolicy(RejectionPolicy.CALLER_RUNS));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            // Единственный воркер занят, очередь заполнена: каждый повторный execute ящика идёт по CALLER_RUNS
+            tiny.execute(() -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(blocked.await(2, TimeUnit.SECONDS));
+            tiny.execute(() -> {});
+            tiny.execute(() -> {});
+
+            KeyedExecutor<String> keyed = new KeyedExecutor<>(tiny, 1);
+            int tasks = 100_000;
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger outOfOrder = new AtomicInteger();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            // Маленький стек: рекурсия на кадр за пачку переполнила бы его задолго до конца
+            Thread producer = new Thread(null, () -> {
+                try {
+                    keyed.execute("hot", () -> {
+                        for (int i = 0; i < tasks; i++) {
+                            int expected = i;
+                            keyed.execute("hot", () -> {
+                                if (next.getAndIncrement() != expected) {
+                                    outOfOrder.incrementAndGet();
+                                }
+                            });
+                        }
+                    });
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }, "keyed-producer", 256 * 1024);
+            producer.start();
+            producer.join();
+
+            assertNull(failure.get());
+            assertEquals(tasks, next.get());
+            assertEquals(0, outOfOrder.get());
+            assertEquals(0, keyed.getActiveKeys());
+        } finally {
+            release.countDown();
+            tiny.shutdown();
+            tiny.awaitTermination();
+        }
+    }
+}
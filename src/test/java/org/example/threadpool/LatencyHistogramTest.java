@@ -0,0 +1,64 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Корзины непрерывны, а их границы покрывают значение с погрешностью не больше 1/8")
+    void bucketBounds() {
+        for (long value : new long[] {0, 1, 7, 8, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucket(value);
+            long upper = LatencyHistogram.upperBound(bucket);
+            assertTrue(upper >= value, "Граница корзины меньше значения " + value);
+            assertTrue(upper - value <= value / LatencyHistogram.SUB_BUCKETS, "Корзина слишком широка для " + value);
+            assertEquals(bucket, LatencyHistogram.bucket(upper));
+            if (bucket > 0) {
+                // Следующее значение за границей предыдущей корзины попадает в эту
+                assertEquals(bucket, LatencyHistogram.bucket(LatencyHistogram.upperBound(bucket - 1) + 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Квантили, среднее и максимум снимка")
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.count());
+        assertEquals(Duration.ofNanos(50_500), snapshot.mean());
+        assertEquals(Duration.ofNanos(100_000), snapshot.max());
+        assertWithin(50_000, snapshot.percentile(0.5));
+        assertWithin(90_000, snapshot.percentile(0.9));
+        assertEquals(Duration.ofNanos(100_000), snapshot.percentile(1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentile(1.5));
+    }
+
+    @Test
+    @DisplayName("Пустая гистограмма и отрицательные значения")
+    void emptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(Duration.ZERO, histogram.snapshot().percentile(0.99));
+
+        histogram.record(-5);
+
+        assertEquals(1, histogram.snapshot().count());
+        assertEquals(Duration.ZERO, histogram.snapshot().max());
+    }
+
+    private static void assertWithin(long expectedNanos, Duration actual) {
+        long nanos = actual.toNanos();
+        assertTrue(nanos >= expectedNanos && nanos <= expectedNanos + expectedNanos / 8,
+                "Ожидалось около " + expectedNanos + " нс, получено " + nanos);
+    }
+}
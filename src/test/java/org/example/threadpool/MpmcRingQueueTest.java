@@ -0,0 +1,179 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpmcRingQueueTest {
+
+    @Test
+    @DisplayName("Ёмкость округляется до степени двойки, заполненная очередь отклоняет offer")
+    void boundedFifo() {
+        MpmcRingQueue queue = new MpmcRingQueue(3);
+        assertEquals(4, queue.capacity());
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Runnable task = () -> {};
+            tasks.add(task);
+            assertTrue(queue.offer(task));
+        }
+        assertFalse(queue.offer(() -> {}));
+        assertEquals(4, queue.size());
+
+        for (Runnable task : tasks) {
+            assertSame(task, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Кольцо переиспользует ячейки на следующих кругах")
+    void wrapsAround() {
+        MpmcRingQueue queue = new MpmcRingQueue(1);
+        assertEquals(2, queue.capacity());
+        for (int i = 0; i < 10; i++) {
+            Runnable task = () -> {};
+            assertTrue(queue.offer(task));
+            assertSame(task, queue.poll());
+        }
+    }
+
+    @Test
+    @DisplayName("Пакетные offerAll и drainTo берут столько, сколько есть места и задач")
+    void batchOperations() {
+        MpmcRingQueue queue = new MpmcRingQueue(4);
+        Runnable[] tasks = new Runnable[6];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = () -> {};
+        }
+
+        assertEquals(3, queue.offerAll(tasks, 0, 3));
+        assertEquals(1, queue.offerAll(tasks, 3, 6));
+        assertEquals(0, queue.offerAll(tasks, 4, 6));
+
+        Runnable[] out = new Runnable[8];
+        assertEquals(2, queue.drainTo(out, 2));
+        assertSame(tasks[0], out[0]);
+        assertSame(tasks[1], out[1]);
+        assertEquals(2, queue.offerAll(tasks, 4, 6));
+        assertEquals(4, queue.drainTo(out, 8));
+        assertArrayEquals(new Runnable[] {tasks[2], tasks[3], tasks[4], tasks[5]}, Arrays.copyOf(out, 4));
+        assertEquals(0, queue.drainTo(out, 8));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new MpmcRingQueue(0));
+        assertThrows(NullPointerException.class, () -> new MpmcRingQueue(1).offer(null));
+    }
+
+    @Test
+    @DisplayName("Стресс: 4 производителя и 4 потребителя не теряют и не дублируют задачи")
+    @Timeout(20)
+    void concurrentProducersAndConsumers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        MpmcRingQueue queue = new MpmcRingQueue(64);
+        AtomicIntegerArray runs = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(2 * producers);
+
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    int id = first + i;
+                    Runnable task = () -> runs.incrementAndGet(id);
+                    while (!queue.offer(task)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            }).start();
+            new Thread(() -> {
+                while (consumed.get() < total) {
+                    Runnable task = queue.poll();
+                    if (task == null) {
+                        Thread.yield();
+                    } else {
+                        task.run();
+                        consumed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        for (int id = 0; id < total; id++) {
+            assertEquals(1, runs.get(id), "Задача " + id + " выдана не ровно один раз");
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Стресс пакетами: 4 производителя offerAll и 4 потребителя drainTo")
+    @Timeout(20)
+    void concurrentBatches() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        MpmcRingQueue queue = new MpmcRingQueue(64);
+        AtomicIntegerArray runs = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(2 * producers);
+
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            new Thread(() -> {
+                Runnable[] tasks = new Runnable[perProducer];
+                for (int i = 0; i < perProducer; i++) {
+                    int id = first + i;
+                    tasks[i] = () -> runs.incrementAndGet(id);
+                }
+                int offered = 0;
+                while (offered < perProducer) {
+                    int added = queue.offerAll(tasks, offered, Math.min(perProducer, offered + 16));
+                    if (added == 0) {
+                        Thread.yield();
+                    }
+                    offered += added;
+                }
+                done.countDown();
+            }).start();
+            new Thread(() -> {
+                Runnable[] buffer = new Runnable[16];
+                while (consumed.get() < total) {
+                    int taken = queue.drainTo(buffer, buffer.length);
+                    if (taken == 0) {
+                        Thread.yield();
+                    }
+                    for (int i = 0; i < taken; i++) {
+                        buffer[i].run();
+                    }
+                    consumed.addAndGet(taken);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        for (int id = 0; id < total; id++) {
+            assertEquals(1, runs.get(id), "Задача " + id + " выдана не ровно один раз");
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolMetricsTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleThreadPool pool;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    private void blockUntilReleased() {
+        try { release.await(); } catch (InterruptedException ignored) {}
+    }
+
+    @Test
+    @DisplayName("Счётчики принятых, выполненных и упавших задач")
+    @Timeout(5)
+    void counters() throws InterruptedException {
+        pool = new SimpleThreadPool(2);
+        Future<?> failedFuture = pool.submit(() -> { throw new IllegalStateException("expected"); });
+        for (int i = 0; i < 10; i++) {
+            pool.execute(() -> {});
+        }
+        pool.execute(() -> { throw new IllegalStateException("expected"); });
+        assertThrows(ExecutionException.class, failedFuture::get);
+        pool.shutdown();
+        pool.awaitTermination();
+
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(12, metrics.submitted());
+        assertEquals(10, metrics.completed());
+        assertEquals(2, metrics.failed());
+        assertEquals(12, metrics.runTime().count());
+        assertEquals(12, metrics.queueWait().count());
+    }
+
+    @Test
+    @DisplayName("Гистограммы ожидания и выполнения, активные воркеры и пик очереди")
+    @Timeout(5)
+    void histogramsAndGauges() throws InterruptedException {
+        pool = new SimpleThreadPool(1);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            blockUntilReleased();
+        });
+        started.await();
+        for (int i = 0; i < 5; i++) {
+            pool.execute(() -> {});
+        }
+
+        PoolMetrics busy = pool.getMetrics();
+        assertEquals(1, busy.activeWorkers());
+        assertEquals(5, busy.queueSize());
+        assertEquals(5, busy.peakQueueDepth());
+
+        Thread.sleep(30);
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination();
+
+        PoolMetrics done = pool.getMetrics();
+        assertTrue(done.runTime().max().toMillis() >= 30, "Блокирующая задача выполнялась не меньше 30 мс");
+        assertTrue(done.queueWait().percentile(0.5).toMillis() >= 30, "Задачи за ней ждали не меньше 30 мс");
+        assertEquals(0, done.queueSize());
+        assertEquals(5, done.peakQueueDepth());
+    }
+
+    @Test
+    @DisplayName("Без замера времени гистограммы пусты, счётчики ведутся")
+    @Timeout(5)
+    void timingDisabled() {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(1).withTaskTiming(false));
+        pool.execute(() -> {});
+        pool.shutdown();
+        pool.awaitTermination();
+
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.completed());
+        assertEquals(0, metrics.runTime().count());
+    }
+
+    @Test
+    @DisplayName("MBean публикует метрики и снимается с регистрации при завершении пула")
+    @Timeout(5)
+    void mbean() throws Exception {
+        pool = new SimpleThreadPool(1);
+        ObjectName name = pool.registerMBean("metrics-test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            pool.execute(done::countDown);
+        }
+        done.await();
+
+        assertEquals(3L, server.getAttribute(name, "SubmittedCount"));
+        assertEquals(1, server.getAttribute(name, "PoolSize"));
+        SimpleThreadPool other = new SimpleThreadPool(1);
+        assertThrows(IllegalStateException.class, () -> other.registerMBean("metrics-test"));
+        other.shutdown();
+
+        pool.shutdown();
+        pool.awaitTermination();
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrioritySchedulingTest {
+
+    private static final int HIGH = 2;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleThreadPool pool;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException ignored) {}
+        });
+        started.await();
+    }
+
+    @Test
+    @DisplayName("Срочная задача обгоняет очередь фоновых")
+    @Timeout(5)
+    void urgentTaskJumpsBacklog() throws Exception {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(1).withPriorities(3, Duration.ofSeconds(10)));
+        occupyWorker();
+        List<String> order = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pool.execute(() -> order.add("background"));
+        }
+
+        var urgent = pool.submit(() -> order.add("urgent"), HIGH);
+        release.countDown();
+
+        assertTrue(urgent.get(1, TimeUnit.SECONDS));
+        pool.shutdown();
+        pool.awaitTermination();
+        assertEquals("urgent", order.get(0));
+        assertEquals(101, order.size());
+    }
+
+    @Test
+    @DisplayName("Фоновая задача не голодает под потоком срочных")
+    @Timeout(10)
+    void backgroundTaskDoesNotStarve() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(1).withPriorities(2, Duration.ofMillis(20)));
+        occupyWorker();
+        CountDownLatch backgroundDone = new CountDownLatch(1);
+        pool.execute(backgroundDone::countDown);
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        Thread producer = new Thread(() -> {
+            while (flooding.get()) {
+                pool.execute(() -> {
+                    try { Thread.sleep(1); } catch (InterruptedException ignored) {}
+                }, 1);
+                try { Thread.sleep(0, 500_000); } catch (InterruptedException ignored) {}
+            }
+        });
+        producer.start();
+        release.countDown();
+
+        try {
+            assertTrue(backgroundDone.await(2, TimeUnit.SECONDS), "Фоновая задача не выполнилась под нагрузкой");
+        } finally {
+            flooding.set(false);
+            producer.join();
+        }
+    }
+}
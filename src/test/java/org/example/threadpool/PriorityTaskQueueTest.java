@@ -0,0 +1,78 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityTaskQueueTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final PriorityTaskQueue queue = new PriorityTaskQueue(3, Duration.ofNanos(100), now::get);
+
+    @Test
+    @DisplayName("Старший уровень выбирается первым, внутри уровня — FIFO")
+    void priorityThenFifo() {
+        Runnable low = () -> {};
+        Runnable high1 = () -> {};
+        Runnable high2 = () -> {};
+        Runnable normal = () -> {};
+
+        queue.offer(low);
+        queue.offer(high1, 2);
+        queue.offer(normal, 1);
+        queue.offer(high2, 99);
+
+        assertEquals(4, queue.size());
+        assertSame(high1, queue.poll());
+        assertSame(high2, queue.poll());
+        assertSame(normal, queue.poll());
+        assertSame(low, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Старение: долго ждущая фоновая задача обгоняет свежие срочные")
+    void aging() {
+        Runnable background = () -> {};
+        queue.offer(background, 0);
+        now.set(150);
+        Runnable urgent = () -> {};
+        queue.offer(urgent, 2);
+
+        // Фоновая поднялась на один уровень — срочная пока впереди
+        assertSame(urgent, queue.poll());
+
+        now.set(350);
+        Runnable fresh = () -> {};
+        queue.offer(fresh, 2);
+        // 350 нс ожидания — три интервала: эффективный приоритет 3 выше свежей срочной
+        assertSame(background, queue.poll());
+        assertSame(fresh, queue.poll());
+    }
+
+    @Test
+    @DisplayName("Пакетная выборка соблюдает приоритеты")
+    void drainByPriority() {
+        Runnable low = () -> {};
+        Runnable high = () -> {};
+        queue.offer(low, 0);
+        queue.offer(high, 2);
+
+        Runnable[] buffer = new Runnable[4];
+        assertEquals(2, queue.drainTo(buffer, 4));
+        assertSame(high, buffer[0]);
+        assertSame(low, buffer[1]);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new PriorityTaskQueue(0, Duration.ofMillis(1)));
+        assertThrows(IllegalArgumentException.class, () -> new PriorityTaskQueue(2, Duration.ZERO));
+        assertThrows(NullPointerException.class, () -> queue.offer(null, 1));
+    }
+}
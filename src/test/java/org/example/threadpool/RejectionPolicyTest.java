@@ -0,0 +1,182 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RejectionPolicyTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleThreadPool pool;
+
+    /**
+     * Пул из одного воркера, занятого задачей до {@code release}, с заполненной очередью на две задачи.
+     */
+    private SimpleThreadPool saturated(PoolOptions options, Runnable first, Runnable second) throws InterruptedException {
+        pool = new SimpleThreadPool(options.withThreads(1).withQueueCapacity(2));
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException ignored) {}
+        });
+        started.await();
+        pool.execute(first);
+        pool.execute(second);
+        return pool;
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    @Test
+    @DisplayName("ABORT: переполнение отклоняется исключением и считается")
+    @Timeout(5)
+    void abort() throws InterruptedException {
+        saturated(PoolOptions.defaults(), () -> {}, () -> {});
+
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> {}));
+        assertEquals(1, pool.getRejectedCount());
+        assertEquals(2, pool.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS: задача выполняется в вызывающем потоке")
+    @Timeout(5)
+    void callerRuns() throws InterruptedException {
+        saturated(PoolOptions.defaults().withRejectionPolicy(RejectionPolicy.CALLER_RUNS), () -> {}, () -> {});
+        List<Thread> ranOn = new CopyOnWriteArrayList<>();
+
+        pool.execute(() -> ranOn.add(Thread.currentThread()));
+
+        assertEquals(List.of(Thread.currentThread()), ranOn);
+        assertEquals(1, pool.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("DISCARD_OLDEST: самая старая задача вытесняется новой")
+    @Timeout(5)
+    void discardOldest() throws InterruptedException {
+        List<String> ran = new CopyOnWriteArrayList<>();
+        saturated(PoolOptions.defaults().withRejectionPolicy(RejectionPolicy.DISCARD_OLDEST),
+                () -> ran.add("first"), () -> ran.add("second"));
+
+        pool.execute(() -> ran.add("third"));
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination();
+
+        assertEquals(List.of("second", "third"), ran);
+        assertEquals(1, pool.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("DISCARD_OLDEST: вытесненный future завершается отменой, а не висит")
+    @Timeout(5)
+    void discardOldestCancelsFuture() throws Exception {
+        pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(1)
+                .withQueueCapacity(2)
+                .withRejectionPolicy(RejectionPolicy.DISCARD_OLDEST));
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException ignored) {}
+        });
+        started.await();
+        Future<String> oldest = pool.submit(() -> "oldest");
+        Future<String> second = pool.submit(() -> "second");
+
+        Future<String> newest = pool.submit(() -> "newest");
+
+        assertTrue(oldest.isCancelled());
+        assertThrows(CancellationException.class, () -> oldest.get(1, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("second", second.get(2, TimeUnit.SECONDS));
+        assertEquals("newest", newest.get(2, TimeUnit.SECONDS));
+        assertEquals(1, pool.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("BLOCK: производитель ждёт места и продолжает, когда воркер освободился")
+    @Timeout(5)
+    void blockUntilSpace() throws InterruptedException {
+        saturated(PoolOptions.defaults().withRejectionPolicy(RejectionPolicy.BLOCK), () -> {}, () -> {});
+        CountDownLatch submitted = new CountDownLatch(1);
+
+        Thread producer = new Thread(() -> {
+            pool.execute(() -> {});
+            submitted.countDown();
+        });
+        producer.start();
+        assertFalse(submitted.await(100, TimeUnit.MILLISECONDS), "Производитель должен ждать места");
+
+        release.countDown();
+        assertTrue(submitted.await(2, TimeUnit.SECONDS));
+        assertEquals(1, pool.getBlockedCount());
+        assertEquals(0, pool.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("BLOCK с таймаутом: по истечении ожидания задача отклоняется")
+    @Timeout(5)
+    void blockTimesOut() throws InterruptedException {
+        saturated(PoolOptions.defaults()
+                .withRejectionPolicy(RejectionPolicy.BLOCK)
+                .withBlockTimeout(Duration.ofMillis(50)), () -> {}, () -> {});
+
+        long started = System.nanoTime();
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> {}));
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, pool.getBlockedCount());
+        assertEquals(1, pool.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("BLOCK: shutdown() освобождает ждущего производителя")
+    @Timeout(5)
+    void shutdownReleasesBlockedProducer() throws Exception {
+        saturated(PoolOptions.defaults().withRejectionPolicy(RejectionPolicy.BLOCK), () -> {}, () -> {});
+        CountDownLatch failed = new CountDownLatch(1);
+
+        Thread producer = new Thread(() -> {
+            try {
+                pool.execute(() -> {});
+            } catch (IllegalStateException e) {
+                failed.countDown();
+            }
+        });
+        producer.start();
+        while (pool.getBlockedCount() == 0) {
+            Thread.sleep(5);
+        }
+        pool.shutdown();
+
+        assertTrue(failed.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void invalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> PoolOptions.defaults().withQueueCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> PoolOptions.defaults().withBlockTimeout(Duration.ZERO));
+        assertThrows(NullPointerException.class, () -> PoolOptions.defaults().withRejectionPolicy(null));
+    }
+}
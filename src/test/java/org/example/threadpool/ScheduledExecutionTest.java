@@ -0,0 +1,170 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledExecutionTest {
+
+    private SimpleThreadPool pool = new SimpleThreadPool(2);
+
+    @AfterEach
+    void stop() {
+        pool.shutdown();
+        pool.awaitTermination();
+    }
+
+    @Test
+    @DisplayName("schedule выполняет задачу в пуле не раньше задержки")
+    @Timeout(5)
+    void delayedTask() throws Exception {
+        long started = System.nanoTime();
+
+        ScheduledFuture<String> future = pool.schedule(() -> Thread.currentThread().getName(), 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.getDelay(TimeUnit.MILLISECONDS) > 0);
+        assertTrue(future.get().startsWith("pool-worker-"));
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    @DisplayName("Отменённая отложенная задача не выполняется")
+    @Timeout(5)
+    void cancelDelayedTask() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> future = pool.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.cancel(false));
+        Thread.sleep(60);
+
+        assertEquals(0, runs.get());
+        assertThrows(CancellationException.class, future::get);
+    }
+
+    @Test
+    @DisplayName("scheduleAtFixedRate повторяет задачу до отмены")
+    @Timeout(5)
+    void fixedRate() throws InterruptedException {
+        CountDownLatch runs = new CountDownLatch(5);
+        long started = System.nanoTime();
+
+        ScheduledFuture<?> future = pool.scheduleAtFixedRate(runs::countDown, 0, 10, TimeUnit.MILLISECONDS);
+
+        runs.await();
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    @DisplayName("scheduleWithFixedDelay выдерживает задержку между запусками")
+    @Timeout(5)
+    void fixedDelay() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        long[] finished = new long[1];
+        AtomicInteger tooEarly = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(3);
+
+        ScheduledFuture<?> future = pool.scheduleWithFixedDelay(() -> {
+            long now = System.nanoTime();
+            if (runs.getAndIncrement() > 0 && now - finished[0] < TimeUnit.MILLISECONDS.toNanos(15)) {
+                tooEarly.incrementAndGet();
+            }
+            try { Thread.sleep(5); } catch (InterruptedException ignored) {}
+            finished[0] = System.nanoTime();
+            done.countDown();
+        }, 0, 15, TimeUnit.MILLISECONDS);
+
+        done.await();
+        future.cancel(false);
+        assertEquals(0, tooEarly.get());
+    }
+
+    @Test
+    @DisplayName("Исключение останавливает периодическую задачу")
+    @Timeout(5)
+    void failureStopsPeriodicTask() {
+        AtomicInteger runs = new AtomicInteger();
+
+        ScheduledFuture<?> future = pool.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("shutdown отменяет ещё не истёкшие таймеры, пул завершается")
+    @Timeout(5)
+    void shutdownCancelsTimers() {
+        ScheduledFuture<?> delayed = pool.schedule(() -> {}, 1, TimeUnit.HOURS);
+        ScheduledFuture<?> periodic = pool.scheduleAtFixedRate(() -> {}, 0, 1, TimeUnit.MILLISECONDS);
+
+        pool.shutdown();
+        pool.awaitTermination();
+
+        while (!delayed.isDone() || !periodic.isDone()) {
+            Thread.yield();
+        }
+        assertTrue(delayed.isCancelled());
+        assertTrue(periodic.isCancelled());
+        assertThrows(IllegalStateException.class, () -> pool.schedule(() -> {}, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Истёкший таймер при полной очереди отклоняется, политика переполнения не действует в тикере")
+    @Timeout(10)
+    void expiredTimerOnFullQueue() throws Exception {
+        for (RejectionPolicy policy : RejectionPolicy.values()) {
+            SimpleThreadPool bounded = new SimpleThreadPool(PoolOptions.defaults()
+                    .withThreads(1)
+                    .withQueueCapacity(2)
+                    .withRejectionPolicy(policy));
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            try {
+                bounded.execute(() -> {
+                    started.countDown();
+                    try { release.await(); } catch (InterruptedException ignored) {}
+                });
+                started.await();
+                Future<String> first = bounded.submit(() -> "first");
+                Future<String> second = bounded.submit(() -> "second");
+
+                ScheduledFuture<String> timer = bounded.schedule(
+                        () -> Thread.currentThread().getName(), 5, TimeUnit.MILLISECONDS);
+                ExecutionException e = assertThrows(ExecutionException.class, () -> timer.get(2, TimeUnit.SECONDS),
+                        policy.name());
+                assertInstanceOf(RejectedExecutionException.class, e.getCause(), policy.name());
+
+                // Тикер свободен: следующий таймер срабатывает, как только в очереди появится место
+                release.countDown();
+                assertEquals("first", first.get(2, TimeUnit.SECONDS), policy.name());
+                assertEquals("second", second.get(2, TimeUnit.SECONDS), policy.name());
+                ScheduledFuture<String> next = bounded.schedule(
+                        () -> Thread.currentThread().getName(), 5, TimeUnit.MILLISECONDS);
+                assertTrue(next.get(2, TimeUnit.SECONDS).startsWith("pool-worker-"), policy.name());
+            } finally {
+                release.countDown();
+                bounded.shutdown();
+                bounded.awaitTermination();
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -154,6 +155,44 @@ class SimpleThreadPoolTest {
     }
 
 
+    @Test
+    @DisplayName("Стресс: пул на кольцевой очереди выполняет все задачи")
+    @Timeout(15)
+    void stressWithRingQueue() {
+        SimpleThreadPool pool = new SimpleThreadPool(8, new MpmcRingQueue(1 << 14));
+        CountDownLatch done = new CountDownLatch(10_000);
+
+        for (int i = 0; i < 10_000; i++) {
+            pool.execute(done::countDown);
+        }
+
+        pool.shutdown();
+        pool.awaitTermination();
+        assertEquals(0, done.getCount());
+        assertEquals(0, pool.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Заполненная ограниченная очередь отклоняет задачу")
+    @Timeout(5)
+    void rejectWhenRingQueueIsFull() throws InterruptedException {
+        SimpleThreadPool pool = new SimpleThreadPool(1, new MpmcRingQueue(2));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException ignored) {}
+        });
+        started.await();
+        pool.execute(() -> {});
+        pool.execute(() -> {});
+
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> {}));
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination();
+    }
+
     @Test
     void invalidCapacity() {
         assertThrows(IllegalArgumentException.class, () -> new SimpleThreadPool(0));
@@ -0,0 +1,203 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StarvationMonitorTest {
+
+    private static void stop(SimpleThreadPool pool) {
+        pool.shutdown();
+        pool.awaitTermination();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(1);
+        }
+    }
+
+    /** Ожидание защёлки через {@link SimpleThreadPool#managedBlock}. */
+    private static ForkJoinPool.ManagedBlocker latchBlocker(CountDownLatch latch) {
+        return new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+                latch.await();
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return latch.getCount() == 0;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("managedBlock добавляет компенсирующего воркера, который завершается после ожидания")
+    @Timeout(10)
+    void managedBlockCompensates() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(1)
+                .withStarvationMonitor(null, 1));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> blocked = pool.submit(() -> {
+                SimpleThreadPool.managedBlock(latchBlocker(release));
+                return null;
+            });
+            // Единственный воркер ждёт задачу, стоящую за ним в очереди: без компенсации — взаимная блокировка
+            awaitCondition(() -> pool.getCompensatingCount() == 1);
+            pool.execute(release::countDown);
+
+            blocked.get(3, TimeUnit.SECONDS);
+            awaitCondition(() -> pool.getCompensatingCount() == 0 && pool.getPoolSize() == 1);
+            assertEquals(0, pool.getStarvationCount());
+        } finally {
+            stop(pool);
+        }
+    }
+
+    @Test
+    @DisplayName("Без разрешённой компенсации managedBlock только выполняет ожидание")
+    @Timeout(5)
+    void managedBlockWithoutCompensation() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(1);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            Future<?> blocked = pool.submit(() -> {
+                started.countDown();
+                SimpleThreadPool.managedBlock(latchBlocker(release));
+                return null;
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            assertEquals(0, pool.getCompensatingCount());
+            assertEquals(1, pool.getPoolSize());
+            release.countDown();
+            blocked.get(2, TimeUnit.SECONDS);
+        } finally {
+            stop(pool);
+        }
+
+        // Вне воркеров пула — обычное ожидание
+        CountDownLatch ready = new CountDownLatch(1);
+        ready.countDown();
+        SimpleThreadPool.managedBlock(latchBlocker(ready));
+    }
+
+    @Test
+    @DisplayName("Монитор находит зависший воркер и компенсирует его до возобновления прогресса")
+    @Timeout(10)
+    void monitorCompensatesStall() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(1)
+                .withStarvationMonitor(Duration.ofMillis(50), 2));
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(new ByteArrayOutputStream()));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            // Необъявленная блокировка: о ней пул узнаёт только по счётчику прогресса
+            Future<?> stalled = pool.submit(() -> {
+                release.await();
+                return null;
+            });
+            pool.execute(release::countDown);
+
+            stalled.get(3, TimeUnit.SECONDS);
+            assertEquals(1, pool.getStarvationCount());
+            awaitCondition(() -> pool.getCompensatingCount() == 0 && pool.getPoolSize() == 1);
+        } finally {
+            System.setErr(err);
+            stop(pool);
+        }
+    }
+
+    @Test
+    @DisplayName("Без компенсации монитор печатает дамп зависших воркеров")
+    @Timeout(10)
+    void monitorReportsStall() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(1)
+                .withStarvationMonitor(Duration.ofMillis(50), 0));
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(captured, true));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> stalled = pool.submit(() -> {
+                release.await();
+                return null;
+            });
+            CountDownLatch queued = new CountDownLatch(1);
+            pool.execute(queued::countDown);
+
+            awaitCondition(() -> pool.getStarvationCount() == 1);
+            assertEquals(0, pool.getCompensatingCount());
+            assertEquals(1, queued.getCount());
+
+            release.countDown();
+            stalled.get(2, TimeUnit.SECONDS);
+            assertTrue(queued.await(2, TimeUnit.SECONDS));
+        } finally {
+            System.setErr(err);
+            stop(pool);
+        }
+        String report = captured.toString();
+        assertTrue(report.contains("ThreadPool starvation: 1 stalled and 0 blocked of 1 workers, 1 queued tasks"), report);
+        assertTrue(report.contains("\"pool-worker-"), report);
+        assertTrue(report.contains("CountDownLatch.await"), report);
+    }
+
+    @Test
+    @DisplayName("Короткие задачи не считаются зависанием")
+    @Timeout(10)
+    void noFalseStalls() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withThreads(2)
+                .withStarvationMonitor(Duration.ofMillis(200), 2));
+        try {
+            CountDownLatch done = new CountDownLatch(2_000);
+            for (int i = 0; i < 2_000; i++) {
+                pool.execute(() -> {
+                    long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(50);
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(0, pool.getStarvationCount());
+            assertEquals(0, pool.getCompensatingCount());
+        } finally {
+            stop(pool);
+        }
+    }
+
+    @Test
+    @DisplayName("Настройки монитора проверяются")
+    void optionsValidation() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PoolOptions.defaults().withStarvationMonitor(Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PoolOptions.defaults().withStarvationMonitor(Duration.ofSeconds(1), -1));
+        PoolOptions options = PoolOptions.defaults().withStarvationMonitor(Duration.ofSeconds(1), 4);
+        assertEquals(Duration.ofSeconds(1), options.stallTimeout());
+        assertEquals(4, options.maxCompensating());
+        assertNull(PoolOptions.defaults().stallTimeout());
+    }
+}
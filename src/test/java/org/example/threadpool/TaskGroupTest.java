@@ -0,0 +1,229 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskGroupTest {
+
+    private static void stop(SimpleThreadPool pool) {
+        pool.shutdown();
+        pool.awaitTermination();
+    }
+
+    @Test
+    @DisplayName("join дожидается всех подзадач, результаты доступны без ожидания")
+    @Timeout(5)
+    void joinWaitsForAll() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(4);
+        try (TaskGroup group = new TaskGroup(pool)) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int n = i;
+                results.add(group.fork(() -> n * n));
+            }
+            group.join();
+
+            assertTrue(group.isDone());
+            assertFalse(group.isCancelled());
+            int sum = 0;
+            for (Future<Integer> result : results) {
+                assertTrue(result.isDone());
+                sum += result.resultNow();
+            }
+            assertEquals(328_350, sum);
+        } finally {
+            stop(pool);
+        }
+    }
+
+    @Test
+    @DisplayName("Первая ошибка отменяет остальные подзадачи с прерыванием и бросается из join")
+    @Timeout(5)
+    void firstFailureCancelsSiblings() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(4);
+        AtomicInteger interrupted = new AtomicInteger();
+        CountDownLatch siblingsStarted = new CountDownLatch(3);
+        try (TaskGroup group = new TaskGroup(pool)) {
+            List<Future<Object>> siblings = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                siblings.add(group.fork(() -> {
+                    siblingsStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            assertTrue(siblingsStarted.await(2, TimeUnit.SECONDS));
+            group.fork(() -> {
+                throw new IllegalStateException("boom");
+            });
+
+            long start = System.nanoTime();
+            ExecutionException e = assertThrows(ExecutionException.class, group::join);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("boom", e.getCause().getMessage());
+            assertTrue(group.isCancelled());
+            for (Future<Object> sibling : siblings) {
+                assertTrue(sibling.isCancelled());
+            }
+        } finally {
+            stop(pool);
+        }
+        assertEquals(3, interrupted.get());
+    }
+
+    @Test
+    @DisplayName("Таймаут join отменяет группу")
+    @Timeout(5)
+    void joinTimeoutCancels() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(2);
+        AtomicInteger interrupted = new AtomicInteger();
+        try (TaskGroup group = new TaskGroup(pool)) {
+            Future<Object> slow = group.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.incrementAndGet();
+                }
+                return null;
+            });
+            Future<String> fast = group.fork(() -> "ok");
+
+            assertThrows(TimeoutException.class, () -> group.join(100, TimeUnit.MILLISECONDS));
+            assertTrue(group.isCancelled());
+            assertTrue(slow.isCancelled());
+            assertEquals("ok", fast.get());
+            assertThrows(CancellationException.class, group::join);
+        } finally {
+            stop(pool);
+        }
+        assertEquals(1, interrupted.get());
+    }
+
+    @Test
+    @DisplayName("Вложенные fork/join не блокируют пул из одного воркера")
+    @Timeout(10)
+    void nestedJoinOnSingleWorker() throws Exception {
+        PoolOptions base = PoolOptions.defaults().withThreads(1);
+        for (PoolOptions options : List.of(base, base.withWorkStealing(true), base.withDrainBatch(8))) {
+            SimpleThreadPool pool = new SimpleThreadPool(options);
+            try (TaskGroup group = new TaskGroup(pool)) {
+                Future<Long> result = group.fork(() -> sum(pool, 0, 4_096));
+                group.join();
+                assertEquals(4_096L * 4_095 / 2, result.get());
+            } finally {
+                stop(pool);
+            }
+        }
+    }
+
+    /** Сумма [from, to) делением пополам: каждый уровень ждёт подзадачи внутри воркера. */
+    private static long sum(SimpleThreadPool pool, int from, int to) throws Exception {
+        if (to - from <= 16) {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += i;
+            }
+            return sum;
+        }
+        int middle = (from + to) >>> 1;
+        try (TaskGroup group = new TaskGroup(pool)) {
+            Future<Long> left = group.fork(() -> sum(pool, from, middle));
+            Future<Long> right = group.fork(() -> sum(pool, middle, to));
+            group.join();
+            return left.resultNow() + right.resultNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Ожидающий воркер выполняет чужие задачи из очереди")
+    @Timeout(5)
+    void joiningWorkerHelps() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        AtomicInteger helpedBy = new AtomicInteger();
+        try {
+            Future<?> outer = pool.submit(() -> {
+                Thread joiner = Thread.currentThread();
+                try (TaskGroup group = new TaskGroup(pool)) {
+                    group.fork(() -> {
+                        blockerStarted.countDown();
+                        return release.await(2, TimeUnit.SECONDS);
+                    });
+                    // Без work-stealing подзадача идёт в общую очередь, и забрать её может только второй воркер
+                    assertTrue(blockerStarted.await(2, TimeUnit.SECONDS));
+                    // Второй воркер занят подзадачей: задачу из очереди может выполнить только ожидающий
+                    pool.execute(() -> {
+                        if (Thread.currentThread() == joiner) {
+                            helpedBy.incrementAndGet();
+                        }
+                        release.countDown();
+                    });
+                    group.join();
+                }
+                return null;
+            });
+            outer.get();
+        } finally {
+            stop(pool);
+        }
+        assertEquals(1, helpedBy.get());
+    }
+
+    @Test
+    @DisplayName("Закрытая группа не принимает подзадачи, отменённая сразу отменяет новые")
+    @Timeout(5)
+    void closeAndCancel() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(2);
+        try {
+            TaskGroup group = new TaskGroup(pool);
+            CountDownLatch started = new CountDownLatch(1);
+            Future<Object> running = group.fork(() -> {
+                started.countDown();
+                Thread.sleep(10_000);
+                return null;
+            });
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            group.cancel();
+            assertTrue(running.isCancelled());
+            Future<String> late = group.fork(() -> "late");
+            assertTrue(late.isCancelled());
+            assertThrows(CancellationException.class, () -> group.join(1, TimeUnit.SECONDS));
+
+            group.close();
+            assertThrows(IllegalStateException.class, () -> group.fork(() -> "closed"));
+        } finally {
+            stop(pool);
+        }
+    }
+
+    @Test
+    @DisplayName("Подзадача, отклонённая пулом, не задерживает join")
+    @Timeout(5)
+    void rejectedForkDoesNotBlockJoin() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(1);
+        pool.shutdown();
+        pool.awaitTermination();
+        TaskGroup group = new TaskGroup(pool);
+        assertThrows(IllegalStateException.class, () -> group.fork(() -> "rejected"));
+        assertTrue(group.isDone());
+    }
+}
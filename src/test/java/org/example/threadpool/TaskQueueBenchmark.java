@@ -0,0 +1,229 @@
+package org.example.threadpool;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Масштабирование очередей задач от 1 до 64 производителей и потребителей.
+ *
+ * <p>Не JUnit-тест: запускается вручную, например
+ * {@code java -cp target/classes:target/test-classes org.example.threadpool.TaskQueueBenchmark}.
+ * Для каждого числа потоков N запускаются N производителей и N потребителей, которые прогоняют
+ * через очередь фиксированное число задач; печатается пропускная способность в млн операций/с.
+ * Первая таблица — голые очереди, вторая — {@link SimpleThreadPool} с N воркерами: поштучно и
+ * пакетами ({@link SimpleThreadPool#executeAll} по {@value #BATCH} задач, выборка по 32).
+ * Третья — задержка передачи одной задачи простаивающему воркеру при разных {@link WaitStrategy}.</p>
+ */
+public class TaskQueueBenchmark {
+
+    private static final int OPERATIONS = 2_000_000;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int BATCH = 256;
+    private static final Runnable TASK = () -> {};
+    private static final int HANDOFFS = 20_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("Queue throughput, Mops/s (%d operations)%n", OPERATIONS);
+        header();
+        row("synchronized LinkedList", threads -> queueThroughput(SynchronizedLinkedQueue::new, threads));
+        row("LinkedTaskQueue", threads -> queueThroughput(LinkedTaskQueue::new, threads));
+        row("MpmcRingQueue(1024)", threads -> queueThroughput(() -> new MpmcRingQueue(1024), threads));
+
+        System.out.printf("%nSimpleThreadPool throughput, Mops/s (N producers, N workers)%n");
+        header();
+        row("LinkedTaskQueue", threads -> poolThroughput(LinkedTaskQueue::new, threads));
+        row("MpmcRingQueue(65536)", threads -> poolThroughput(() -> new MpmcRingQueue(1 << 16), threads));
+        row("LinkedTaskQueue batched", threads -> poolBatchThroughput(PoolOptions.defaults(), threads));
+        row("MpmcRingQueue batched", threads -> poolBatchThroughput(
+                PoolOptions.defaults().withQueueCapacity(1 << 16).withRejectionPolicy(RejectionPolicy.BLOCK), threads));
+
+        System.out.printf("%nHandoff latency to an idle worker, ns (%d handoffs)%n", HANDOFFS);
+        System.out.printf("%-26s%10s%10s%10s%n", "strategy", "p50", "p99", "p99.9");
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            handoffLatency(strategy); // прогрев JIT
+            long[] latencies = handoffLatency(strategy);
+            System.out.printf("%-26s%10d%10d%10d%n", strategy, percentile(latencies, 0.5),
+                    percentile(latencies, 0.99), percentile(latencies, 0.999));
+        }
+    }
+
+    private interface Measurement {
+        double run(int threads) throws InterruptedException;
+    }
+
+    private static void header() {
+        StringBuilder line = new StringBuilder(String.format("%-26s", "threads"));
+        for (int threads : THREADS) {
+            line.append(String.format("%8d", threads));
+        }
+        System.out.println(line);
+    }
+
+    private static void row(String name, Measurement measurement) throws InterruptedException {
+        measurement.run(2); // прогрев JIT
+        StringBuilder line = new StringBuilder(String.format("%-26s", name));
+        for (int threads : THREADS) {
+            line.append(String.format("%8.2f", measurement.run(threads)));
+        }
+        System.out.println(line);
+    }
+
+    /** N производителей и N потребителей гоняют задачи через очередь. */
+    private static double queueThroughput(Supplier<TaskQueue> factory, int threads) throws InterruptedException {
+        TaskQueue queue = factory.get();
+        int perProducer = OPERATIONS / threads;
+        AtomicLong consumed = new AtomicLong();
+        long total = (long) perProducer * threads;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2 * threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                await(start);
+                for (int n = 0; n < perProducer; n++) {
+                    while (!queue.offer(TASK)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            }).start();
+            new Thread(() -> {
+                await(start);
+                while (consumed.get() < total) {
+                    if (queue.poll() != null) {
+                        consumed.incrementAndGet();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        done.await();
+        return total * 1e3 / (System.nanoTime() - started);
+    }
+
+    /** N производителей отправляют пустые задачи в пул из N воркеров. */
+    private static double poolThroughput(Supplier<TaskQueue> factory, int threads) throws InterruptedException {
+        SimpleThreadPool pool = new SimpleThreadPool(threads, factory.get());
+        int perProducer = OPERATIONS / threads;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch produced = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                await(start);
+                for (int n = 0; n < perProducer; n++) {
+                    while (true) {
+                        try {
+                            pool.execute(TASK);
+                            break;
+                        } catch (RejectedExecutionException full) {
+                            Thread.yield();
+                        }
+                    }
+                }
+                produced.countDown();
+            }).start();
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        produced.await();
+        pool.shutdown();
+        pool.awaitTermination();
+        return (long) perProducer * threads * 1e3 / (System.nanoTime() - started);
+    }
+
+    /** То же, что {@link #poolThroughput}, но пакетами: {@code executeAll} и пакетная выборка воркеров. */
+    private static double poolBatchThroughput(PoolOptions options, int threads) throws InterruptedException {
+        SimpleThreadPool pool = new SimpleThreadPool(options.withThreads(threads).withDrainBatch(32));
+        int perProducer = OPERATIONS / threads / BATCH * BATCH;
+        List<Runnable> batch = Arrays.asList(new Runnable[BATCH]);
+        batch.replaceAll(ignored -> TASK);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch produced = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                await(start);
+                for (int n = 0; n < perProducer; n += BATCH) {
+                    pool.executeAll(batch);
+                }
+                produced.countDown();
+            }).start();
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        produced.await();
+        pool.shutdown();
+        pool.awaitTermination();
+        return (long) perProducer * threads * 1e3 / (System.nanoTime() - started);
+    }
+
+    /**
+     * Один производитель ставит задачу, дождавшись, пока воркер выполнит предыдущую и снова простоит
+     * 50 мкс; задержка — от вызова {@code execute} до начала задачи.
+     */
+    private static long[] handoffLatency(WaitStrategy strategy) {
+        SimpleThreadPool pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(1)
+                .withTaskTiming(false).withWaitStrategy(strategy));
+        long[] latencies = new long[HANDOFFS];
+        AtomicLong startedAt = new AtomicLong();
+        Runnable task = () -> startedAt.set(System.nanoTime());
+        for (int i = 0; i < HANDOFFS; i++) {
+            startedAt.set(0);
+            long submittedAt = System.nanoTime();
+            pool.execute(task);
+            long started;
+            while ((started = startedAt.get()) == 0) {
+                Thread.onSpinWait();
+            }
+            latencies[i] = started - submittedAt;
+            LockSupport.parkNanos(50_000);
+        }
+        pool.shutdown();
+        pool.awaitTermination();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, sorted.length * quantile)];
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Прежняя очередь пула: LinkedList под общим монитором. */
+    private static final class SynchronizedLinkedQueue implements TaskQueue {
+        private final LinkedList<Runnable> tasks = new LinkedList<>();
+
+        @Override
+        public synchronized boolean offer(Runnable task) {
+            return tasks.add(task);
+        }
+
+        @Override
+        public synchronized Runnable poll() {
+            return tasks.poll();
+        }
+
+        @Override
+        public synchronized int size() {
+            return tasks.size();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    /** Такт 50 мкс: нижний уровень охватывает 25 мс, так что задержки в сотни мс проходят каскад. */
+    private final TimingWheel wheel = new TimingWheel(task -> {
+        task.run();
+        return true;
+    }, Duration.ofNanos(50_000), "test-timer");
+
+    @AfterEach
+    void stop() {
+        wheel.stop();
+    }
+
+    private ScheduledTask<Object> timer(Runnable action, long delayNanos) {
+        ScheduledTask<Object> task = new ScheduledTask<>(wheel, () -> {
+            action.run();
+            return null;
+        }, System.nanoTime() + delayNanos, 0);
+        wheel.schedule(task);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Задачи срабатывают не раньше срока, в том числе после каскада с верхних уровней")
+    @Timeout(10)
+    void firesNotBeforeDeadline() throws InterruptedException {
+        int count = 200;
+        CountDownLatch fired = new CountDownLatch(count);
+        AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            long delay = TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextInt(0, 400));
+            long deadline = System.nanoTime() + delay;
+            timer(() -> {
+                if (System.nanoTime() < deadline) early.incrementAndGet();
+                fired.countDown();
+            }, delay);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+    }
+
+    @Test
+    @DisplayName("Отменённые задачи не срабатывают, остальные срабатывают")
+    @Timeout(20)
+    void cancellation() throws InterruptedException {
+        int count = 100_000;
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch kept = new CountDownLatch(count / 2);
+        List<ScheduledTask<Object>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean keep = i % 2 == 0;
+            tasks.add(timer(() -> {
+                fired.incrementAndGet();
+                if (keep) kept.countDown();
+            }, TimeUnit.MILLISECONDS.toNanos(500 + i % 100)));
+        }
+        for (int i = 1; i < count; i += 2) {
+            assertTrue(tasks.get(i).cancel(false));
+        }
+
+        assertTrue(kept.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(count / 2, fired.get());
+        assertTrue(tasks.get(1).isCancelled());
+    }
+
+    @Test
+    @DisplayName("Пустое колесо просыпается на новую задачу после простоя")
+    @Timeout(5)
+    void wakesUpAfterIdle() throws InterruptedException {
+        CountDownLatch first = new CountDownLatch(1);
+        timer(first::countDown, 0);
+        first.await();
+        Thread.sleep(50);
+
+        AtomicLong firedAt = new AtomicLong();
+        CountDownLatch second = new CountDownLatch(1);
+        long scheduledAt = System.nanoTime();
+        timer(() -> {
+            firedAt.set(System.nanoTime());
+            second.countDown();
+        }, TimeUnit.MILLISECONDS.toNanos(10));
+
+        second.await();
+        assertTrue(firedAt.get() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    @DisplayName("stop отменяет задачи в колесе и новые постановки")
+    @Timeout(5)
+    void stopCancelsPending() throws InterruptedException {
+        ScheduledTask<Object> pending = timer(() -> fail("Задача после stop не должна срабатывать"),
+                TimeUnit.SECONDS.toNanos(60));
+
+        wheel.stop();
+        ScheduledTask<Object> late = timer(() -> {}, 0);
+
+        assertTrue(late.isCancelled());
+        while (!pending.isCancelled()) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPoolTest {
+
+    private VirtualThreadPool pool;
+
+    @AfterEach
+    void stop() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool.awaitTermination();
+        }
+    }
+
+    @Test
+    @DisplayName("Десять тысяч блокирующих задач выполняются одновременно в виртуальных потоках")
+    @Timeout(20)
+    void manyBlockingTasks() {
+        pool = new VirtualThreadPool(10_000);
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger virtual = new AtomicInteger();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            pool.execute(() -> {
+                if (Thread.currentThread().isVirtual()) virtual.incrementAndGet();
+                try { Thread.sleep(200); } catch (InterruptedException ignored) {}
+                done.incrementAndGet();
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination();
+
+        assertEquals(10_000, done.get());
+        assertEquals(10_000, virtual.get());
+        // Последовательно это 2000 с; одновременно — порядка нескольких sleep
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started) < 15);
+    }
+
+    @Test
+    @DisplayName("Одновременно выполняется не больше maxConcurrency задач")
+    @Timeout(10)
+    void concurrencyCap() {
+        pool = new VirtualThreadPool(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        for (int i = 0; i < 100; i++) {
+            pool.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try { Thread.sleep(5); } catch (InterruptedException ignored) {}
+                running.decrementAndGet();
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination();
+
+        assertEquals(4, peak.get());
+    }
+
+    @Test
+    @DisplayName("awaitTermination ждёт задачи в полёте, новые после shutdown отклоняются")
+    @Timeout(5)
+    void awaitsInFlightTasks() throws InterruptedException {
+        pool = new VirtualThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            pool.execute(() -> {
+                try { release.await(); } catch (InterruptedException ignored) {}
+            });
+        }
+        pool.shutdown();
+
+        assertEquals(3, pool.getInFlightCount());
+        assertThrows(IllegalStateException.class, () -> pool.execute(() -> {}));
+        assertFalse(pool.awaitTermination(50, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, pool.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("shutdownNow прерывает выполняющиеся и возвращает ждущие разрешения задачи")
+    @Timeout(5)
+    void shutdownNow() throws InterruptedException {
+        pool = new VirtualThreadPool(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        started.await();
+        Runnable waiting = () -> fail("Задача, возвращённая shutdownNow, не должна выполняться");
+        pool.execute(waiting);
+
+        List<Runnable> notStarted = pool.shutdownNow();
+
+        assertEquals(List.of(waiting), notStarted);
+        interrupted.await();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("submit возвращает результат")
+    @Timeout(5)
+    void submit() throws Exception {
+        pool = new VirtualThreadPool(2);
+
+        assertEquals(42, pool.submit(() -> 42).get());
+        assertTrue(pool.submit(() -> Thread.currentThread().isVirtual()).get());
+    }
+}
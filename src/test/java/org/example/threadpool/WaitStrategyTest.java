@@ -0,0 +1,147 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitStrategyTest {
+
+    private SimpleThreadPool pool;
+
+    @AfterEach
+    void stop() {
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    private SimpleThreadPool pool(WaitStrategy strategy) {
+        pool = new SimpleThreadPool(PoolOptions.defaults().withThreads(2).withWaitStrategy(strategy));
+        return pool;
+    }
+
+    /** Поток воркера, выполнившего задачу. */
+    private Thread workerThread() throws Exception {
+        return pool.submit(Thread::currentThread).get();
+    }
+
+    @Test
+    @DisplayName("При любой стратегии задачи передаются по одной и пакетом, пул завершается")
+    @Timeout(20)
+    void allStrategiesRunTasks() throws Exception {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            pool(strategy);
+
+            // Эстафета: каждая задача ставит следующую из внешнего потока, очередь всё время почти пуста
+            for (int i = 0; i < 200; i++) {
+                assertEquals(i, pool.submit(() -> 0).get() + i, strategy.name());
+            }
+            AtomicInteger done = new AtomicInteger();
+            for (int i = 0; i < 10_000; i++) {
+                pool.execute(done::incrementAndGet);
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS), strategy.name());
+            assertEquals(10_000, done.get(), strategy.name());
+        }
+    }
+
+    @Test
+    @DisplayName("BLOCKING: простаивающий воркер спит и просыпается на новую задачу")
+    @Timeout(5)
+    void blockingWorkerParks() throws Exception {
+        pool(WaitStrategy.BLOCKING);
+        Thread worker = workerThread();
+
+        while (worker.getState() != Thread.State.WAITING || pool.getMetrics().activeWorkers() != 0) {
+            Thread.yield();
+        }
+        assertEquals(42, pool.submit(() -> 42).get());
+    }
+
+    @Test
+    @DisplayName("SPIN_PARK: после активного ожидания воркер засыпает")
+    @Timeout(5)
+    void spinParkEventuallyParks() throws Exception {
+        pool(WaitStrategy.SPIN_PARK);
+        Thread worker = workerThread();
+
+        while (worker.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        assertEquals(42, pool.submit(() -> 42).get());
+    }
+
+    @Test
+    @DisplayName("BUSY_SPIN и SPIN_YIELD: воркер не засыпает, но считается простаивающим")
+    @Timeout(5)
+    void spinningWorkerNeverParks() throws Exception {
+        for (WaitStrategy strategy : new WaitStrategy[]{WaitStrategy.BUSY_SPIN, WaitStrategy.SPIN_YIELD}) {
+            pool(strategy);
+            Thread worker = workerThread();
+
+            Thread.sleep(20);
+            assertEquals(Thread.State.RUNNABLE, worker.getState(), strategy.name());
+            while (pool.getMetrics().activeWorkers() != 0) {
+                Thread.yield();
+            }
+            pool.shutdown();
+            pool.awaitTermination();
+        }
+    }
+
+    @Test
+    @DisplayName("Активно ждущий воркер сверх базовых завершается после keepAlive")
+    @Timeout(5)
+    void spinningWorkerRetires() throws InterruptedException {
+        pool = new SimpleThreadPool(PoolOptions.defaults()
+                .withPoolSize(1, 2)
+                .withGrowthThreshold(0, Duration.ofMillis(1))
+                .withKeepAlive(Duration.ofMillis(20))
+                .withWaitStrategy(WaitStrategy.SPIN_YIELD));
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 10; i++) {
+            pool.execute(() -> {
+                try { release.await(); } catch (InterruptedException ignored) {}
+            });
+        }
+        assertEquals(2, pool.getPoolSize());
+
+        release.countDown();
+        while (pool.getPoolSize() != 1) {
+            Thread.yield();
+        }
+    }
+
+    @Test
+    @DisplayName("shutdownNow прерывает задачи, но не ломает ожидание воркеров")
+    @Timeout(5)
+    void shutdownNowWithParkedWorkers() throws Exception {
+        pool(WaitStrategy.SPIN_PARK);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        started.await();
+
+        pool.shutdownNow();
+
+        interrupted.await();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.threadpool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkStealingTest {
+
+    private static SimpleThreadPool stealingPool(int threads) {
+        return new SimpleThreadPool(PoolOptions.defaults().withThreads(threads).withWorkStealing(true));
+    }
+
+    /** Рекурсивное суммирование диапазона: каждая задача порождает две подзадачи из воркера. */
+    private static void sum(SimpleThreadPool pool, long from, long to, AtomicLong total, CountDownLatch leaves) {
+        if (to - from <= 16) {
+            long sum = 0;
+            for (long i = from; i < to; i++) sum += i;
+            total.addAndGet(sum);
+            leaves.countDown();
+            return;
+        }
+        long middle = (from + to) >>> 1;
+        pool.execute(() -> sum(pool, from, middle, total, leaves));
+        pool.execute(() -> sum(pool, middle, to, total, leaves));
+    }
+
+    @Test
+    @DisplayName("Рекурсивные задачи из воркеров выполняются полностью")
+    @Timeout(10)
+    void forkHeavyWorkloadCompletes() throws InterruptedException {
+        SimpleThreadPool pool = stealingPool(4);
+        AtomicLong total = new AtomicLong();
+        int n = 1 << 16;
+        CountDownLatch leaves = new CountDownLatch(n / 16);
+
+        pool.execute(() -> sum(pool, 0, n, total, leaves));
+        leaves.await();
+
+        assertEquals((long) n * (n - 1) / 2, total.get());
+        pool.shutdown();
+        pool.awaitTermination();
+        assertEquals(0, pool.getQueueSize());
+    }
+
+    @Test
+    @DisplayName("Владелец берёт свои задачи в порядке LIFO")
+    @Timeout(5)
+    void ownerRunsLocalTasksLifo() throws InterruptedException {
+        SimpleThreadPool pool = stealingPool(1);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+
+        pool.execute(() -> {
+            for (int i = 1; i <= 3; i++) {
+                int id = i;
+                pool.execute(() -> {
+                    order.add(id);
+                    done.countDown();
+                });
+            }
+        });
+        done.await();
+
+        assertEquals(List.of(3, 2, 1), order);
+        pool.shutdown();
+        pool.awaitTermination();
+    }
+
+    @Test
+    @DisplayName("Свободные воркеры крадут задачи из дека занятого воркера")
+    @Timeout(5)
+    void idleWorkersSteal() throws InterruptedException {
+        SimpleThreadPool pool = stealingPool(4);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+
+        pool.execute(() -> {
+            for (int i = 0; i < 4; i++) {
+                pool.execute(() -> {
+                    threads.add(Thread.currentThread().getName());
+                    try { release.await(); } catch (InterruptedException ignored) {}
+                    done.countDown();
+                });
+            }
+            // Порождающая задача не отпускает свой воркер, пока подзадачи не разойдутся по другим
+            while (threads.size() < 3) {
+                Thread.yield();
+            }
+        });
+        while (threads.size() < 3) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        done.await();
+
+        assertTrue(threads.size() >= 3, "Подзадачи выполнялись на " + threads);
+        pool.shutdown();
+        pool.awaitTermination();
+        assertTrue(pool.isTerminated());
+    }
+}